@@ -0,0 +1,76 @@
+package com.mwronski.jsql;
+
+import com.mwronski.jsql.builder.SqlParams;
+import com.mwronski.jsql.model.dql.Projection;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+
+/**
+ * Compiled query with bound values of parameters
+ *
+ * @see CompiledQuery#bind(Object...)
+ */
+public final class BoundQuery {
+
+    private final CompiledQuery compiledQuery;
+    private final SqlParams sqlParams;
+
+    BoundQuery(final CompiledQuery compiledQuery, final SqlParams sqlParams) {
+        this.compiledQuery = compiledQuery;
+        this.sqlParams = sqlParams;
+    }
+
+    /**
+     * Get query which values are bound
+     *
+     * @return
+     */
+    public CompiledQuery getCompiledQuery() {
+        return compiledQuery;
+    }
+
+    /**
+     * Get value of SQL parameter
+     *
+     * @param index
+     *            index of parameter in statement starting from 1
+     * @return
+     */
+    public Object getSQLParam(final int index) {
+        return sqlParams.get(index);
+    }
+
+    /**
+     * Get query
+     *
+     * @param entityManager
+     * @return
+     */
+    public Query getQuery(final EntityManager entityManager) {
+        return getQuery(entityManager, null);
+    }
+
+    /**
+     * Get query
+     *
+     * @param entityManager
+     * @param clazz
+     *            result class of native query
+     * @return
+     */
+    public <T> Query getQuery(final EntityManager entityManager, final Class<T> clazz) {
+        Projection projection = compiledQuery.getProjection();
+        Query query = JSql.createQuery(entityManager, compiledQuery.isNative(), compiledQuery.getSQL(),
+                projection == null ? clazz : null);
+        JSql.setParameters(query, sqlParams);
+        JSql.setLimit(query, compiledQuery.getLimit(), compiledQuery.getOffset());
+        return projection != null ? new ProjectionQuery(query, projection) : query;
+    }
+
+    @Override
+    public String toString() {
+        return compiledQuery.getSQL();
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.mwronski.jsql;
+
+/**
+ * Metrics of single chunk of statement executed by {@link ChunkedExecution}
+ */
+public final class ChunkMetrics {
+
+    private final int index;
+    private final int valuesCount;
+    private final int rowsCount;
+    private final long executionTime;
+
+    ChunkMetrics(final int index, final int valuesCount, final int rowsCount, final long executionTime) {
+        this.index = index;
+        this.valuesCount = valuesCount;
+        this.rowsCount = rowsCount;
+        this.executionTime = executionTime;
+    }
+
+    /**
+     * Get index of chunk
+     *
+     * @return index starting from 0
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Get number of values of split IN expression in chunk
+     *
+     * @return
+     */
+    public int getValuesCount() {
+        return valuesCount;
+    }
+
+    /**
+     * Get number of rows returned by chunk
+     *
+     * @return
+     */
+    public int getRowsCount() {
+        return rowsCount;
+    }
+
+    /**
+     * Get time of execution of chunk
+     *
+     * @return time in nanoseconds
+     */
+    public long getExecutionTime() {
+        return executionTime;
+    }
+
+    @Override
+    public String toString() {
+        return "Chunk[index=" + index + ", values=" + valuesCount + ", rows=" + rowsCount + ", time="
+                + executionTime + "ns]";
+    }
+
+}
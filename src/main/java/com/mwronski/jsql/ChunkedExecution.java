@@ -0,0 +1,476 @@
+package com.mwronski.jsql;
+
+import com.mwronski.jsql.builder.SqlSelectBuilder;
+import com.mwronski.jsql.builder.SqlSelectTreeWalker;
+import com.mwronski.jsql.grammar.SqlGrammar;
+import com.mwronski.jsql.model.Parameter;
+import com.mwronski.jsql.model.Table;
+import com.mwronski.jsql.model.Variable;
+import com.mwronski.jsql.model.dql.SelectStatement;
+import com.mwronski.jsql.model.expressions.Expression;
+import com.mwronski.jsql.model.expressions.ExpressionChain;
+import com.mwronski.jsql.model.expressions.InExpression;
+import com.mwronski.jsql.model.expressions.InExpression.CollectionType;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Execution of statements with large IN lists split into chunks. <br>
+ * The largest IN expression of the statement that exceeds size of chunk is
+ * split into chunks of distinct values. Each chunk is executed as separate
+ * query with its own entity manager, at most given number of chunks is
+ * executed in parallel by given executor. Results of chunks are concatenated
+ * or merged according to ORDER BY of the statement. Merged rows are compared
+ * in Java, so strings are ordered by {@link String#compareTo(String)}. If
+ * database orders strings by different collation, rows of different chunks
+ * ordered by string columns may be merged in different order than a single
+ * query would return them. <br>
+ * Only IN expressions connected by AND with the rest of WHERE condition can
+ * be split. Statements with COUNT or GROUP BY can't be split, since their
+ * results can't be merged. Execution is thread-safe.
+ *
+ * @see JSql#getChunkedResult(ChunkedExecution, Class)
+ */
+public final class ChunkedExecution {
+
+    /**
+     * Type of placeholder of chunk of values
+     */
+    @SuppressWarnings("unchecked")
+    private static final Class<Collection<?>> COLLECTION = (Class<Collection<?>>) (Class<?>) Collection.class;
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ExecutorService executor;
+    private final int chunkSize;
+    private final int parallelism;
+
+    /**
+     * Create execution
+     *
+     * @param entityManagerFactory
+     *            factory of entity managers used by chunks
+     * @param executor
+     *            executor running chunks
+     * @param chunkSize
+     *            max number of values of IN expression in one chunk
+     * @param parallelism
+     *            max number of chunks executed at the same time
+     */
+    public ChunkedExecution(final EntityManagerFactory entityManagerFactory, final ExecutorService executor,
+            final int chunkSize, final int parallelism) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Size of chunk must be positive, is: " + chunkSize);
+        } else if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive, is: " + parallelism);
+        }
+        this.entityManagerFactory = entityManagerFactory;
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Execute statement
+     *
+     * @param grammar
+     *            grammar of statement
+     * @param statement
+     * @param clazz
+     *            result class of native query or null
+     * @return
+     */
+    <T> ChunkedResult<T> execute(final SqlGrammar grammar, final SelectStatement statement, final Class<T> clazz) {
+        long start = System.nanoTime();
+        InExpression split = findSplitExpression(statement);
+        List<List<Object>> chunks = split != null ? getChunks(split) : Collections.<List<Object>> singletonList(null);
+        SelectStatement chunkStatement = statement;
+        RowComparator comparator = null;
+        if (split != null) {
+            if (statement.isCount() || !statement.getGroupedBy().isEmpty()) {
+                throw new UnsupportedOperationException("Results of statement with COUNT or GROUP BY can't be "
+                        + "merged from chunks");
+            }
+            if (statement.getProjection() != null) {
+                throw new UnsupportedOperationException("Rows mapped into "
+                        + statement.getProjection().getResultClass().getName() + " can't be merged from chunks");
+            }
+            if (statement.getLimit() != null || statement.getOffset() != null) {
+                throw new UnsupportedOperationException("Results of statement with LIMIT or OFFSET can't be "
+                        + "merged from chunks");
+            }
+            if (chunks.size() > 1 && !statement.getOrder().isEmpty()) {
+                // validate order before any chunk is executed
+                comparator = new RowComparator(statement);
+            }
+            chunkStatement = replace(statement, split,
+                    split.withValues(new Parameter<Collection<?>>(0, COLLECTION)));
+        }
+        SqlSelectBuilder builder = grammar.selectBuilder();
+        new SqlSelectTreeWalker().walk(chunkStatement, builder);
+        CompiledQuery query = new CompiledQuery(builder.asSQL().trim(), grammar, builder.getSQLParams(),
+                split != null ? 1 : 0, chunkStatement);
+        // run chunks keeping at most given number of them in progress
+        CompletionService<ChunkResult> completion = new ExecutorCompletionService<ChunkResult>(executor);
+        List<Future<ChunkResult>> futures = new ArrayList<Future<ChunkResult>>();
+        ChunkResult[] results = new ChunkResult[chunks.size()];
+        try {
+            int submitted = 0;
+            for (int done = 0; done < chunks.size(); done++) {
+                while (submitted < chunks.size() && submitted - done < parallelism) {
+                    futures.add(completion.submit(new Chunk(submitted, query, chunks.get(submitted), clazz)));
+                    submitted++;
+                }
+                ChunkResult result = completion.take().get();
+                results[result.metrics.getIndex()] = result;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Execution of chunks interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Execution of chunk failed", e.getCause());
+        } finally {
+            for (Future<ChunkResult> future : futures) {
+                future.cancel(true);
+            }
+        }
+        List<ChunkMetrics> metrics = new ArrayList<ChunkMetrics>(results.length);
+        List<List<?>> rows = new ArrayList<List<?>>(results.length);
+        for (ChunkResult result : results) {
+            metrics.add(result.metrics);
+            rows.add(result.rows);
+        }
+        List<Object> merged = comparator == null ? concat(rows) : merge(comparator, rows);
+        if (statement.isDistinct() && split != null) {
+            merged = removeDuplicates(merged);
+        }
+        @SuppressWarnings("unchecked")
+        List<T> resultList = (List<T>) merged;
+        return new ChunkedResult<T>(resultList, metrics, System.nanoTime() - start);
+    }
+
+    /**
+     * Find IN expression that should be split into chunks
+     *
+     * @param statement
+     * @return the largest IN expression exceeding size of chunk or null if
+     *         statement doesn't have to be split
+     * @throws UnsupportedOperationException
+     *             if only IN expressions that can't be split exceed size of
+     *             chunk
+     */
+    private InExpression findSplitExpression(final SelectStatement statement) {
+        if (statement.getWhere() == null) {
+            return null;
+        }
+        InExpression split = null;
+        boolean onlyAnd = true;
+        boolean first = true;
+        for (Map.Entry<Expression, ExpressionChain.Type> entry : statement.getWhere().getConditions().entrySet()) {
+            if (!first && entry.getValue() != ExpressionChain.Type.AND) {
+                onlyAnd = false;
+            }
+            first = false;
+            Expression expression = entry.getKey();
+            if (expression instanceof InExpression) {
+                InExpression inExpression = (InExpression) expression;
+                if (inExpression.getType() == CollectionType.IN && inExpression.getParameter() == null
+                        && !inExpression.isNull() && inExpression.getValues().size() > chunkSize
+                        && (split == null || split.getValues().size() < inExpression.getValues().size())) {
+                    split = inExpression;
+                }
+            }
+        }
+        if (split != null && !onlyAnd) {
+            throw new UnsupportedOperationException("IN expression connected by OR can't be split into chunks");
+        }
+        return split;
+    }
+
+    /**
+     * Split distinct values of IN expression into chunks
+     *
+     * @param inExpression
+     * @return
+     */
+    private List<List<Object>> getChunks(final InExpression inExpression) {
+        List<Object> values = new ArrayList<Object>(new LinkedHashSet<Object>(inExpression.getValues()));
+        List<List<Object>> chunks = new ArrayList<List<Object>>();
+        for (int from = 0; from < values.size(); from += chunkSize) {
+            chunks.add(values.subList(from, Math.min(from + chunkSize, values.size())));
+        }
+        return chunks;
+    }
+
+    /**
+     * Get copy of statement with replaced IN expression
+     *
+     * @param statement
+     * @param replaced
+     * @param replacement
+     * @return
+     */
+    private static SelectStatement replace(final SelectStatement statement, final InExpression replaced,
+            final InExpression replacement) {
+        ExpressionChain where = new ExpressionChain();
+        for (Map.Entry<Expression, ExpressionChain.Type> entry : statement.getWhere().getConditions().entrySet()) {
+            where.add(entry.getValue(), entry.getKey() == replaced ? replacement : entry.getKey());
+        }
+        SelectStatement copy = statement.copy();
+        copy.setWhere(where);
+        return copy;
+    }
+
+    private static List<Object> concat(final List<List<?>> rows) {
+        int size = 0;
+        for (List<?> chunk : rows) {
+            size += chunk.size();
+        }
+        List<Object> result = new ArrayList<Object>(size);
+        for (List<?> chunk : rows) {
+            result.addAll(chunk);
+        }
+        return result;
+    }
+
+    /**
+     * Merge sorted results of chunks
+     *
+     * @param comparator
+     *            comparator of rows according to ORDER BY
+     * @param rows
+     *            results of chunks sorted according to ORDER BY
+     * @return
+     */
+    private static List<Object> merge(final Comparator<Object> comparator, final List<List<?>> rows) {
+        PriorityQueue<Cursor> queue = new PriorityQueue<Cursor>(Math.max(rows.size(), 1), new Comparator<Cursor>() {
+
+            @Override
+            public int compare(final Cursor c1, final Cursor c2) {
+                int result = comparator.compare(c1.current(), c2.current());
+                // keep order of chunks for equal rows
+                return result != 0 ? result : c1.chunk - c2.chunk;
+            }
+
+        });
+        int size = 0;
+        for (int i = 0; i < rows.size(); i++) {
+            size += rows.get(i).size();
+            if (!rows.get(i).isEmpty()) {
+                queue.add(new Cursor(i, rows.get(i)));
+            }
+        }
+        List<Object> result = new ArrayList<Object>(size);
+        while (!queue.isEmpty()) {
+            Cursor cursor = queue.poll();
+            result.add(cursor.current());
+            if (cursor.next()) {
+                queue.add(cursor);
+            }
+        }
+        return result;
+    }
+
+    private static List<Object> removeDuplicates(final List<Object> rows) {
+        LinkedHashSet<Object> distinct = new LinkedHashSet<Object>();
+        List<Object> result = new ArrayList<Object>(rows.size());
+        for (Object row : rows) {
+            if (distinct.add(row instanceof Object[] ? Arrays.asList((Object[]) row) : row)) {
+                result.add(row);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Single chunk of statement
+     */
+    private final class Chunk implements Callable<ChunkResult> {
+
+        private final int index;
+        private final CompiledQuery query;
+        private final List<Object> values;
+        private final Class<?> clazz;
+
+        private Chunk(final int index, final CompiledQuery query, final List<Object> values, final Class<?> clazz) {
+            this.index = index;
+            this.query = query;
+            this.values = values;
+            this.clazz = clazz;
+        }
+
+        @Override
+        public ChunkResult call() {
+            long start = System.nanoTime();
+            EntityManager entityManager = entityManagerFactory.createEntityManager();
+            try {
+                BoundQuery bound = values != null ? query.bind(values) : query.bind();
+                List<?> rows = bound.getQuery(entityManager, clazz).getResultList();
+                int size = values != null ? values.size() : 0;
+                return new ChunkResult(new ChunkMetrics(index, size, rows.size(), System.nanoTime() - start), rows);
+            } finally {
+                entityManager.close();
+            }
+        }
+
+    }
+
+    /**
+     * Rows of executed chunk
+     */
+    private static final class ChunkResult {
+
+        private final ChunkMetrics metrics;
+        private final List<?> rows;
+
+        private ChunkResult(final ChunkMetrics metrics, final List<?> rows) {
+            this.metrics = metrics;
+            this.rows = rows;
+        }
+
+    }
+
+    /**
+     * Position in sorted rows of chunk
+     */
+    private static final class Cursor {
+
+        private final int chunk;
+        private final List<?> rows;
+        private int position = 0;
+
+        private Cursor(final int chunk, final List<?> rows) {
+            this.chunk = chunk;
+            this.rows = rows;
+        }
+
+        private Object current() {
+            return rows.get(position);
+        }
+
+        private boolean next() {
+            return ++position < rows.size();
+        }
+
+    }
+
+    /**
+     * Comparator of rows according to ORDER BY of statement. Nulls are
+     * greater than other values as in PostgreSQL.
+     */
+    private static final class RowComparator implements Comparator<Object> {
+
+        private final SelectStatement statement;
+        private final List<Variable> variables = new ArrayList<Variable>();
+        private final List<Boolean> descending = new ArrayList<Boolean>();
+
+        private RowComparator(final SelectStatement statement) {
+            this.statement = statement;
+            for (Map.Entry<Variable, Boolean> order : statement.getOrder().entrySet()) {
+                variables.add(order.getKey());
+                descending.add(order.getValue());
+                // fail fast if variable isn't available in rows
+                getIndex(order.getKey());
+            }
+        }
+
+        @Override
+        @SuppressWarnings({ "rawtypes", "unchecked" })
+        public int compare(final Object row1, final Object row2) {
+            for (int i = 0; i < variables.size(); i++) {
+                Comparable value1 = (Comparable) getValue(row1, variables.get(i));
+                Comparable value2 = (Comparable) getValue(row2, variables.get(i));
+                int result;
+                if (value1 == null || value2 == null) {
+                    result = value1 == value2 ? 0 : (value1 == null ? 1 : -1);
+                } else {
+                    result = value1.compareTo(value2);
+                }
+                if (result != 0) {
+                    return descending.get(i) == SelectStatement.DESC ? -result : result;
+                }
+            }
+            return 0;
+        }
+
+        /**
+         * Get value of variable from row
+         *
+         * @param row
+         * @param var
+         * @return
+         */
+        private Object getValue(final Object row, final Variable var) {
+            int index = getIndex(var);
+            boolean single = statement.getSelectedColumns().size() + statement.getSelectedTables().size() == 1;
+            Object element = single ? row : ((Object[]) row)[index];
+            if (!statement.getSelectedColumns().isEmpty()) {
+                return element;
+            }
+            Method getter = var.getProperty().getGetter();
+            try {
+                return getter.invoke(element);
+            } catch (Exception e) {
+                throw new IllegalStateException("Couldn't get value of " + var.getProperty(), e);
+            }
+        }
+
+        /**
+         * Get index of variable or its table in selected row
+         *
+         * @param var
+         * @return
+         */
+        private int getIndex(final Variable var) {
+            List<Variable> columns = statement.getSelectedColumns();
+            for (int i = 0; i < columns.size(); i++) {
+                if (isSameTable(columns.get(i).getTable(), var.getTable())
+                        && columns.get(i).getProperty().getName().equals(var.getProperty().getName())) {
+                    return i;
+                }
+            }
+            List<Table> tables = statement.getSelectedTables();
+            if (columns.isEmpty() && var.getProperty().getGetter() != null) {
+                for (int i = 0; i < tables.size(); i++) {
+                    if (isSameTable(tables.get(i), var.getTable())) {
+                        return i;
+                    }
+                }
+            }
+            throw new UnsupportedOperationException("Results of chunks can't be ordered by variable which isn't "
+                    + "selected: " + var.getProperty());
+        }
+
+        private static boolean isSameTable(final Table table1, final Table table2) {
+            return table1.getTableClass() == table2.getTableClass()
+                    && (table1.getAlias() == null ? table2.getAlias() == null : table1.getAlias().equals(
+                            table2.getAlias()));
+        }
+
+    }
+
+}
@@ -0,0 +1,50 @@
+package com.mwronski.jsql;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Merged results of statement executed in chunks
+ *
+ * @see ChunkedExecution
+ */
+public final class ChunkedResult<T> {
+
+    private final List<T> resultList;
+    private final List<ChunkMetrics> chunks;
+    private final long executionTime;
+
+    ChunkedResult(final List<T> resultList, final List<ChunkMetrics> chunks, final long executionTime) {
+        this.resultList = resultList;
+        this.chunks = Collections.unmodifiableList(chunks);
+        this.executionTime = executionTime;
+    }
+
+    /**
+     * Get merged results of all chunks
+     *
+     * @return
+     */
+    public List<T> getResultList() {
+        return resultList;
+    }
+
+    /**
+     * Get metrics of executed chunks
+     *
+     * @return metrics in order of chunks
+     */
+    public List<ChunkMetrics> getChunks() {
+        return chunks;
+    }
+
+    /**
+     * Get total time of execution including merging of results
+     *
+     * @return time in nanoseconds
+     */
+    public long getExecutionTime() {
+        return executionTime;
+    }
+
+}
@@ -0,0 +1,149 @@
+package com.mwronski.jsql;
+
+import com.mwronski.jsql.builder.SqlParams;
+import com.mwronski.jsql.grammar.GrammarOptions;
+import com.mwronski.jsql.grammar.SqlGrammar;
+import com.mwronski.jsql.model.Parameter;
+import com.mwronski.jsql.model.dql.Projection;
+import com.mwronski.jsql.model.dql.SelectStatement;
+
+/**
+ * Immutable SQL statement compiled by {@link JSql#compile()}. <br>
+ * Statement is rendered only once, values of its parameters are bound each
+ * time query is executed, so compiled query can be kept in static field and
+ * used concurrently by many threads.
+ */
+public final class CompiledQuery {
+
+    private final String sql;
+    private final boolean nativeQuery;
+    private final GrammarOptions options;
+    /**
+     * Values of SQL parameters (constants or placeholders)
+     */
+    private final SqlParams slots;
+    private final int parametersCount;
+    /**
+     * Limit and offset applied to queries of statement in non-native grammar
+     */
+    private final Integer limit;
+    private final Integer offset;
+    /**
+     * Mapping of rows of native statement
+     */
+    private final Projection projection;
+
+    CompiledQuery(final String sql, final SqlGrammar grammar, final SqlParams sqlParams, final int parametersCount,
+            final SelectStatement statement) {
+        this.sql = sql;
+        this.nativeQuery = grammar.isNative();
+        this.limit = nativeQuery ? null : statement.getLimit();
+        this.offset = nativeQuery ? null : statement.getOffset();
+        this.projection = nativeQuery ? statement.getProjection() : null;
+        this.options = grammar.getOptions();
+        this.parametersCount = parametersCount;
+        this.slots = sqlParams.copy();
+        for (int i = 1; i <= slots.size(); i++) {
+            if (slots.getType(i) == SqlParams.Type.PARAMETER
+                    && ((Parameter<?>) slots.get(i)).getIndex() >= parametersCount) {
+                throw new IllegalArgumentException("Parameter " + slots.get(i)
+                        + " isn't declared by compiled statement");
+            }
+        }
+    }
+
+    /**
+     * Get compiled statement
+     *
+     * @return
+     */
+    public String getSQL() {
+        return sql;
+    }
+
+    /**
+     * Check whether statement is in native SQL form
+     *
+     * @return
+     */
+    public boolean isNative() {
+        return nativeQuery;
+    }
+
+    /**
+     * Get max number of rows applied to query
+     *
+     * @return limit or null if statement has no limit or it's written in
+     *         statement
+     */
+    public Integer getLimit() {
+        return limit;
+    }
+
+    /**
+     * Get number of skipped rows applied to query
+     *
+     * @return offset or null if statement has no offset or it's written in
+     *         statement
+     */
+    public Integer getOffset() {
+        return offset;
+    }
+
+    /**
+     * Get mapping of rows applied to results of query
+     *
+     * @return projection or null if rows aren't mapped or they are mapped by
+     *         statement
+     */
+    public Projection getProjection() {
+        return projection;
+    }
+
+    /**
+     * Get number of declared parameters
+     *
+     * @return
+     */
+    public int getParametersCount() {
+        return parametersCount;
+    }
+
+    /**
+     * Bind values of parameters
+     *
+     * @param values
+     *            values in order in which parameters were declared
+     * @return query with bound values
+     * @throws IllegalArgumentException
+     *             if number or types of values don't match declared
+     *             parameters
+     */
+    public BoundQuery bind(final Object... values) {
+        if (values.length != parametersCount) {
+            throw new IllegalArgumentException("Expected " + parametersCount + " values of parameters, got: "
+                    + values.length);
+        }
+        SqlParams sqlParams = new SqlParams(slots.size());
+        for (int i = 1; i <= slots.size(); i++) {
+            SqlParams.Type type = slots.getType(i);
+            if (type == SqlParams.Type.PARAMETER) {
+                Parameter<?> parameter = (Parameter<?>) slots.get(i);
+                Object value = values[parameter.getIndex()];
+                if (!parameter.accepts(value)) {
+                    throw new IllegalArgumentException("Value " + value + " can't be bound to " + parameter);
+                }
+                sqlParams.add(options.padInList(parameter.toSqlValue(value)));
+            } else {
+                sqlParams.add(slots.get(i), type);
+            }
+        }
+        return new BoundQuery(this, sqlParams);
+    }
+
+    @Override
+    public String toString() {
+        return sql;
+    }
+
+}
@@ -0,0 +1,233 @@
+package com.mwronski.jsql;
+
+import com.mwronski.jsql.builder.SqlSelectBuilder;
+import com.mwronski.jsql.builder.SqlSelectTreeWalker;
+import com.mwronski.jsql.grammar.SqlGrammar;
+import com.mwronski.jsql.model.Parameter;
+import com.mwronski.jsql.model.dql.JoinStatement;
+import com.mwronski.jsql.model.dql.SelectStatement;
+import com.mwronski.jsql.model.expressions.Expression;
+import com.mwronski.jsql.model.expressions.ExpressionChain;
+import com.mwronski.jsql.model.expressions.InExpression;
+import com.mwronski.jsql.model.expressions.Relation;
+import com.mwronski.jsql.model.expressions.SubqueryExpression;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * SQL statement with optional filters compiled by {@link JSql#compileDynamic()}.
+ * <br>
+ * Each parameter used only in omittable conditions is optional and gets its
+ * bit in the mask of bound parameters. Conditions of optional parameters
+ * bound to null are omitted. Variant of the statement is compiled lazily once
+ * per mask, so executing the query costs computing the mask and looking up
+ * its variant. <br>
+ * Query is thread-safe. Statement it was compiled from must not be modified
+ * afterwards.
+ *
+ * @see CompiledQuery
+ */
+public final class DynamicQuery {
+
+    /**
+     * Max number of optional parameters
+     */
+    public static final int MAX_OPTIONAL_PARAMETERS = Long.SIZE;
+
+    private final SqlGrammar grammar;
+    private final SelectStatement statement;
+    private final int parametersCount;
+    /**
+     * Optional parameters by their bits in mask
+     */
+    private final Parameter<?>[] optionalParameters;
+    private final ConcurrentMap<Long, CompiledQuery> variants = new ConcurrentHashMap<Long, CompiledQuery>();
+
+    DynamicQuery(final SqlGrammar grammar, final SelectStatement statement, final int parametersCount) {
+        this.grammar = grammar;
+        this.statement = statement;
+        this.parametersCount = parametersCount;
+        this.optionalParameters = findOptionalParameters(statement);
+        if (optionalParameters.length > MAX_OPTIONAL_PARAMETERS) {
+            throw new IllegalArgumentException("Too many optional parameters: " + optionalParameters.length
+                    + " - max: " + MAX_OPTIONAL_PARAMETERS);
+        }
+    }
+
+    /**
+     * Get number of declared parameters
+     *
+     * @return
+     */
+    public int getParametersCount() {
+        return parametersCount;
+    }
+
+    /**
+     * Get optional parameters
+     *
+     * @return parameters by their bits in mask of bound parameters
+     */
+    public List<Parameter<?>> getOptionalParameters() {
+        List<Parameter<?>> parameters = new ArrayList<Parameter<?>>();
+        for (Parameter<?> parameter : optionalParameters) {
+            parameters.add(parameter);
+        }
+        return parameters;
+    }
+
+    /**
+     * Get number of already compiled variants
+     *
+     * @return
+     */
+    public int getVariantsCount() {
+        return variants.size();
+    }
+
+    /**
+     * Bind values of parameters
+     *
+     * @param values
+     *            values in order in which parameters were declared, values of
+     *            optional parameters can be null
+     * @return query with bound values
+     * @throws IllegalArgumentException
+     *             if number or types of values don't match declared
+     *             parameters
+     */
+    public BoundQuery bind(final Object... values) {
+        if (values.length != parametersCount) {
+            throw new IllegalArgumentException("Expected " + parametersCount + " values of parameters, got: "
+                    + values.length);
+        }
+        return getVariant(getMask(values)).bind(values);
+    }
+
+    /**
+     * Get variant of statement
+     *
+     * @param mask
+     *            mask of bound optional parameters
+     * @return
+     */
+    public CompiledQuery getVariant(final long mask) {
+        CompiledQuery variant = variants.get(mask);
+        if (variant == null) {
+            variant = compile(mask);
+            CompiledQuery compiled = variants.putIfAbsent(mask, variant);
+            if (compiled != null) {
+                variant = compiled;
+            }
+        }
+        return variant;
+    }
+
+    /**
+     * Get mask of bound optional parameters
+     *
+     * @param values
+     * @return
+     */
+    private long getMask(final Object[] values) {
+        long mask = 0;
+        for (int i = 0; i < optionalParameters.length; i++) {
+            if (values[optionalParameters[i].getIndex()] != null) {
+                mask |= 1L << i;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Compile variant of statement
+     *
+     * @param mask
+     *            mask of bound optional parameters
+     * @return
+     */
+    private CompiledQuery compile(final long mask) {
+        List<Parameter<?>> omitted = new ArrayList<Parameter<?>>();
+        for (int i = 0; i < optionalParameters.length; i++) {
+            if ((mask & (1L << i)) == 0) {
+                omitted.add(optionalParameters[i]);
+            }
+        }
+        SqlSelectBuilder builder = grammar.selectBuilder();
+        builder.omitParameters(omitted);
+        new SqlSelectTreeWalker().walk(statement, builder);
+        return new CompiledQuery(builder.asSQL().trim(), grammar, builder.getSQLParams(), parametersCount,
+                statement);
+    }
+
+    /**
+     * Find parameters used only in omittable conditions
+     *
+     * @param statement
+     * @return
+     */
+    private static Parameter<?>[] findOptionalParameters(final SelectStatement statement) {
+        Set<Parameter<?>> optional = new LinkedHashSet<Parameter<?>>();
+        Set<Parameter<?>> required = new LinkedHashSet<Parameter<?>>();
+        findParameters(statement, optional, required);
+        optional.removeAll(required);
+        return optional.toArray(new Parameter<?>[optional.size()]);
+    }
+
+    /**
+     * Find parameters used in conditions of statement
+     *
+     * @param statement
+     * @param optional
+     *            parameters used in omittable conditions
+     * @param required
+     *            parameters used in conditions that can't be omitted
+     */
+    private static void findParameters(final SelectStatement statement, final Set<Parameter<?>> optional,
+            final Set<Parameter<?>> required) {
+        for (JoinStatement join : statement.getJoins()) {
+            findParameters(join.getOn(), optional, required);
+        }
+        if (statement.getWhere() != null) {
+            findParameters(statement.getWhere(), optional, required);
+        }
+    }
+
+    /**
+     * Find parameters used in conditions
+     *
+     * @param chain
+     * @param optional
+     *            parameters used in omittable conditions
+     * @param required
+     *            parameters used in conditions that can't be omitted
+     */
+    private static void findParameters(final ExpressionChain chain, final Set<Parameter<?>> optional,
+            final Set<Parameter<?>> required) {
+        for (Expression expression : chain.getConditions().keySet()) {
+            Object parameter = null;
+            if (expression instanceof ExpressionChain) {
+                findParameters((ExpressionChain) expression, optional, required);
+            } else if (expression instanceof Relation) {
+                parameter = ((Relation) expression).getValue();
+            } else if (expression instanceof InExpression) {
+                parameter = ((InExpression) expression).getParameter();
+            } else if (expression instanceof SubqueryExpression) {
+                findParameters(((SubqueryExpression) expression).getStatement(), optional, required);
+            }
+            if (parameter instanceof Parameter) {
+                if (expression.isNullOmittable()) {
+                    optional.add((Parameter<?>) parameter);
+                } else {
+                    required.add((Parameter<?>) parameter);
+                }
+            }
+        }
+    }
+
+}
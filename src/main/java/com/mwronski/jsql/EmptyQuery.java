@@ -0,0 +1,212 @@
+package com.mwronski.jsql;
+
+import javax.persistence.FlushModeType;
+import javax.persistence.LockModeType;
+import javax.persistence.NoResultException;
+import javax.persistence.PersistenceException;
+import javax.persistence.Query;
+import javax.persistence.TemporalType;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Query of statement that can't return any rows. Query is answered without
+ * sending statement to database.
+ *
+ * @see com.mwronski.jsql.optimizer.ConditionOptimizer
+ */
+final class EmptyQuery implements Query {
+
+    private final Map<String, Object> hints = new HashMap<String, Object>();
+    private int maxResults = Integer.MAX_VALUE;
+    private int firstResult = 0;
+    private FlushModeType flushMode = FlushModeType.AUTO;
+    private LockModeType lockMode = LockModeType.NONE;
+
+    @SuppressWarnings("rawtypes")
+    @Override
+    public List getResultList() {
+        return Collections.EMPTY_LIST;
+    }
+
+    @Override
+    public Object getSingleResult() {
+        throw new NoResultException("Conditions of statement are never fulfilled");
+    }
+
+    @Override
+    public int executeUpdate() {
+        throw new IllegalStateException("Select statement can't be executed as update");
+    }
+
+    @Override
+    public Query setMaxResults(final int maxResult) {
+        if (maxResult < 0) {
+            throw new IllegalArgumentException("Max results can't be negative: " + maxResult);
+        }
+        this.maxResults = maxResult;
+        return this;
+    }
+
+    @Override
+    public int getMaxResults() {
+        return maxResults;
+    }
+
+    @Override
+    public Query setFirstResult(final int startPosition) {
+        if (startPosition < 0) {
+            throw new IllegalArgumentException("First result can't be negative: " + startPosition);
+        }
+        this.firstResult = startPosition;
+        return this;
+    }
+
+    @Override
+    public int getFirstResult() {
+        return firstResult;
+    }
+
+    @Override
+    public Query setHint(final String hintName, final Object value) {
+        hints.put(hintName, value);
+        return this;
+    }
+
+    @Override
+    public Map<String, Object> getHints() {
+        return hints;
+    }
+
+    @Override
+    public <T> Query setParameter(final javax.persistence.Parameter<T> param, final T value) {
+        throw unknownParameter(param);
+    }
+
+    @Override
+    public Query setParameter(final javax.persistence.Parameter<Calendar> param, final Calendar value,
+            final TemporalType temporalType) {
+        throw unknownParameter(param);
+    }
+
+    @Override
+    public Query setParameter(final javax.persistence.Parameter<Date> param, final Date value,
+            final TemporalType temporalType) {
+        throw unknownParameter(param);
+    }
+
+    @Override
+    public Query setParameter(final String name, final Object value) {
+        throw unknownParameter(name);
+    }
+
+    @Override
+    public Query setParameter(final String name, final Calendar value, final TemporalType temporalType) {
+        throw unknownParameter(name);
+    }
+
+    @Override
+    public Query setParameter(final String name, final Date value, final TemporalType temporalType) {
+        throw unknownParameter(name);
+    }
+
+    @Override
+    public Query setParameter(final int position, final Object value) {
+        throw unknownParameter(position);
+    }
+
+    @Override
+    public Query setParameter(final int position, final Calendar value, final TemporalType temporalType) {
+        throw unknownParameter(position);
+    }
+
+    @Override
+    public Query setParameter(final int position, final Date value, final TemporalType temporalType) {
+        throw unknownParameter(position);
+    }
+
+    @Override
+    public Set<javax.persistence.Parameter<?>> getParameters() {
+        return Collections.emptySet();
+    }
+
+    @Override
+    public javax.persistence.Parameter<?> getParameter(final String name) {
+        throw unknownParameter(name);
+    }
+
+    @Override
+    public <T> javax.persistence.Parameter<T> getParameter(final String name, final Class<T> type) {
+        throw unknownParameter(name);
+    }
+
+    @Override
+    public javax.persistence.Parameter<?> getParameter(final int position) {
+        throw unknownParameter(position);
+    }
+
+    @Override
+    public <T> javax.persistence.Parameter<T> getParameter(final int position, final Class<T> type) {
+        throw unknownParameter(position);
+    }
+
+    @Override
+    public boolean isBound(final javax.persistence.Parameter<?> param) {
+        return false;
+    }
+
+    @Override
+    public <T> T getParameterValue(final javax.persistence.Parameter<T> param) {
+        throw unknownParameter(param);
+    }
+
+    @Override
+    public Object getParameterValue(final String name) {
+        throw unknownParameter(name);
+    }
+
+    @Override
+    public Object getParameterValue(final int position) {
+        throw unknownParameter(position);
+    }
+
+    @Override
+    public Query setFlushMode(final FlushModeType flushMode) {
+        this.flushMode = flushMode;
+        return this;
+    }
+
+    @Override
+    public FlushModeType getFlushMode() {
+        return flushMode;
+    }
+
+    @Override
+    public Query setLockMode(final LockModeType lockMode) {
+        this.lockMode = lockMode;
+        return this;
+    }
+
+    @Override
+    public LockModeType getLockMode() {
+        return lockMode;
+    }
+
+    @Override
+    public <T> T unwrap(final Class<T> cls) {
+        if (cls.isInstance(this)) {
+            return cls.cast(this);
+        }
+        throw new PersistenceException("Empty query can't be unwrapped to: " + cls.getName());
+    }
+
+    private static IllegalArgumentException unknownParameter(final Object parameter) {
+        return new IllegalArgumentException("Query of statement without rows has no parameters: " + parameter);
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.mwronski.jsql;
+
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+
+/**
+ * Forward-only cursor over results of query executed by Hibernate. <br>
+ * Class is loaded only when Hibernate is used as persistence provider.
+ */
+final class HibernateCursor {
+
+    private static final String HIBERNATE_QUERY = "org.hibernate.ejb.HibernateQuery";
+
+    private final Session session;
+    private final ScrollableResults results;
+
+    /**
+     * Open cursor. Entities of results are loaded as read-only, so snapshots
+     * for dirty checking aren't kept.
+     * 
+     * @param entityManager
+     *            entity manager that executes query
+     * @param query
+     *            query with bound parameters
+     * @param fetchSize
+     *            number of rows fetched from database at once
+     */
+    HibernateCursor(final EntityManager entityManager, final Query query, final int fetchSize) {
+        this.session = entityManager.unwrap(Session.class);
+        org.hibernate.Query hibernateQuery = query.unwrap(org.hibernate.Query.class);
+        hibernateQuery.setFetchSize(fetchSize);
+        hibernateQuery.setReadOnly(true);
+        this.results = hibernateQuery.scroll(ScrollMode.FORWARD_ONLY);
+    }
+
+    /**
+     * Move to next row
+     * 
+     * @return false if there are no more rows
+     */
+    boolean next() {
+        return results.next();
+    }
+
+    /**
+     * Get current row
+     * 
+     * @return value of single column or array of columns
+     */
+    Object get() {
+        Object[] row = results.get();
+        return row.length == 1 ? row[0] : row;
+    }
+
+    /**
+     * Check whether entity was loaded by query of this cursor. Entities that
+     * were managed before query was executed are returned as they are, so
+     * they aren't read-only.
+     * 
+     * @param entity
+     *            entity of read row
+     * @return true if entity is managed and read-only
+     */
+    boolean isLoaded(final Object entity) {
+        return session.contains(entity) && session.isReadOnly(entity);
+    }
+
+    void close() {
+        results.close();
+    }
+
+    /**
+     * Check whether query is executed by Hibernate
+     * 
+     * @param query
+     * @return
+     */
+    static boolean isHibernate(final Query query) {
+        try {
+            return Class.forName(HIBERNATE_QUERY, false, query.getClass().getClassLoader()).isInstance(query);
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.mwronski.jsql;
+
+import com.mwronski.jsql.builder.SqlSelectBuilder;
+import org.hibernate.SQLQuery;
+import org.hibernate.type.StandardBasicTypes;
+
+import javax.persistence.Query;
+
+/**
+ * Mapping of native query that selects entities with total number of rows.
+ * <br>
+ * Class is loaded only when Hibernate is used as persistence provider.
+ */
+final class HibernatePage {
+
+    private HibernatePage() {
+        // no instances
+    }
+
+    /**
+     * Map rows of query into entities followed by total number of rows
+     * 
+     * @param query
+     *            native query executed by Hibernate
+     * @param entityClass
+     */
+    static void addEntity(final Query query, final Class<?> entityClass) {
+        query.unwrap(SQLQuery.class).addEntity(entityClass)
+                .addScalar(SqlSelectBuilder.TOTAL_COUNT_COLUMN, StandardBasicTypes.LONG);
+    }
+
+}
@@ -1,16 +1,35 @@
 package com.mwronski.jsql;
 
 import com.mwronski.jsql.builder.SqlCommandBuilder;
+import com.mwronski.jsql.builder.SqlParams;
 import com.mwronski.jsql.builder.SqlSelectBuilder;
 import com.mwronski.jsql.builder.SqlSelectTreeWalker;
+import com.mwronski.jsql.builder.StatementCache;
+import com.mwronski.jsql.builder.StatementShape;
 import com.mwronski.jsql.grammar.SqlGrammar;
+import com.mwronski.jsql.model.EntityMetadata;
+import com.mwronski.jsql.model.Parameter;
+import com.mwronski.jsql.model.Table;
+import com.mwronski.jsql.model.dql.Projection;
+import com.mwronski.jsql.model.dql.SelectStatement;
+import com.mwronski.jsql.optimizer.ConditionOptimizer;
+import com.mwronski.jsql.optimizer.CountDerivation;
+import com.mwronski.jsql.optimizer.QueryRewriteRule;
+import com.mwronski.jsql.optimizer.RewriteListener;
 import com.mwronski.jsql.parser.dql.Condition;
 import com.mwronski.jsql.parser.dql.Select;
 import com.mwronski.jsql.recording.SqlRecorder;
 
 import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
 import javax.persistence.Query;
-import java.util.Map.Entry;
+import javax.persistence.metamodel.EntityType;
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * SQL command manager that build SQL statements in chosen grammar.
@@ -22,18 +41,97 @@ import java.util.Map.Entry;
  */
 public final class JSql {
 
+    /**
+     * Number of rows fetched at once when results are streamed
+     */
+    public static final int DEFAULT_FETCH_SIZE = 1000;
+    /**
+     * Max capacity of buffer kept by thread for rendering statements
+     */
+    private static final int MAX_BUFFER_CAPACITY = 64 * 1024;
+    private static final ThreadLocal<StringBuilder> BUFFER = new ThreadLocal<StringBuilder>() {
+
+        @Override
+        protected StringBuilder initialValue() {
+            return new StringBuilder(256);
+        }
+
+    };
+
+    private static final ThreadLocal<SqlParams> PARAMS = new ThreadLocal<SqlParams>() {
+
+        @Override
+        protected SqlParams initialValue() {
+            return new SqlParams();
+        }
+
+    };
+
     private final SqlGrammar grammar;
+    private final StatementCache statementCache;
     private final SqlRecorder recorder = new SqlRecorder();
+    private final List<Parameter<?>> parameters = new ArrayList<Parameter<?>>();
     private Select select;
+    private ConditionOptimizer conditionOptimizer;
+    private final List<QueryRewriteRule> rewriteRules = new ArrayList<QueryRewriteRule>();
+    private RewriteListener rewriteListener;
 
     /**
-     * Create instance
+     * Create instance that renders each statement
      * 
      * @param grammar
      *            chosen grammar for SQL statements
      */
     public JSql(final SqlGrammar grammar) {
+        this(grammar, null);
+    }
+
+    /**
+     * Create instance
+     * 
+     * @param grammar
+     *            chosen grammar for SQL statements
+     * @param statementCache
+     *            cache of rendered statements shared between instances or
+     *            null if statements shouldn't be cached
+     */
+    public JSql(final SqlGrammar grammar, final StatementCache statementCache) {
         this.grammar = grammar;
+        this.statementCache = statementCache;
+    }
+
+    /**
+     * Set pass optimizing conditions of statements before they are rendered.
+     * Statements which conditions are never fulfilled are answered with empty
+     * results without querying database.
+     * 
+     * @param conditionOptimizer
+     *            optimizer or null if conditions should be rendered as
+     *            they were built
+     */
+    public void setConditionOptimizer(final ConditionOptimizer conditionOptimizer) {
+        this.conditionOptimizer = conditionOptimizer;
+    }
+
+    /**
+     * Register rule rewriting statements. Rules of application are applied
+     * after condition optimizer and rules of grammar.
+     * 
+     * @param rule
+     * @see com.mwronski.jsql.grammar.GrammarOptions#withRewriteRules(QueryRewriteRule...)
+     */
+    public void addRewriteRule(final QueryRewriteRule rule) {
+        rewriteRules.add(rule);
+    }
+
+    /**
+     * Set listener notified when rewrite rules fire
+     * 
+     * @param rewriteListener
+     *            listener or null if rules shouldn't be reported
+     */
+    public void setRewriteListener(final RewriteListener rewriteListener) {
+        this.rewriteListener = rewriteListener;
     }
 
     /**
@@ -49,6 +147,19 @@ public final class JSql {
         return select;
     }
 
+    /**
+     * Build select statement nested in conditions. Subquery shares aliases
+     * with current statement, so it can reference its tables.
+     * 
+     * @param objects
+     *            tables or columns
+     * @return
+     * @see Condition#exists(Select)
+     */
+    public Select subquery(final Object... objects) {
+        return new Select(recorder, objects);
+    }
+
     /**
      * Create new condition statement
      * 
@@ -82,6 +193,74 @@ public final class JSql {
         return alias(clazz, null);
     }
 
+    /**
+     * Declare placeholder of value bound when compiled query is executed
+     * 
+     * @param type
+     *            type of value
+     * @return parameter that can be used as value in conditions
+     * @see #compile()
+     */
+    public <T> Parameter<T> param(final Class<T> type) {
+        Parameter<T> parameter = new Parameter<T>(parameters.size(), type);
+        parameters.add(parameter);
+        return parameter;
+    }
+
+    /**
+     * Compile current SQL statement. <br>
+     * Compiled query is immutable, so it can be kept and executed
+     * concurrently with different values of declared parameters.
+     * 
+     * @return
+     * @see #param(Class)
+     */
+    public CompiledQuery compile() {
+        SqlSelectBuilder builder = grammar.selectBuilder();
+        SelectStatement statement = getStatement();
+        String sql = asSQL(statement, builder);
+        return new CompiledQuery(sql, grammar, builder.getSQLParams(), parameters.size(), statement);
+    }
+
+    /**
+     * Compile current SQL statement with optional filters. <br>
+     * Omittable conditions with parameters are omitted when their parameters
+     * are bound to null. Variant of the statement is compiled once for each
+     * combination of bound optional parameters. Statement must not be
+     * modified after compilation.
+     * 
+     * @return
+     * @see #param(Class)
+     * @see DynamicQuery
+     */
+    public DynamicQuery compileDynamic() {
+        return new DynamicQuery(grammar, getStatement(), parameters.size());
+    }
+
+    /**
+     * Get table that can be used in SQL command without recording
+     * 
+     * @param clazz
+     *            entity class of table
+     * @param alias
+     *            table alias
+     * @return
+     */
+    public Table table(final Class<?> clazz, final String alias) {
+        return new Table(clazz, alias);
+    }
+
+    /**
+     * Get table that can be used in SQL command without recording
+     * 
+     * @param clazz
+     *            entity class of table
+     * @return
+     */
+    public Table table(final Class<?> clazz) {
+        return table(clazz, null);
+    }
+
     /**
      * Get string representation of SQL statement in chosen grammar
      * 
@@ -89,21 +268,102 @@ public final class JSql {
      */
     @Override
     public String toString() {
-        return asSQL(grammar.selectBuilder());
+        SelectStatement statement = getStatement();
+        if (statementCache == null) {
+            return asSQL(statement, grammar.selectBuilder(getBuffer()));
+        }
+        StatementShape shape = StatementShape.of(statement, grammar.getOptions());
+        String sql = statementCache.get(grammar, shape);
+        if (sql == null) {
+            sql = asSQL(statement, grammar.selectBuilder(getBuffer()));
+            statementCache.put(grammar, shape, sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Append SQL statement in chosen grammar to given output
+     * 
+     * @param out
+     * @throws IOException
+     *             if statement couldn't be appended to output
+     */
+    public void appendTo(final Appendable out) throws IOException {
+        if (statementCache != null) {
+            out.append(toString());
+            return;
+        }
+        StringBuilder buffer = getBuffer();
+        new SqlSelectTreeWalker().walk(getStatement(), grammar.selectBuilder(buffer));
+        out.append(buffer);
+    }
+
+    /**
+     * Get current statement rewritten by condition optimizer and rewrite
+     * rules
+     * 
+     * @return
+     * @see #setConditionOptimizer(ConditionOptimizer)
+     * @see #addRewriteRule(QueryRewriteRule)
+     */
+    private SelectStatement getStatement() {
+        SelectStatement statement = select.getStatement();
+        if (conditionOptimizer != null) {
+            statement = rewrite(conditionOptimizer, statement);
+        }
+        for (QueryRewriteRule rule : grammar.getOptions().getRewriteRules()) {
+            statement = rewrite(rule, statement);
+        }
+        for (QueryRewriteRule rule : rewriteRules) {
+            statement = rewrite(rule, statement);
+        }
+        return statement;
+    }
+
+    /**
+     * Apply rewrite rule to statement
+     * 
+     * @param rule
+     * @param statement
+     * @return
+     */
+    private SelectStatement rewrite(final QueryRewriteRule rule, final SelectStatement statement) {
+        SelectStatement rewritten = rule.rewrite(statement);
+        if (rewritten != statement && rewriteListener != null) {
+            rewriteListener.ruleFired(rule, statement, rewritten);
+        }
+        return rewritten;
     }
 
     /**
      * Get string representation of SQL statement
      * 
+     * @param statement
      * @param sqlCommandBuilder
      *            handler for building statement according to chosen grammar
      * @return
      */
-    private <T, H extends SqlSelectBuilder> String asSQL(final H sqlCommandBuilder) {
-        new SqlSelectTreeWalker().walk(select.getStatement(), sqlCommandBuilder);
+    private <T, H extends SqlSelectBuilder> String asSQL(final SelectStatement statement, final H sqlCommandBuilder) {
+        new SqlSelectTreeWalker().walk(statement, sqlCommandBuilder);
         return sqlCommandBuilder.asSQL().trim();
     }
 
+    /**
+     * Get empty buffer of current thread that statements are rendered into
+     * 
+     * @return
+     */
+    private static StringBuilder getBuffer() {
+        StringBuilder buffer = BUFFER.get();
+        if (buffer.capacity() > MAX_BUFFER_CAPACITY) {
+            // don't keep buffers of huge statements
+            buffer = new StringBuilder(256);
+            BUFFER.set(buffer);
+        }
+        buffer.setLength(0);
+        return buffer;
+    }
+
     /**
      * Get native query for current SQL statement
      * 
@@ -123,7 +383,30 @@ public final class JSql {
      * @return
      */
     public <T> Query getQuery(final EntityManager entityManager, final Class<T> clazz) {
-        return getQuery(entityManager, clazz, grammar.selectBuilder());
+        return getQuery(entityManager, clazz, getStatement());
+    }
+
+    /**
+     * Get query for given statement
+     * 
+     * @param entityManager
+     * @param clazz
+     *            result class
+     * @param statement
+     * @return
+     */
+    private <T> Query getQuery(final EntityManager entityManager, final Class<T> clazz,
+            final SelectStatement statement) {
+        if (statement.isContradictory() && !(statement.isCount() && statement.getGroupedBy().isEmpty())) {
+            // nothing to ask database for
+            return new EmptyQuery();
+        }
+        SqlParams params = PARAMS.get();
+        try {
+            return getQuery(entityManager, clazz, statement, grammar.selectBuilder(getBuffer(), params));
+        } finally {
+            params.clear();
+        }
     }
 
     /**
@@ -131,32 +414,383 @@ public final class JSql {
      * 
      * @param entityManager
      * @param clazz
+     * @param statement
      * @param sqlCommandBuilder
      *            handler for building statement according to chosen grammar
      * @return
      */
     private <T, H extends SqlSelectBuilder> Query getQuery(final EntityManager entityManager, final Class<T> clazz,
-            final H sqlCommandBuilder) {
-        // build command
-        new SqlSelectTreeWalker().walk(select.getStatement(), sqlCommandBuilder);
+            final SelectStatement statement, final H sqlCommandBuilder) {
+        // build command or take it from cache
+        String sql = null;
+        SqlParams params = null;
+        StatementShape shape = statementCache != null ? StatementShape.of(statement, grammar.getOptions()) : null;
+        if (shape != null) {
+            sql = statementCache.get(grammar, shape);
+        }
+        if (sql != null) {
+            params = sqlCommandBuilder.bindParameters(shape.getParameterSources());
+            sqlCommandBuilder.bindLimit(statement.getLimit(), statement.getOffset());
+        } else {
+            sql = asSQL(statement, sqlCommandBuilder);
+            params = sqlCommandBuilder.getSQLParams();
+            if (shape != null) {
+                statementCache.put(grammar, shape, sql);
+            }
+        }
         // build query
-        Query query = null;
-        if (grammar.isNative()) {
-            if (clazz != null) {
-                query = entityManager.createNativeQuery(sqlCommandBuilder.asSQL().trim(), clazz);
-            } else {
-                query = entityManager.createNativeQuery(sqlCommandBuilder.asSQL().trim());
+        Projection projection = grammar.isNative() ? statement.getProjection() : null;
+        Query query = createQuery(entityManager, grammar.isNative(), sql, projection == null ? clazz : null);
+        setParameters(query, params);
+        if (!grammar.isNative()) {
+            setLimit(query, statement.getLimit(), statement.getOffset());
+        }
+        return projection != null ? new ProjectionQuery(query, projection) : query;
+    }
+
+    /**
+     * Get page of results of current SQL statement
+     * 
+     * @param entityManager
+     * @param offset
+     * @param limit
+     * @return
+     * @see #selectPage(EntityManager, Class, int, int)
+     */
+    public Page<Object> selectPage(final EntityManager entityManager, final int offset, final int limit) {
+        return selectPage(entityManager, null, offset, limit);
+    }
+
+    /**
+     * Get page of results of current SQL statement together with total
+     * number of its rows. Grammars that can count rows in the same statement
+     * (PostgreSQL) select total as additional column of the page, so both are
+     * read in one round trip. Otherwise, or if rows are distinct, count is
+     * derived from the statement and executed only when the page doesn't
+     * reveal the total by itself.
+     * 
+     * @param entityManager
+     * @param clazz
+     *            result class of native query or null
+     * @param offset
+     *            number of skipped rows
+     * @param limit
+     *            max number of rows of the page
+     * @return
+     * @throws UnsupportedOperationException
+     *             if count of rows can't be derived from statement
+     * @see CountDerivation
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Page<T> selectPage(final EntityManager entityManager, final Class<T> clazz, final int offset,
+            final int limit) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset can't be negative: " + offset);
+        } else if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive, is: " + limit);
+        }
+        SelectStatement statement = getStatement().copy();
+        if (statement.isContradictory()) {
+            return new Page<T>(Collections.<T> emptyList(), 0, offset, limit);
+        }
+        statement.setLimit(limit);
+        statement.setOffset(offset);
+        if (grammar.isNative() && !statement.isDistinct()) {
+            // rows are counted before they are made distinct
+            statement.setTotalCount(true);
+            Query query = getQuery(entityManager, null, statement);
+            Projection projection = null;
+            if (query instanceof ProjectionQuery) {
+                projection = ((ProjectionQuery) query).getProjection();
+                query = ((ProjectionQuery) query).getQuery();
+            } else if (clazz != null && HibernateCursor.isHibernate(query)) {
+                HibernatePage.addEntity(query, clazz);
+            } else if (clazz != null) {
+                // entities can't be mapped with additional column
+                statement.setTotalCount(false);
+                return selectPage(entityManager, clazz, statement);
             }
-        } else {
-            query = entityManager.createQuery(sqlCommandBuilder.asSQL().trim());
+            List<Object[]> rows = query.getResultList();
+            if (rows.isEmpty()) {
+                return new Page<T>(Collections.<T> emptyList(), offset > 0 ? count(entityManager, statement) : 0,
+                        offset, limit);
+            }
+            List<T> resultList = new ArrayList<T>(rows.size());
+            for (Object[] row : rows) {
+                Object result = row.length == 2 ? row[0] : Arrays.copyOf(row, row.length - 1);
+                resultList.add((T) (projection != null ? projection.newInstance(result) : result));
+            }
+            return new Page<T>(resultList, ((Number) rows.get(0)[rows.get(0).length - 1]).longValue(), offset, limit);
+        }
+        return selectPage(entityManager, clazz, statement);
+    }
+
+    /**
+     * Get page of results of given statement counting its rows in separate
+     * query
+     * 
+     * @param entityManager
+     * @param clazz
+     * @param statement
+     *            statement limited to the page
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    private <T> Page<T> selectPage(final EntityManager entityManager, final Class<T> clazz,
+            final SelectStatement statement) {
+        int offset = statement.getOffset();
+        int limit = statement.getLimit();
+        List<T> resultList = getQuery(entityManager, clazz, statement).getResultList();
+        if (resultList.size() < limit && (!resultList.isEmpty() || offset == 0)) {
+            // last page, so rows don't have to be counted
+            return new Page<T>(resultList, offset + resultList.size(), offset, limit);
         }
-        // set query params
-        for (Entry<Integer, Object> queryParam : sqlCommandBuilder.getSQLParams().entrySet()) {
-            if (queryParam.getValue() != null) {
-                query.setParameter(queryParam.getKey(), queryParam.getValue());
+        return new Page<T>(resultList, count(entityManager, statement), offset, limit);
+    }
+
+    /**
+     * Count rows of current SQL statement. Count is executed as separate
+     * statement derived from the current one, so the statement doesn't have
+     * to be rebuilt. Order and joins that don't change number of rows are
+     * dropped. Distinct rows of selected entity are counted as its distinct
+     * identifiers.
+     * 
+     * @param entityManager
+     * @return
+     * @throws UnsupportedOperationException
+     *             if count of rows can't be derived from statement
+     * @see CountDerivation
+     */
+    public long countQuery(final EntityManager entityManager) {
+        SelectStatement statement = getStatement();
+        if (statement.isContradictory()) {
+            return 0;
+        }
+        return count(entityManager, statement);
+    }
+
+    /**
+     * Count rows of given statement
+     * 
+     * @param entityManager
+     * @param statement
+     * @return
+     */
+    private long count(final EntityManager entityManager, final SelectStatement statement) {
+        SelectStatement count = CountDerivation.derive(statement);
+        return ((Number) getQuery(entityManager, null, count).getSingleResult()).longValue();
+    }
+
+    /**
+     * Stream results of current SQL statement
+     * 
+     * @param entityManager
+     * @return
+     * @see #stream(EntityManager, Class, int)
+     */
+    public ResultStream<Object> stream(final EntityManager entityManager) {
+        return stream(entityManager, null, DEFAULT_FETCH_SIZE);
+    }
+
+    /**
+     * Stream results of current SQL statement from forward-only cursor of
+     * database. Entities loaded by rows are detached after each fetched batch
+     * of rows, so memory used doesn't depend on number of rows. Entities
+     * managed before stream is opened and their pending changes are kept, also
+     * when they are returned as rows. <br>
+     * PostgreSQL fetches rows in batches only inside transaction, otherwise
+     * all rows are read at once.
+     * 
+     * @param entityManager
+     * @param clazz
+     *            result class of native query or null
+     * @param fetchSize
+     *            number of rows fetched from database at once
+     * @return stream that must be closed
+     * @throws IllegalStateException
+     *             if statement of native grammar is streamed outside of
+     *             transaction
+     * @throws UnsupportedOperationException
+     *             if persistence provider isn't Hibernate
+     */
+    public <T> ResultStream<T> stream(final EntityManager entityManager, final Class<T> clazz, final int fetchSize) {
+        if (fetchSize <= 0) {
+            throw new IllegalArgumentException("Fetch size must be positive, is: " + fetchSize);
+        } else if (grammar.isNative() && !isTransactionActive(entityManager)) {
+            throw new IllegalStateException("Results of native statement can be streamed only inside transaction");
+        }
+        Query query = getQuery(entityManager, clazz);
+        Projection projection = null;
+        if (query instanceof EmptyQuery) {
+            return new ResultStream<T>(entityManager, null, null, fetchSize);
+        } else if (query instanceof ProjectionQuery) {
+            // rows are mapped while they are read
+            projection = ((ProjectionQuery) query).getProjection();
+            query = ((ProjectionQuery) query).getQuery();
+        }
+        if (!HibernateCursor.isHibernate(query)) {
+            throw new UnsupportedOperationException("Results can be streamed only by Hibernate: " + query.getClass());
+        }
+        return new ResultStream<T>(entityManager, new HibernateCursor(entityManager, query, fetchSize), projection, fetchSize);
+    }
+
+    /**
+     * Check whether entity manager takes part in transaction
+     * 
+     * @param entityManager
+     * @return
+     */
+    private static boolean isTransactionActive(final EntityManager entityManager) {
+        try {
+            return entityManager.getTransaction().isActive();
+        } catch (IllegalStateException e) {
+            // transactions of JTA entity manager are managed by container
+            return true;
+        }
+    }
+
+    /**
+     * Apply limit and offset of statement to query
+     * 
+     * @param query
+     * @param limit
+     *            max number of returned rows or null
+     * @param offset
+     *            number of skipped rows or null
+     */
+    static void setLimit(final Query query, final Integer limit, final Integer offset) {
+        if (limit != null) {
+            query.setMaxResults(limit);
+        }
+        if (offset != null) {
+            query.setFirstResult(offset);
+        }
+    }
+
+    /**
+     * Set SQL parameters of query
+     * 
+     * @param query
+     * @param params
+     * @throws IllegalStateException
+     *             if any parameter is a placeholder of value
+     */
+    static void setParameters(final Query query, final SqlParams params) {
+        for (int i = 1; i <= params.size(); i++) {
+            switch (params.getType(i)) {
+            case NULL:
+                break;
+            case PARAMETER:
+                throw new IllegalStateException("Statement with parameters must be compiled: " + params.get(i));
+            default:
+                query.setParameter(i, params.get(i));
             }
         }
-        return query;
+    }
+
+    /**
+     * Execute current SQL statement splitting its large IN list into chunks
+     * 
+     * @param execution
+     *            configuration of chunks
+     * @param clazz
+     *            result class of native query or null
+     * @return merged results with metrics of chunks
+     * @see ChunkedExecution
+     */
+    public <T> ChunkedResult<T> getChunkedResult(final ChunkedExecution execution, final Class<T> clazz) {
+        if (!parameters.isEmpty()) {
+            throw new IllegalStateException("Statement with parameters can't be executed in chunks");
+        }
+        return execution.execute(grammar, getStatement(), clazz);
+    }
+
+    /**
+     * Create query without parameters
+     * 
+     * @param entityManager
+     * @param nativeQuery
+     *            flag indicates whether statement is in native SQL form
+     * @param sql
+     *            statement
+     * @param clazz
+     *            result class of native query or null
+     * @return
+     */
+    static Query createQuery(final EntityManager entityManager, final boolean nativeQuery, final String sql,
+            final Class<?> clazz) {
+        if (!nativeQuery) {
+            return entityManager.createQuery(sql);
+        } else if (clazz != null) {
+            return entityManager.createNativeQuery(sql, clazz);
+        }
+        return entityManager.createNativeQuery(sql);
+    }
+
+    /**
+     * Prepare given entities for building SQL commands in advance. Meta-data
+     * of entities is resolved and proxy classes used for recording are
+     * generated, so it doesn't have to be done while first statements are
+     * built.
+     *
+     * @param entityClasses
+     */
+    public static void warmUp(final Class<?>... entityClasses) {
+        for (Class<?> entityClass : entityClasses) {
+            EntityMetadata.of(entityClass);
+            if (!Modifier.isFinal(entityClass.getModifiers())) {
+                SqlRecorder.prepare(entityClass);
+            }
+        }
+    }
+
+    /**
+     * Prepare entities of given persistence unit for building SQL commands in
+     * advance. Only entities listed in <code>class</code> elements of the unit
+     * are found, entities detected by persistence provider or listed in jar
+     * and mapping files can be warmed-up by
+     * {@link #warmUp(EntityManagerFactory)}.
+     *
+     * @param persistenceUnitName
+     *            name of persistence unit defined in META-INF/persistence.xml
+     * @throws RuntimeException
+     *             if persistence unit isn't defined or doesn't list any
+     *             classes
+     * @see #warmUp(Class...)
+     */
+    public static void warmUp(final String persistenceUnitName) {
+        List<Class<?>> entityClasses = PersistenceUnits.getEntityClasses(persistenceUnitName);
+        warmUp(entityClasses.toArray(new Class<?>[entityClasses.size()]));
+    }
+
+    /**
+     * Prepare entities managed by given factory for building SQL commands in
+     * advance
+     *
+     * @param entityManagerFactory
+     * @see #warmUp(Class...)
+     */
+    public static void warmUp(final EntityManagerFactory entityManagerFactory) {
+        List<Class<?>> entityClasses = new ArrayList<Class<?>>();
+        for (EntityType<?> entityType : entityManagerFactory.getMetamodel().getEntities()) {
+            entityClasses.add(entityType.getJavaType());
+        }
+        warmUp(entityClasses.toArray(new Class<?>[entityClasses.size()]));
+    }
+
+    /**
+     * Remove meta-data of entities, proxy classes used for recording and
+     * projections resolved so far. Registries keep references to entity and
+     * result classes, so they should be cleared when these classes are
+     * unloaded (e.g. when application is redeployed). Caches of rendered
+     * statements are owned by application and must be cleared separately.
+     *
+     * @see StatementCache#clear()
+     */
+    public static void clearRegistries() {
+        EntityMetadata.clear();
+        SqlRecorder.clearPrototypes();
+        Projection.clear();
     }
 
     /**
@@ -0,0 +1,70 @@
+package com.mwronski.jsql;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Page of results with total number of rows of the statement
+ *
+ * @see JSql#selectPage(javax.persistence.EntityManager, Class, int, int)
+ */
+public final class Page<T> {
+
+    private final List<T> resultList;
+    private final long totalCount;
+    private final int offset;
+    private final int limit;
+
+    Page(final List<T> resultList, final long totalCount, final int offset, final int limit) {
+        this.resultList = Collections.unmodifiableList(resultList);
+        this.totalCount = totalCount;
+        this.offset = offset;
+        this.limit = limit;
+    }
+
+    /**
+     * Get rows of the page
+     *
+     * @return
+     */
+    public List<T> getResultList() {
+        return resultList;
+    }
+
+    /**
+     * Get number of rows of the statement on all pages
+     *
+     * @return
+     */
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * Get number of rows skipped before the page
+     *
+     * @return
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Get max number of rows of the page
+     *
+     * @return
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Check whether there are rows after the page
+     *
+     * @return
+     */
+    public boolean hasNext() {
+        return offset + resultList.size() < totalCount;
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.mwronski.jsql;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+
+/**
+ * Util reading definitions of persistence units from META-INF/persistence.xml
+ * files available on class path.
+ */
+final class PersistenceUnits {
+
+    private static final String PERSISTENCE_XML = "META-INF/persistence.xml";
+
+    private PersistenceUnits() {
+        // no instances
+    }
+
+    /**
+     * Get entity classes listed in persistence unit. Only <code>class</code>
+     * elements are read, entities detected by persistence provider and
+     * entities of jar or mapping files aren't found.
+     *
+     * @param persistenceUnitName
+     * @return
+     * @throws RuntimeException
+     *             if persistence unit is not defined, doesn't list any
+     *             classes or its classes can't be loaded
+     */
+    static List<Class<?>> getEntityClasses(final String persistenceUnitName) {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        if (classLoader == null) {
+            classLoader = PersistenceUnits.class.getClassLoader();
+        }
+        try {
+            Enumeration<URL> resources = classLoader.getResources(PERSISTENCE_XML);
+            while (resources.hasMoreElements()) {
+                Element unit = findUnit(resources.nextElement(), persistenceUnitName);
+                if (unit != null) {
+                    List<Class<?>> entityClasses = new ArrayList<Class<?>>();
+                    NodeList classes = unit.getElementsByTagName("class");
+                    for (int i = 0; i < classes.getLength(); i++) {
+                        entityClasses.add(Class.forName(classes.item(i).getTextContent().trim(), true, classLoader));
+                    }
+                    if (entityClasses.isEmpty()) {
+                        throw new IllegalStateException("Persistence unit " + persistenceUnitName
+                                + " doesn't list entity classes, warm-up entities of entity manager factory instead");
+                    }
+                    return entityClasses;
+                }
+            }
+        } catch (IllegalStateException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Couldn't read persistence unit: " + persistenceUnitName, e);
+        }
+        throw new RuntimeException("Persistence unit not found: " + persistenceUnitName);
+    }
+
+    /**
+     * Find persistence unit in given persistence.xml
+     *
+     * @param url
+     *            location of persistence.xml
+     * @param persistenceUnitName
+     * @return persistence unit element or null if not defined in given file
+     * @throws Exception
+     */
+    private static Element findUnit(final URL url, final String persistenceUnitName) throws Exception {
+        InputStream in = url.openStream();
+        try {
+            Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(in);
+            NodeList units = document.getElementsByTagName("persistence-unit");
+            for (int i = 0; i < units.getLength(); i++) {
+                Element unit = (Element) units.item(i);
+                if (persistenceUnitName.equals(unit.getAttribute("name"))) {
+                    return unit;
+                }
+            }
+            return null;
+        } finally {
+            in.close();
+        }
+    }
+
+}
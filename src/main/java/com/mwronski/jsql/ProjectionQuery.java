@@ -0,0 +1,230 @@
+package com.mwronski.jsql;
+
+import com.mwronski.jsql.model.dql.Projection;
+
+import javax.persistence.FlushModeType;
+import javax.persistence.LockModeType;
+import javax.persistence.Query;
+import javax.persistence.TemporalType;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Native query which rows are mapped into result objects by projection of
+ * the statement
+ *
+ * @see com.mwronski.jsql.parser.dql.Select#into(Class)
+ */
+final class ProjectionQuery implements Query {
+
+    private final Query query;
+    private final Projection projection;
+
+    ProjectionQuery(final Query query, final Projection projection) {
+        this.query = query;
+        this.projection = projection;
+    }
+
+    /**
+     * Get query returning rows that aren't mapped
+     *
+     * @return
+     */
+    Query getQuery() {
+        return query;
+    }
+
+    Projection getProjection() {
+        return projection;
+    }
+
+    @SuppressWarnings("rawtypes")
+    @Override
+    public List getResultList() {
+        List<?> rows = query.getResultList();
+        List<Object> results = new ArrayList<Object>(rows.size());
+        for (Object row : rows) {
+            results.add(projection.newInstance(row));
+        }
+        return results;
+    }
+
+    @Override
+    public Object getSingleResult() {
+        return projection.newInstance(query.getSingleResult());
+    }
+
+    @Override
+    public int executeUpdate() {
+        return query.executeUpdate();
+    }
+
+    @Override
+    public Query setMaxResults(final int maxResult) {
+        query.setMaxResults(maxResult);
+        return this;
+    }
+
+    @Override
+    public int getMaxResults() {
+        return query.getMaxResults();
+    }
+
+    @Override
+    public Query setFirstResult(final int startPosition) {
+        query.setFirstResult(startPosition);
+        return this;
+    }
+
+    @Override
+    public int getFirstResult() {
+        return query.getFirstResult();
+    }
+
+    @Override
+    public Query setHint(final String hintName, final Object value) {
+        query.setHint(hintName, value);
+        return this;
+    }
+
+    @Override
+    public Map<String, Object> getHints() {
+        return query.getHints();
+    }
+
+    @Override
+    public <T> Query setParameter(final javax.persistence.Parameter<T> param, final T value) {
+        query.setParameter(param, value);
+        return this;
+    }
+
+    @Override
+    public Query setParameter(final javax.persistence.Parameter<Calendar> param, final Calendar value,
+            final TemporalType temporalType) {
+        query.setParameter(param, value, temporalType);
+        return this;
+    }
+
+    @Override
+    public Query setParameter(final javax.persistence.Parameter<Date> param, final Date value,
+            final TemporalType temporalType) {
+        query.setParameter(param, value, temporalType);
+        return this;
+    }
+
+    @Override
+    public Query setParameter(final String name, final Object value) {
+        query.setParameter(name, value);
+        return this;
+    }
+
+    @Override
+    public Query setParameter(final String name, final Calendar value, final TemporalType temporalType) {
+        query.setParameter(name, value, temporalType);
+        return this;
+    }
+
+    @Override
+    public Query setParameter(final String name, final Date value, final TemporalType temporalType) {
+        query.setParameter(name, value, temporalType);
+        return this;
+    }
+
+    @Override
+    public Query setParameter(final int position, final Object value) {
+        query.setParameter(position, value);
+        return this;
+    }
+
+    @Override
+    public Query setParameter(final int position, final Calendar value, final TemporalType temporalType) {
+        query.setParameter(position, value, temporalType);
+        return this;
+    }
+
+    @Override
+    public Query setParameter(final int position, final Date value, final TemporalType temporalType) {
+        query.setParameter(position, value, temporalType);
+        return this;
+    }
+
+    @Override
+    public Set<javax.persistence.Parameter<?>> getParameters() {
+        return query.getParameters();
+    }
+
+    @Override
+    public javax.persistence.Parameter<?> getParameter(final String name) {
+        return query.getParameter(name);
+    }
+
+    @Override
+    public <T> javax.persistence.Parameter<T> getParameter(final String name, final Class<T> type) {
+        return query.getParameter(name, type);
+    }
+
+    @Override
+    public javax.persistence.Parameter<?> getParameter(final int position) {
+        return query.getParameter(position);
+    }
+
+    @Override
+    public <T> javax.persistence.Parameter<T> getParameter(final int position, final Class<T> type) {
+        return query.getParameter(position, type);
+    }
+
+    @Override
+    public boolean isBound(final javax.persistence.Parameter<?> param) {
+        return query.isBound(param);
+    }
+
+    @Override
+    public <T> T getParameterValue(final javax.persistence.Parameter<T> param) {
+        return query.getParameterValue(param);
+    }
+
+    @Override
+    public Object getParameterValue(final String name) {
+        return query.getParameterValue(name);
+    }
+
+    @Override
+    public Object getParameterValue(final int position) {
+        return query.getParameterValue(position);
+    }
+
+    @Override
+    public Query setFlushMode(final FlushModeType flushMode) {
+        query.setFlushMode(flushMode);
+        return this;
+    }
+
+    @Override
+    public FlushModeType getFlushMode() {
+        return query.getFlushMode();
+    }
+
+    @Override
+    public Query setLockMode(final LockModeType lockMode) {
+        query.setLockMode(lockMode);
+        return this;
+    }
+
+    @Override
+    public LockModeType getLockMode() {
+        return query.getLockMode();
+    }
+
+    @Override
+    public <T> T unwrap(final Class<T> cls) {
+        if (cls.isInstance(this)) {
+            return cls.cast(this);
+        }
+        return query.unwrap(cls);
+    }
+
+}
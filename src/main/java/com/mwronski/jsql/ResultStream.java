@@ -0,0 +1,156 @@
+package com.mwronski.jsql;
+
+import com.mwronski.jsql.model.dql.Projection;
+
+import javax.persistence.Entity;
+import javax.persistence.EntityManager;
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Results of statement read row by row from forward-only cursor of database,
+ * so memory used doesn't depend on number of rows. <br>
+ * Entities loaded by read rows are detached each time given number of rows is
+ * read. Entities managed before stream was opened, including their pending
+ * changes, are kept even if they are returned as rows, but entities loaded together with rows (e.g. by eager
+ * associations) aren't detached either. Stream must be closed, it's closed
+ * automatically when all rows are read.
+ * 
+ * @see JSql#stream(EntityManager, Class, int)
+ */
+public final class ResultStream<T> implements Iterator<T>, Closeable {
+
+    private final EntityManager entityManager;
+    private final HibernateCursor cursor;
+    private final Projection projection;
+    private final int clearInterval;
+    /**
+     * Entities of rows read since they were detached last time
+     */
+    private final List<Object> loaded = new ArrayList<Object>();
+    private int position = 0;
+    private boolean fetched = false;
+    private boolean available = false;
+    private boolean closed = false;
+
+    /**
+     * Create stream
+     * 
+     * @param entityManager
+     *            entity manager that executes query
+     * @param cursor
+     *            cursor of results or null if statement can't return any
+     *            rows
+     * @param projection
+     *            mapping of rows of native statement or null
+     * @param clearInterval
+     *            number of rows after which their entities are detached
+     */
+    ResultStream(final EntityManager entityManager, final HibernateCursor cursor, final Projection projection,
+            final int clearInterval) {
+        this.entityManager = entityManager;
+        this.cursor = cursor;
+        this.projection = projection;
+        this.clearInterval = clearInterval;
+        this.closed = cursor == null;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (closed) {
+            return false;
+        }
+        if (!fetched) {
+            if (position > 0 && position % clearInterval == 0) {
+                // detach entities of previous rows before next one is loaded
+                detachLoaded();
+            }
+            available = cursor.next();
+            fetched = true;
+            if (!available) {
+                close();
+            }
+        }
+        return available;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("All " + position + " rows were read");
+        }
+        fetched = false;
+        position++;
+        Object row = cursor.get();
+        if (projection != null) {
+            return (T) projection.newInstance(row);
+        }
+        if (row instanceof Object[]) {
+            for (Object element : (Object[]) row) {
+                addLoaded(element);
+            }
+        } else {
+            addLoaded(row);
+        }
+        return (T) row;
+    }
+
+    private void addLoaded(final Object element) {
+        if (element != null && isEntity(element.getClass())) {
+            loaded.add(element);
+        }
+    }
+
+    /**
+     * Detach entities loaded by read rows, so persistence context doesn't grow
+     * with number of rows. Entities managed before stream was opened are
+     * returned as the same instances and are kept.
+     */
+    private void detachLoaded() {
+        for (Object entity : loaded) {
+            if (cursor.isLoaded(entity)) {
+                entityManager.detach(entity);
+            }
+        }
+        loaded.clear();
+    }
+
+    private static boolean isEntity(final Class<?> clazz) {
+        for (Class<?> type = clazz; type != null; type = type.getSuperclass()) {
+            if (type.isAnnotationPresent(Entity.class)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("Rows of results can't be removed");
+    }
+
+    /**
+     * Get number of rows read so far
+     * 
+     * @return
+     */
+    public int getPosition() {
+        return position;
+    }
+
+    /**
+     * Close cursor of results
+     */
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            cursor.close();
+        }
+    }
+
+}
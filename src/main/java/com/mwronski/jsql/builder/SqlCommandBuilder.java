@@ -1,7 +1,5 @@
 package com.mwronski.jsql.builder;
 
-import java.util.Map;
-
 /**
  * Interface for builder of SQL statements
  * 
@@ -21,8 +19,8 @@ public interface SqlCommandBuilder {
     /**
      * Get SQL parameters given in built SQL statement
      * 
-     * @return
+     * @return parameters in order of their indexes in the statement
      */
-    Map<Integer, Object> getSQLParams();
+    SqlParams getSQLParams();
 
 }
@@ -0,0 +1,183 @@
+package com.mwronski.jsql.builder;
+
+import com.mwronski.jsql.model.Parameter;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+
+/**
+ * Dense vector of SQL parameters ordered by their indexes in statement. <br>
+ * Type of each value is tagged once when value is added, so statements can
+ * be bound in a single loop over the vector without looking up indexes and
+ * checking types of values again. Vector can be cleared and reused for
+ * rendering next statements.
+ */
+public final class SqlParams {
+
+    /**
+     * Type tags of SQL parameters
+     */
+    public enum Type {
+        NULL, STRING, LONG, INTEGER, DOUBLE, BOOLEAN, DATE, COLLECTION, PARAMETER, OBJECT
+    }
+
+    private static final int DEFAULT_CAPACITY = 8;
+
+    private Object[] values;
+    private Type[] types;
+    private int size = 0;
+
+    public SqlParams() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create vector
+     *
+     * @param capacity
+     *            initial number of parameters vector can hold
+     */
+    public SqlParams(final int capacity) {
+        this.values = new Object[Math.max(capacity, 1)];
+        this.types = new Type[values.length];
+    }
+
+    /**
+     * Add value of next SQL parameter
+     *
+     * @param value
+     * @return index of added parameter starting from 1
+     */
+    public int add(final Object value) {
+        return add(value, typeOf(value));
+    }
+
+    /**
+     * Add value of next SQL parameter with known type
+     *
+     * @param value
+     * @param type
+     *            tag of value
+     * @return index of added parameter starting from 1
+     */
+    public int add(final Object value, final Type type) {
+        if (size == values.length) {
+            int capacity = values.length * 2;
+            values = Arrays.copyOf(values, capacity);
+            types = Arrays.copyOf(types, capacity);
+        }
+        values[size] = value;
+        types[size] = type;
+        return ++size;
+    }
+
+    /**
+     * Get number of parameters
+     *
+     * @return
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get value of SQL parameter
+     *
+     * @param index
+     *            index of parameter starting from 1
+     * @return
+     */
+    public Object get(final int index) {
+        checkIndex(index);
+        return values[index - 1];
+    }
+
+    /**
+     * Get type of SQL parameter
+     *
+     * @param index
+     *            index of parameter starting from 1
+     * @return
+     */
+    public Type getType(final int index) {
+        checkIndex(index);
+        return types[index - 1];
+    }
+
+    /**
+     * Check whether any parameter is a placeholder of value bound later
+     *
+     * @return
+     */
+    public boolean hasPlaceholders() {
+        for (int i = 0; i < size; i++) {
+            if (types[i] == Type.PARAMETER) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get copy of vector
+     *
+     * @return
+     */
+    public SqlParams copy() {
+        SqlParams copy = new SqlParams(size);
+        System.arraycopy(values, 0, copy.values, 0, size);
+        System.arraycopy(types, 0, copy.types, 0, size);
+        copy.size = size;
+        return copy;
+    }
+
+    /**
+     * Remove all parameters keeping capacity of vector
+     */
+    public void clear() {
+        Arrays.fill(values, 0, size, null);
+        size = 0;
+    }
+
+    /**
+     * Get tag of value
+     *
+     * @param value
+     * @return
+     */
+    public static Type typeOf(final Object value) {
+        if (value == null) {
+            return Type.NULL;
+        } else if (value instanceof String) {
+            return Type.STRING;
+        } else if (value instanceof Long) {
+            return Type.LONG;
+        } else if (value instanceof Integer) {
+            return Type.INTEGER;
+        } else if (value instanceof Double) {
+            return Type.DOUBLE;
+        } else if (value instanceof Boolean) {
+            return Type.BOOLEAN;
+        } else if (value instanceof Date) {
+            return Type.DATE;
+        } else if (value instanceof Collection) {
+            return Type.COLLECTION;
+        } else if (value instanceof Parameter) {
+            return Type.PARAMETER;
+        }
+        return Type.OBJECT;
+    }
+
+    private void checkIndex(final int index) {
+        if (index < 1 || index > size) {
+            throw new IndexOutOfBoundsException("Index of SQL parameter: " + index + ", size: " + size);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.asList(values).subList(0, size).toString();
+    }
+
+}
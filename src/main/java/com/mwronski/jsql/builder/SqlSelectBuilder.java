@@ -1,15 +1,19 @@
 package com.mwronski.jsql.builder;
 
+import com.mwronski.jsql.model.Parameter;
 import com.mwronski.jsql.model.Table;
 import com.mwronski.jsql.model.Variable;
 import com.mwronski.jsql.model.dql.JoinStatement;
+import com.mwronski.jsql.model.expressions.Expression;
 import com.mwronski.jsql.model.expressions.ExpressionChain;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
 /**
- * Builder for SELECT statement
+ * Builder for SELECT statement. <br>
+ * Parts of the statement are handled in order in which they appear in SQL.
  * 
  * @date 28-06-2013
  * @author Michal Wronski
@@ -17,6 +21,11 @@ import java.util.Map;
  */
 public interface SqlSelectBuilder extends SqlCommandBuilder {
 
+    /**
+     * Name of column with total number of rows of the statement
+     */
+    String TOTAL_COUNT_COLUMN = "total_count";
+
     /**
      * Handle SELECT part of the statement
      * 
@@ -31,6 +40,35 @@ public interface SqlSelectBuilder extends SqlCommandBuilder {
      */
     void handleSelect(List<Table> tables, List<Variable> selectColumns, boolean distinct, boolean count);
 
+    /**
+     * Handle mapping of selected columns into result objects. Called before
+     * SELECT part of the statement.
+     * 
+     * @param resultClass
+     *            class of result objects or null if rows aren't mapped
+     */
+    void handleProjection(Class<?> resultClass);
+
+    /**
+     * Handle total number of rows selected as last column. Called before
+     * SELECT part of the statement.
+     * 
+     * @param totalCount
+     *            flag indicates whether total number of rows of the
+     *            statement is selected
+     * @see #TOTAL_COUNT_COLUMN
+     */
+    void handleTotalCount(boolean totalCount);
+
+    /**
+     * Handle column which distinct values are counted instead of rows.
+     * Called before SELECT part of the statement.
+     * 
+     * @param column
+     *            counted column or null if rows are counted
+     */
+    void handleCountDistinct(Variable column);
+
     /**
      * Handle FROM part of the statement
      * 
@@ -54,10 +92,11 @@ public interface SqlSelectBuilder extends SqlCommandBuilder {
             ExpressionChain onCondition);
 
     /**
-     * Handle WHERE part of the statement
+     * Handle WHERE part of the statement. Called always, even if statement
+     * has no conditions.
      * 
      * @param where
-     *            select conditions
+     *            select conditions or null if not defined
      */
     void handleWhere(ExpressionChain where);
 
@@ -77,4 +116,49 @@ public interface SqlSelectBuilder extends SqlCommandBuilder {
      */
     void handleGroupBy(List<Variable> variables);
 
+    /**
+     * Handle LIMIT and OFFSET part of the statement. Builders of native
+     * grammars must write them into statement, limits of statements in other
+     * grammars are applied to queries.
+     * 
+     * @param limit
+     *            max number of returned rows or null
+     * @param offset
+     *            number of skipped rows or null
+     */
+    void handleLimit(Integer limit, Integer offset);
+
+    /**
+     * Treat conditions with given parameters as if their values were null, so
+     * omittable conditions with these parameters are omitted. Must be called
+     * before statement is handled.
+     * 
+     * @param parameters
+     *            parameters without values
+     */
+    void omitParameters(Collection<Parameter<?>> parameters);
+
+    /**
+     * Bind parameters of already rendered statement without building it again
+     * 
+     * @param parameterSources
+     *            expressions which values are bound as parameters in order of
+     *            parameters in the statement
+     * @return SQL parameters
+     * @see StatementShape#getParameterSources()
+     */
+    SqlParams bindParameters(List<Expression> parameterSources);
+
+    /**
+     * Bind parameters of LIMIT and OFFSET of already rendered statement after
+     * parameters of its conditions
+     * 
+     * @param limit
+     *            max number of returned rows or null
+     * @param offset
+     *            number of skipped rows or null
+     * @see #bindParameters(List)
+     */
+    void bindLimit(Integer limit, Integer offset);
+
 }
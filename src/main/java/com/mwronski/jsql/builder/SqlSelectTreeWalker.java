@@ -2,6 +2,7 @@ package com.mwronski.jsql.builder;
 
 import com.mwronski.jsql.model.Table;
 import com.mwronski.jsql.model.dql.JoinStatement;
+import com.mwronski.jsql.model.dql.Projection;
 import com.mwronski.jsql.model.dql.SelectStatement;
 
 import java.util.ArrayList;
@@ -24,11 +25,10 @@ public final class SqlSelectTreeWalker {
         for (JoinStatement join : select.getJoins()) {
             selectBuilder.handleJoin(join.getTable(), join.getDirection(), join.getType(), join.getOn());
         }
-        if (select.getWhere() != null) {
-            selectBuilder.handleWhere(select.getWhere());
-        }
+        selectBuilder.handleWhere(select.getFilter());
         selectBuilder.handleGroupBy(select.getGroupedBy());
         selectBuilder.handleOrderBy(select.getOrder());
+        selectBuilder.handleLimit(select.getLimit(), select.getOffset());
     }
 
     /**
@@ -46,6 +46,10 @@ public final class SqlSelectTreeWalker {
                 tables.add(join.getTable());
             }
         }
+        Projection projection = select.getProjection();
+        selectBuilder.handleProjection(projection != null ? projection.getResultClass() : null);
+        selectBuilder.handleTotalCount(select.isTotalCount());
+        selectBuilder.handleCountDistinct(select.getCountDistinct());
         selectBuilder.handleSelect(tables, select.getSelectedColumns(), select.isDistinct(), select.isCount());
     }
 }
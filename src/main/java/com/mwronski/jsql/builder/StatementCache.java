@@ -0,0 +1,165 @@
+package com.mwronski.jsql.builder;
+
+import com.mwronski.jsql.grammar.SqlGrammar;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded cache of SQL rendered for statements of given shape. <br>
+ * Cache is split into segments guarded by their own locks, so threads
+ * rendering different statements rarely wait for each other. Least recently
+ * used statements of a segment are removed when the segment is full. Cache is
+ * thread-safe and can be shared between instances of
+ * {@link com.mwronski.jsql.JSql}. Shapes of statements reference entity
+ * classes, so cache should be cleared when they are unloaded (e.g. when
+ * application is redeployed).
+ *
+ * @see StatementShape
+ */
+public final class StatementCache {
+
+    /**
+     * Max number of segments
+     */
+    private static final int MAX_SEGMENTS = 16;
+    /**
+     * Min number of statements kept by segment
+     */
+    private static final int MIN_SEGMENT_SIZE = 64;
+
+    private final List<Map<Key, String>> segments;
+
+    /**
+     * Create cache
+     *
+     * @param maxSize
+     *            max number of cached statements
+     */
+    public StatementCache(final int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Size of cache must be positive, is: " + maxSize);
+        }
+        int count = Math.max(1, Math.min(MAX_SEGMENTS, maxSize / MIN_SEGMENT_SIZE));
+        this.segments = new ArrayList<Map<Key, String>>(count);
+        for (int i = 0; i < count; i++) {
+            // spread remainder of size over first segments
+            final int segmentSize = maxSize / count + (i < maxSize % count ? 1 : 0);
+            segments.add(new LinkedHashMap<Key, String>(16, 0.75f, true) {
+
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<Key, String> eldest) {
+                    return size() > segmentSize;
+                }
+
+            });
+        }
+    }
+
+    /**
+     * Get segment of statement
+     *
+     * @param key
+     * @return
+     */
+    private Map<Key, String> segment(final Key key) {
+        int hash = key.hashCode();
+        // spread bits of hash, so neighbouring hashes don't share segment
+        hash ^= (hash >>> 16);
+        return segments.get((hash & Integer.MAX_VALUE) % segments.size());
+    }
+
+    /**
+     * Get SQL rendered for statement
+     *
+     * @param grammar
+     *            grammar of SQL
+     * @param shape
+     *            shape of statement
+     * @return SQL or null if statement is not cached
+     */
+    public String get(final SqlGrammar grammar, final StatementShape shape) {
+        Key key = new Key(grammar, shape);
+        Map<Key, String> segment = segment(key);
+        synchronized (segment) {
+            return segment.get(key);
+        }
+    }
+
+    /**
+     * Put SQL rendered for statement into cache
+     *
+     * @param grammar
+     *            grammar of SQL
+     * @param shape
+     *            shape of statement
+     * @param sql
+     */
+    public void put(final SqlGrammar grammar, final StatementShape shape, final String sql) {
+        Key key = new Key(grammar, shape);
+        Map<Key, String> segment = segment(key);
+        synchronized (segment) {
+            segment.put(key, sql);
+        }
+    }
+
+    /**
+     * Get number of cached statements
+     *
+     * @return
+     */
+    public int size() {
+        int size = 0;
+        for (Map<Key, String> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Remove all cached statements
+     */
+    public void clear() {
+        for (Map<Key, String> segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    /**
+     * Key of cached statement
+     */
+    private static final class Key {
+
+        private final SqlGrammar grammar;
+        private final StatementShape shape;
+
+        private Key(final SqlGrammar grammar, final StatementShape shape) {
+            this.grammar = grammar;
+            this.shape = shape;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * grammar.hashCode() + shape.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return grammar.equals(other.grammar) && shape.equals(other.shape);
+        }
+
+    }
+
+}
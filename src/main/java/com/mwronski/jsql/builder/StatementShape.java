@@ -0,0 +1,296 @@
+package com.mwronski.jsql.builder;
+
+import com.mwronski.jsql.grammar.GrammarOptions;
+import com.mwronski.jsql.model.Property;
+import com.mwronski.jsql.model.Table;
+import com.mwronski.jsql.model.Variable;
+import com.mwronski.jsql.model.dql.JoinStatement;
+import com.mwronski.jsql.model.dql.SelectStatement;
+import com.mwronski.jsql.model.expressions.Expression;
+import com.mwronski.jsql.model.expressions.ExpressionChain;
+import com.mwronski.jsql.model.expressions.InExpression;
+import com.mwronski.jsql.model.expressions.Relation;
+import com.mwronski.jsql.model.expressions.SeekExpression;
+import com.mwronski.jsql.model.expressions.SubqueryExpression;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Structural fingerprint of SELECT statement. <br>
+ * Statements of the same shape differ only in values of parameters, so they
+ * are rendered into the same SQL. Shape covers tables, variables, types of
+ * relations and whether their values are set, joins, omitted conditions,
+ * order of the statement, whether its limit and offset are set and number
+ * of values of sought key. If equal values share SQL parameters, shape covers
+ * also which values are equal. <br>
+ * While shape is computed, expressions which values are bound as SQL
+ * parameters are collected in the order of parameters in rendered SQL.
+ */
+public final class StatementShape {
+
+    /**
+     * Markers of structural elements of the statement
+     */
+    private enum Token {
+        SELECT, DISTINCT, COUNT, FROM, JOIN, WHERE, GROUP_BY, ORDER_BY, LIMIT, OFFSET, SEEK, SUBQUERY, CHAIN_START, CHAIN_END, PARAM,
+        NULL, VAR
+    }
+
+    private final List<Object> tokens = new ArrayList<Object>();
+    private final List<Expression> parameterSources = new ArrayList<Expression>();
+    /**
+     * Ordinals of distinct values of parameters if equal values are
+     * de-duplicated
+     */
+    private final Map<Object, Integer> valueOrdinals;
+    private final GrammarOptions options;
+    private final int hashCode;
+
+    private StatementShape(final SelectStatement select, final GrammarOptions options) {
+        this.options = options;
+        this.valueOrdinals = options.isDeduplicateParameters() ? new HashMap<Object, Integer>() : null;
+        walk(select);
+        this.hashCode = tokens.hashCode();
+    }
+
+    /**
+     * Get shape of given statement
+     *
+     * @param select
+     * @return
+     */
+    public static StatementShape of(final SelectStatement select) {
+        return of(select, GrammarOptions.DEFAULT);
+    }
+
+    /**
+     * Get shape of given statement rendered with given options
+     *
+     * @param select
+     * @param options
+     *            options of grammar statement is rendered with
+     * @return
+     */
+    public static StatementShape of(final SelectStatement select, final GrammarOptions options) {
+        return new StatementShape(select, options);
+    }
+
+    /**
+     * Get expressions which values are bound as SQL parameters
+     *
+     * @return relations and IN expressions in order of SQL parameters
+     */
+    public List<Expression> getParameterSources() {
+        return parameterSources;
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        } else if (!(o instanceof StatementShape)) {
+            return false;
+        }
+        StatementShape other = (StatementShape) o;
+        return hashCode == other.hashCode && tokens.equals(other.tokens);
+    }
+
+    /**
+     * Walk through the statement in the same order as
+     * {@link SqlSelectTreeWalker}
+     *
+     * @param select
+     */
+    private void walk(final SelectStatement select) {
+        tokens.add(Token.SELECT);
+        if (select.isDistinct()) {
+            tokens.add(Token.DISTINCT);
+        }
+        if (select.isCount()) {
+            tokens.add(Token.COUNT);
+            if (select.getCountDistinct() != null) {
+                tokens.add(Token.DISTINCT);
+                addVariable(select.getCountDistinct());
+            }
+        }
+        tokens.add(select.getProjection() != null ? select.getProjection().getResultClass() : null);
+        tokens.add(select.isTotalCount());
+        for (Table table : select.getSelectedTables()) {
+            addTable(table);
+        }
+        for (Variable column : select.getSelectedColumns()) {
+            addVariable(column);
+        }
+        tokens.add(Token.FROM);
+        for (Table table : select.getFrom()) {
+            addTable(table);
+        }
+        for (JoinStatement join : select.getJoins()) {
+            tokens.add(Token.JOIN);
+            tokens.add(join.getDirection());
+            tokens.add(join.getType());
+            addTable(join.getTable());
+            addChain(join.getOn());
+        }
+        ExpressionChain filter = select.getFilter();
+        if (filter != null) {
+            tokens.add(Token.WHERE);
+            addChain(filter);
+        }
+        tokens.add(Token.GROUP_BY);
+        for (Variable var : select.getGroupedBy()) {
+            addVariable(var);
+        }
+        tokens.add(Token.ORDER_BY);
+        for (Map.Entry<Variable, Boolean> var : select.getOrder().entrySet()) {
+            addVariable(var.getKey());
+            tokens.add(var.getValue());
+        }
+        // values of limits are bound as parameters
+        if (select.getLimit() != null) {
+            tokens.add(Token.LIMIT);
+        }
+        if (select.getOffset() != null) {
+            tokens.add(Token.OFFSET);
+        }
+    }
+
+    private void addTable(final Table table) {
+        tokens.add(table.getTableClass());
+        tokens.add(table.getAlias());
+        tokens.add(table.getName());
+    }
+
+    private void addVariable(final Variable var) {
+        addTable(var.getTable());
+        Property<?, ?> property = var.getProperty();
+        tokens.add(property.getName());
+        tokens.add(property.getColumnName());
+    }
+
+    /**
+     * Add chain of conditions skipping omitted conditions
+     *
+     * @param chain
+     */
+    private void addChain(final ExpressionChain chain) {
+        tokens.add(Token.CHAIN_START);
+        for (Map.Entry<Expression, ExpressionChain.Type> entry : chain.getConditions().entrySet()) {
+            Expression expression = entry.getKey();
+            if (expression.isNull() && expression.isNullOmittable()) {
+                continue;
+            }
+            tokens.add(entry.getValue());
+            if (expression instanceof ExpressionChain) {
+                addChain((ExpressionChain) expression);
+            } else if (expression instanceof Relation) {
+                addRelation((Relation) expression);
+            } else if (expression instanceof InExpression) {
+                addInExpression((InExpression) expression);
+            } else if (expression instanceof SeekExpression) {
+                addSeekExpression((SeekExpression) expression);
+            } else if (expression instanceof SubqueryExpression) {
+                addSubquery((SubqueryExpression) expression);
+            } else {
+                throw new UnsupportedOperationException("Unknown condition type: " + expression.getClass());
+            }
+        }
+        tokens.add(Token.CHAIN_END);
+    }
+
+    private void addRelation(final Relation relation) {
+        addVariable(relation.getVar());
+        tokens.add(relation.getType());
+        tokens.add(relation.isCaseInsensitive());
+        if (relation.hasVarValue()) {
+            tokens.add(Token.VAR);
+            addVariable(relation.getVarValue());
+        } else if (relation.getValue() != null) {
+            addParameter(relation, relation.getParameterValue());
+        } else {
+            tokens.add(Token.NULL);
+        }
+    }
+
+    /**
+     * Add expression which value is bound as SQL parameter
+     *
+     * @param source
+     * @param value
+     */
+    private void addParameter(final Expression source, final Object value) {
+        parameterSources.add(source);
+        addValue(value);
+    }
+
+    /**
+     * Add value bound as SQL parameter
+     *
+     * @param value
+     */
+    private void addValue(final Object value) {
+        tokens.add(Token.PARAM);
+        if (valueOrdinals != null) {
+            Integer ordinal = valueOrdinals.get(value);
+            if (ordinal == null) {
+                ordinal = valueOrdinals.size();
+                valueOrdinals.put(value, ordinal);
+            }
+            tokens.add(ordinal);
+        }
+    }
+
+    /**
+     * Add condition of seeking rows after key. Columns are covered by order of
+     * the statement, expression is single source of all values of key.
+     *
+     * @param seek
+     */
+    private void addSeekExpression(final SeekExpression seek) {
+        tokens.add(Token.SEEK);
+        parameterSources.add(seek);
+        for (Object value : seek.getValues()) {
+            addValue(value);
+        }
+    }
+
+    /**
+     * Add condition with nested statement. Parameters of nested statement are
+     * collected in place, since they are rendered inside the condition.
+     *
+     * @param subquery
+     */
+    private void addSubquery(final SubqueryExpression subquery) {
+        tokens.add(Token.SUBQUERY);
+        tokens.add(subquery.getType());
+        if (subquery.getVar() != null) {
+            addVariable(subquery.getVar());
+        }
+        walk(subquery.getStatement());
+        tokens.add(Token.CHAIN_END);
+    }
+
+    private void addInExpression(final InExpression inExpression) {
+        addVariable(inExpression.getVar());
+        tokens.add(inExpression.getType());
+        if (inExpression.getValues() != null) {
+            addParameter(inExpression, options.padInList(inExpression.getParameterValue()));
+            if (inExpression.getParameter() == null && options.isBoundAsArray(inExpression.getValues())) {
+                // type of elements decides whether collection is bound as array
+                Object first = inExpression.getValues().get(0);
+                tokens.add(first != null ? first.getClass() : null);
+            }
+        } else {
+            tokens.add(Token.NULL);
+        }
+    }
+
+}
@@ -0,0 +1,196 @@
+package com.mwronski.jsql.grammar;
+
+import com.mwronski.jsql.optimizer.QueryRewriteRule;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable options of rendering statements shared by grammars. <br>
+ * Options are part of grammar identity, so statements rendered with
+ * different options are cached separately.
+ */
+public final class GrammarOptions {
+
+    /**
+     * Default options
+     */
+    public static final GrammarOptions DEFAULT = new GrammarOptions(false, false, 0,
+            Collections.<QueryRewriteRule> emptyList());
+
+    private final boolean deduplicateParameters;
+    private final boolean padInLists;
+    private final int arrayThreshold;
+    private final List<QueryRewriteRule> rewriteRules;
+
+    private GrammarOptions(final boolean deduplicateParameters, final boolean padInLists, final int arrayThreshold,
+            final List<QueryRewriteRule> rewriteRules) {
+        this.deduplicateParameters = deduplicateParameters;
+        this.padInLists = padInLists;
+        this.arrayThreshold = arrayThreshold;
+        this.rewriteRules = rewriteRules;
+    }
+
+    /**
+     * Check whether equal values share one SQL parameter
+     *
+     * @return
+     */
+    public boolean isDeduplicateParameters() {
+        return deduplicateParameters;
+    }
+
+    /**
+     * Check whether collections of IN expressions are padded to sizes being
+     * powers of two
+     *
+     * @return
+     */
+    public boolean isPadInLists() {
+        return padInLists;
+    }
+
+    /**
+     * Get min size of collection of IN expression bound as single array
+     *
+     * @return size or 0 if collections aren't bound as arrays
+     */
+    public int getArrayThreshold() {
+        return arrayThreshold;
+    }
+
+    /**
+     * Check whether collection of IN expression should be bound as single
+     * array by grammars supporting arrays
+     *
+     * @param values
+     *            collection of values
+     * @return
+     */
+    public boolean isBoundAsArray(final Collection<?> values) {
+        return arrayThreshold > 0 && values.size() >= arrayThreshold;
+    }
+
+    /**
+     * Get options with changed de-duplication of parameters
+     *
+     * @param deduplicateParameters
+     *            flag indicates whether equal values should be bound only
+     *            once and share one SQL parameter in statement
+     * @return
+     */
+    public GrammarOptions withDeduplicateParameters(final boolean deduplicateParameters) {
+        return new GrammarOptions(deduplicateParameters, padInLists, arrayThreshold, rewriteRules);
+    }
+
+    /**
+     * Get options with changed padding of IN lists
+     *
+     * @param padInLists
+     *            flag indicates whether collections of IN expressions should
+     *            be padded to next power of two by repeating their last
+     *            value, so number of distinct statements expanded by entity
+     *            manager stays bounded
+     * @return
+     */
+    public GrammarOptions withPadInLists(final boolean padInLists) {
+        return new GrammarOptions(deduplicateParameters, padInLists, arrayThreshold, rewriteRules);
+    }
+
+    /**
+     * Get options with changed binding of IN lists as arrays
+     *
+     * @param arrayThreshold
+     *            min size of collection of IN expression that is bound as
+     *            single array instead of list of parameters in grammars
+     *            supporting arrays or 0 if collections shouldn't be bound as
+     *            arrays
+     * @return
+     */
+    public GrammarOptions withArrayThreshold(final int arrayThreshold) {
+        if (arrayThreshold < 0) {
+            throw new IllegalArgumentException("Threshold of arrays can't be negative, is: " + arrayThreshold);
+        }
+        return new GrammarOptions(deduplicateParameters, padInLists, arrayThreshold, rewriteRules);
+    }
+
+    /**
+     * Get rules rewriting statements of grammar
+     *
+     * @return rules in order in which they are applied
+     */
+    public List<QueryRewriteRule> getRewriteRules() {
+        return rewriteRules;
+    }
+
+    /**
+     * Get options with changed rewrite rules
+     *
+     * @param rules
+     *            rules applied in given order to statements before they are
+     *            rendered
+     * @return
+     */
+    public GrammarOptions withRewriteRules(final QueryRewriteRule... rules) {
+        return new GrammarOptions(deduplicateParameters, padInLists, arrayThreshold,
+                Collections.unmodifiableList(new ArrayList<QueryRewriteRule>(Arrays.asList(rules))));
+    }
+
+    /**
+     * Get collection of IN expression bound as SQL parameter
+     *
+     * @param values
+     *            collection of values or placeholder
+     * @return padded collection if IN lists are padded, given values
+     *         otherwise
+     */
+    public Object padInList(final Object values) {
+        if (!padInLists || !(values instanceof Collection)) {
+            return values;
+        }
+        Collection<?> collection = (Collection<?>) values;
+        int size = collection.size();
+        int bucket = Integer.highestOneBit(size);
+        if (bucket < size) {
+            bucket <<= 1;
+        }
+        if (size == 0 || bucket == size) {
+            return values;
+        }
+        List<Object> padded = new ArrayList<Object>(bucket);
+        padded.addAll(collection);
+        Object last = padded.get(size - 1);
+        while (padded.size() < bucket) {
+            padded.add(last);
+        }
+        return padded;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        } else if (!(o instanceof GrammarOptions)) {
+            return false;
+        }
+        GrammarOptions other = (GrammarOptions) o;
+        return deduplicateParameters == other.deduplicateParameters && padInLists == other.padInLists
+                && arrayThreshold == other.arrayThreshold && rewriteRules.equals(other.rewriteRules);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * rewriteRules.hashCode() + 4 * arrayThreshold + (deduplicateParameters ? 1 : 0)
+                + (padInLists ? 2 : 0);
+    }
+
+    @Override
+    public String toString() {
+        return "GrammarOptions[deduplicateParameters=" + deduplicateParameters + ", padInLists=" + padInLists
+                + ", arrayThreshold=" + arrayThreshold + ", rewriteRules=" + rewriteRules + "]";
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.mwronski.jsql.grammar;
+
+import com.mwronski.jsql.model.Table;
+import com.mwronski.jsql.model.Variable;
+
+/**
+ * Strategy resolving names of tables and columns used in SQL statements. <br>
+ * Entity and property names are used by grammars supported by entities
+ * managers, table and column names are used by native grammars.
+ */
+public interface NamingStrategy {
+
+    /**
+     * Get name of entity mapped to table
+     * 
+     * @param table
+     * @return
+     */
+    String getEntityName(Table table);
+
+    /**
+     * Get name of property mapped to variable
+     * 
+     * @param variable
+     * @return
+     */
+    String getPropertyName(Variable variable);
+
+    /**
+     * Get physical name of table
+     * 
+     * @param table
+     * @return
+     */
+    String getTableName(Table table);
+
+    /**
+     * Get physical name of column mapped to variable
+     * 
+     * @param variable
+     * @return
+     */
+    String getColumnName(Variable variable);
+
+}
@@ -1,5 +1,6 @@
 package com.mwronski.jsql.grammar;
 
+import com.mwronski.jsql.builder.SqlParams;
 import com.mwronski.jsql.builder.SqlSelectBuilder;
 
 /**
@@ -18,6 +19,27 @@ public interface SqlGrammar {
      */
     SqlSelectBuilder selectBuilder();
 
+    /**
+     * Get builder for select commands appending statements to given buffer
+     * 
+     * @param sql
+     *            buffer that statement is appended to
+     * @return
+     */
+    SqlSelectBuilder selectBuilder(StringBuilder sql);
+
+    /**
+     * Get builder for select commands appending statements to given buffer
+     * and SQL parameters to given vector
+     * 
+     * @param sql
+     *            buffer that statement is appended to
+     * @param params
+     *            empty vector that SQL parameters are added to
+     * @return
+     */
+    SqlSelectBuilder selectBuilder(StringBuilder sql, SqlParams params);
+
     /**
      * Check whether build statements are in native SQL form or in SQL supported
      * by entities managers.
@@ -25,4 +47,19 @@ public interface SqlGrammar {
      * @return
      */
     boolean isNative();
+
+    /**
+     * Get strategy resolving names of tables and columns shared by builders
+     * of this grammar
+     * 
+     * @return
+     */
+    NamingStrategy getNamingStrategy();
+
+    /**
+     * Get options of rendering statements
+     * 
+     * @return
+     */
+    GrammarOptions getOptions();
 }
@@ -0,0 +1,48 @@
+package com.mwronski.jsql.grammar.common;
+
+import com.mwronski.jsql.grammar.NamingStrategy;
+import com.mwronski.jsql.model.EntityMetadata;
+import com.mwronski.jsql.model.Table;
+import com.mwronski.jsql.model.Variable;
+
+/**
+ * Default naming strategy based on entities annotations. <br>
+ * Name of table is taken from Entity annotation (or entity class name), name
+ * of column from Column annotation of getter (or name of the property). Names
+ * are resolved once by {@link EntityMetadata}.
+ */
+public final class AnnotationNamingStrategy implements NamingStrategy {
+
+    /**
+     * Shared instance
+     */
+    public static final NamingStrategy INSTANCE = new AnnotationNamingStrategy();
+
+    private AnnotationNamingStrategy() {
+        // use shared instance
+    }
+
+    @Override
+    public String getEntityName(final Table table) {
+        return getTableName(table);
+    }
+
+    @Override
+    public String getPropertyName(final Variable variable) {
+        return variable.getProperty().getName();
+    }
+
+    @Override
+    public String getTableName(final Table table) {
+        if (table.getName() != null) {
+            return table.getName();
+        }
+        return EntityMetadata.of(table.getTableClass()).getTableName();
+    }
+
+    @Override
+    public String getColumnName(final Variable variable) {
+        return variable.getProperty().getColumnName();
+    }
+
+}
@@ -3,10 +3,6 @@ package com.mwronski.jsql.grammar.common;
 import com.mwronski.jsql.model.Table;
 import com.mwronski.jsql.model.Variable;
 
-import javax.persistence.Column;
-import javax.persistence.Entity;
-import java.lang.reflect.Method;
-
 /**
  * Util related with grammar and SQL tokens.
  * 
@@ -21,96 +17,72 @@ public final class GrammarUtil {
     }
 
     /**
-     * Get name of given variable
+     * Get variable name
      * 
      * @param variable
-     * @param skipAnnotations
-     *            flag indicates whether meta-data of variable should be skipped
-     *            event if it's available
-     * @return name from Column annotation if defined. If Column annotation is
-     *         not defined name is taken from getter method name.
-     */
-    private static String getFieldName(final Variable variable, final boolean skipAnnotations) {
-        Method method = variable.getMethod();
-        Column columnAnnotation = method.getAnnotation(Column.class);
-        if (!skipAnnotations && columnAnnotation != null && !columnAnnotation.name().isEmpty()) {
-            return columnAnnotation.name().toLowerCase();
-        }
-        String fieldName = null;
-        if (method.getName().startsWith("get")) {
-            fieldName = method.getName().replace("get", "");
-        } else if (method.getName().startsWith("is")) {
-            fieldName = method.getName().replace("is", "");
-        } else {
-            fieldName = method.getName();
-        }
-        return normalizeSpelling(fieldName);
-    }
-
-    /**
-     * Normalize spelling of string to meet JAVA conventions
-     * 
-     * @param string
+     * @param fieldName
+     *            name of the field (property or column)
+     * @param tableName
+     *            name of table that should appear before field name if
+     *            table has no alias or null if only field name is needed
      * @return
      */
-    private static String normalizeSpelling( String string) {
-        char firstLetterLower = Character.toLowerCase(string.charAt(0));
-        String restString = string.length() > 1 ? string.substring(1) : "";
-        return firstLetterLower + restString;
+    public static String getVariableName(final Variable variable, final String fieldName, final String tableName) {
+        StringBuilder varName = new StringBuilder();
+        appendVariableName(varName, variable, fieldName, tableName);
+        return varName.toString();
     }
 
     /**
-     * Get variable name
+     * Append variable name to given statement
      * 
+     * @param sql
      * @param variable
-     * @param showTableName
-     *            flag indicates whether table name should appear before
-     *            variable name
-     * @param skipAnnotations
-     *            flag indicates whether meta-data of variable should be skipped
-     *            event if it's available
-     * @return
+     * @param fieldName
+     *            name of the field (property or column)
+     * @param tableName
+     *            name of table that should appear before field name if
+     *            table has no alias or null if only field name is needed
+     * @see #getVariableName(Variable, String, String)
      */
-    public static String getVariableName(final Variable variable, final boolean skipAnnotations,
-            final boolean showTableName) {
-        StringBuilder varName = new StringBuilder();
+    public static void appendVariableName(final StringBuilder sql, final Variable variable, final String fieldName,
+            final String tableName) {
         if (variable.getTable().getAlias() != null) {
-            varName.append(variable.getTable().getAlias()).append(Nouns.DOT);
-        } else if (showTableName) {
-            varName.append(getTableName(variable.getTable())).append(Nouns.DOT);
+            sql.append(variable.getTable().getAlias()).append(Nouns.DOT);
+        } else if (tableName != null) {
+            sql.append(tableName).append(Nouns.DOT);
         }
-        varName.append(getFieldName(variable, skipAnnotations));
-
-        return varName.toString();
+        sql.append(fieldName);
     }
 
     /**
-     * Get table name.
-     * 
+     * Get name of table definition
      * 
-     * @return name Entity annotation or class name if entity annotation is not
-     *         defined
+     * @param table
+     * @param tableName
+     *            name of the table
+     * @return table name with its alias if set
      */
-    public static String getTableName(final Table table) {
-        Entity entityAnno = table.getTableClass().getAnnotation(Entity.class);
-        if (entityAnno != null && !entityAnno.name().isEmpty()) {
-            return entityAnno.name();
-        }
-        return table.getTableClass().getSimpleName();
+    public static String getTableDefinitionName(final Table table, final String tableName) {
+        StringBuilder tableDefinition = new StringBuilder();
+        appendTableDefinitionName(tableDefinition, table, tableName);
+        return tableDefinition.toString();
     }
 
     /**
-     * Get name of table definition
+     * Append name of table definition to given statement
      * 
+     * @param sql
      * @param table
-     * @return table name with its alias if set
+     * @param tableName
+     *            name of the table
+     * @see #getTableDefinitionName(Table, String)
      */
-    public static String getTableDefinitionName(final Table table) {
-        StringBuilder tableName = new StringBuilder(getTableName(table));
+    public static void appendTableDefinitionName(final StringBuilder sql, final Table table, final String tableName) {
+        sql.append(tableName);
         if (table.getAlias() != null) {
-            tableName.append(Nouns.SPACE).append(table.getAlias());
+            sql.append(Nouns.SPACE).append(table.getAlias());
         }
-        return tableName.toString();
     }
 
 }
@@ -0,0 +1,67 @@
+package com.mwronski.jsql.grammar.common;
+
+import org.hibernate.HibernateException;
+import org.hibernate.SessionFactory;
+import org.hibernate.ejb.HibernateEntityManagerFactory;
+import org.hibernate.metadata.ClassMetadata;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Physical mapping of entities read from Hibernate. <br>
+ * Class is loaded only when Hibernate is used as persistence provider.
+ */
+final class HibernateMapping {
+
+    private final SessionFactory sessionFactory;
+
+    HibernateMapping(final EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = ((HibernateEntityManagerFactory) entityManagerFactory).getSessionFactory();
+    }
+
+    /**
+     * Get name of table mapped to entity
+     * 
+     * @param entityClass
+     * @return
+     */
+    String getTableName(final Class<?> entityClass) {
+        return getPersister(entityClass).getTableName();
+    }
+
+    /**
+     * Get name of column mapped to property
+     * 
+     * @param entityClass
+     * @param propertyName
+     * @return column name or null if property is not mapped to single column
+     */
+    String getColumnName(final Class<?> entityClass, final String propertyName) {
+        AbstractEntityPersister persister = getPersister(entityClass);
+        String[] columnNames = null;
+        try {
+            columnNames = propertyName.equals(persister.getIdentifierPropertyName()) ? persister
+                    .getIdentifierColumnNames() : persister.getPropertyColumnNames(propertyName);
+        } catch (HibernateException e) {
+            // property without columns (e.g. inverse side of association)
+            return null;
+        }
+        return columnNames != null && columnNames.length == 1 ? columnNames[0] : null;
+    }
+
+    /**
+     * Get persister of entity
+     * 
+     * @param entityClass
+     * @return
+     */
+    private AbstractEntityPersister getPersister(final Class<?> entityClass) {
+        ClassMetadata metadata = sessionFactory.getClassMetadata(entityClass);
+        if (!(metadata instanceof AbstractEntityPersister)) {
+            throw new UnsupportedOperationException("Unsupported mapping of entity: " + entityClass.getName());
+        }
+        return (AbstractEntityPersister) metadata;
+    }
+
+}
@@ -0,0 +1,151 @@
+package com.mwronski.jsql.grammar.common;
+
+import com.mwronski.jsql.grammar.NamingStrategy;
+import com.mwronski.jsql.model.Table;
+import com.mwronski.jsql.model.Variable;
+
+import javax.persistence.Column;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.EntityType;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Member;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Naming strategy based on meta-model of entity manager factory. <br>
+ * Names of all entities are resolved once when strategy is created. Physical
+ * names are taken from the mapping of persistence provider (Hibernate is
+ * supported), so Table annotations, field annotations and naming strategies of
+ * provider are respected. For other providers default JPA names are used
+ * (Table and Column annotations on fields or getters, entity and attribute
+ * names otherwise). <br>
+ * Strategy is immutable and should be shared between grammars.
+ */
+public final class MetamodelNamingStrategy implements NamingStrategy {
+
+    private static final String HIBERNATE_FACTORY = "org.hibernate.ejb.HibernateEntityManagerFactory";
+
+    private final Map<Class<?>, EntityNames> entities;
+
+    /**
+     * Create strategy
+     * 
+     * @param entityManagerFactory
+     *            factory which meta-model is used
+     */
+    public MetamodelNamingStrategy(final EntityManagerFactory entityManagerFactory) {
+        HibernateMapping hibernateMapping = isHibernate(entityManagerFactory) ? new HibernateMapping(
+                entityManagerFactory) : null;
+        Map<Class<?>, EntityNames> entities = new HashMap<Class<?>, EntityNames>();
+        for (EntityType<?> entityType : entityManagerFactory.getMetamodel().getEntities()) {
+            Class<?> entityClass = entityType.getJavaType();
+            EntityNames names = new EntityNames(entityType.getName());
+            if (hibernateMapping != null) {
+                names.tableName = hibernateMapping.getTableName(entityClass);
+            } else {
+                javax.persistence.Table tableAnno = entityClass.getAnnotation(javax.persistence.Table.class);
+                names.tableName = tableAnno != null && !tableAnno.name().isEmpty() ? tableAnno.name() : entityType
+                        .getName();
+            }
+            for (Attribute<?, ?> attribute : entityType.getAttributes()) {
+                String columnName = hibernateMapping != null ? hibernateMapping.getColumnName(entityClass,
+                        attribute.getName()) : getColumnName(attribute);
+                if (columnName != null) {
+                    names.columnNames.put(attribute.getName(), columnName);
+                }
+            }
+            entities.put(entityClass, names);
+        }
+        this.entities = Collections.unmodifiableMap(entities);
+    }
+
+    @Override
+    public String getEntityName(final Table table) {
+        return getNames(table).entityName;
+    }
+
+    @Override
+    public String getPropertyName(final Variable variable) {
+        return variable.getProperty().getName();
+    }
+
+    @Override
+    public String getTableName(final Table table) {
+        return getNames(table).tableName;
+    }
+
+    @Override
+    public String getColumnName(final Variable variable) {
+        String columnName = getNames(variable.getTable()).columnNames.get(variable.getProperty().getName());
+        if (columnName == null) {
+            throw new RuntimeException("Property " + variable.getProperty() + " is not mapped to single column");
+        }
+        return columnName;
+    }
+
+    /**
+     * Get names of entity of given table
+     * 
+     * @param table
+     * @return
+     */
+    private EntityNames getNames(final Table table) {
+        EntityNames names = entities.get(table.getTableClass());
+        if (names == null) {
+            throw new RuntimeException("Class is not an entity: " + table.getTableClass().getName());
+        }
+        return names;
+    }
+
+    /**
+     * Get default JPA column name of attribute
+     * 
+     * @param attribute
+     * @return name from Column annotation of attribute if defined, attribute
+     *         name otherwise
+     */
+    private static String getColumnName(final Attribute<?, ?> attribute) {
+        Member member = attribute.getJavaMember();
+        if (member instanceof AnnotatedElement) {
+            Column column = ((AnnotatedElement) member).getAnnotation(Column.class);
+            if (column != null && !column.name().isEmpty()) {
+                return column.name();
+            }
+        }
+        return attribute.getName();
+    }
+
+    /**
+     * Check whether factory is provided by Hibernate
+     * 
+     * @param entityManagerFactory
+     * @return
+     */
+    private static boolean isHibernate(final EntityManagerFactory entityManagerFactory) {
+        try {
+            return Class.forName(HIBERNATE_FACTORY, false, entityManagerFactory.getClass().getClassLoader())
+                    .isInstance(entityManagerFactory);
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Resolved names of entity
+     */
+    private static final class EntityNames {
+
+        private final String entityName;
+        private String tableName;
+        private final Map<String, String> columnNames = new HashMap<String, String>();
+
+        private EntityNames(final String entityName) {
+            this.entityName = entityName;
+        }
+
+    }
+
+}
@@ -11,7 +11,10 @@ public enum Nouns {
             " "), COMMA(","), ALL("*"), DOT("."), COUNT_ALL("COUNT(*)"), ORDER_BY("ORDER BY"), DESC("DESC"), GROUP_BY(
             "GROUP BY"), LEFT_BRACKET("("), RIGHT_BRACKET(")"), PARAM("?"), IS_NULL("IS NULL"), IS_NOT_NULL(
             "IS NOT NULL"), EQUALS("="), NOT_EQUALS("!="), LESS("<"), LESS_EQAULS("<="), GREATER(">"), GREATER_EQUALS(
-            ">=");
+            ">="), IN("IN"), NOT_IN("NOT IN"), WITH("WITH"), LIMIT(
+            "LIMIT"), OFFSET("OFFSET"), NEW("NEW"), EXISTS(
+            "EXISTS"), NOT_EXISTS("NOT EXISTS"), COUNT("COUNT"), OVER("OVER()"), AS("AS"), EQUALS_ANY("= ANY"), NOT_EQUALS_ALL(
+            "<> ALL"), CAST("CAST"), ARRAY("[]");
 
     private final String sql;
 
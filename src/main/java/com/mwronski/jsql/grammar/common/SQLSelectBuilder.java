@@ -1,6 +1,11 @@
 package com.mwronski.jsql.grammar.common;
 
+import com.mwronski.jsql.builder.SqlParams;
 import com.mwronski.jsql.builder.SqlSelectBuilder;
+import com.mwronski.jsql.builder.SqlSelectTreeWalker;
+import com.mwronski.jsql.grammar.GrammarOptions;
+import com.mwronski.jsql.grammar.NamingStrategy;
+import com.mwronski.jsql.model.Parameter;
 import com.mwronski.jsql.model.Table;
 import com.mwronski.jsql.model.Variable;
 import com.mwronski.jsql.model.dql.JoinStatement;
@@ -8,133 +13,282 @@ import com.mwronski.jsql.model.dql.SelectStatement;
 import com.mwronski.jsql.model.expressions.Expression;
 import com.mwronski.jsql.model.expressions.ExpressionChain;
 import com.mwronski.jsql.model.expressions.InExpression;
+import com.mwronski.jsql.model.expressions.InExpression.CollectionType;
 import com.mwronski.jsql.model.expressions.Relation;
 import com.mwronski.jsql.model.expressions.Relation.RelationType;
+import com.mwronski.jsql.model.expressions.SeekExpression;
+import com.mwronski.jsql.model.expressions.SubqueryExpression;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
- * Basic SELECT statement builder common for all grammars
- * 
+ * Basic SELECT statement builder common for all grammars. <br>
+ * Statement is written in a single pass into one buffer, in the order in
+ * which parts of the statement are handled, so parts must be handled in their
+ * final order (as done by {@link com.mwronski.jsql.builder.SqlSelectTreeWalker}).
+ *
  * @date 05-07-2013
  * @author Michal Wronski
- * 
+ *
  */
 public abstract class SQLSelectBuilder implements SqlSelectBuilder {
 
-    protected final StringBuilder sqlColumns = new StringBuilder();
-    protected final StringBuilder sqlTables = new StringBuilder();
-    protected final StringBuilder sqlWhere = new StringBuilder();
-    protected final StringBuilder sqlOrderBy = new StringBuilder();
-    protected final StringBuilder sqlGroupBy = new StringBuilder();
-    protected final StringBuilder sqlJoins = new StringBuilder();
+    /**
+     * Buffer that statement is written into
+     */
+    protected final StringBuilder sql;
+    /**
+     * Position in buffer where statement starts
+     */
+    private final int start;
+    /**
+     * Flag indicates whether any element of currently written list was
+     * written
+     */
+    private boolean elementWritten = false;
     /**
      * Set SQL parameters in SELECT statement
      */
-    private final Map<Integer, Object> params = new HashMap<Integer, Object>();
+    private final SqlParams params;
+    /**
+     * Indexes of SQL parameters by their values if equal values are
+     * de-duplicated
+     */
+    private final Map<Object, Integer> paramIndexes;
+    /**
+     * Strategy resolving names of tables and columns
+     */
+    protected final NamingStrategy namingStrategy;
+    /**
+     * Options of rendering statement
+     */
+    protected final GrammarOptions options;
+    /**
+     * Parameters which conditions are treated as null
+     */
+    private Set<Parameter<?>> omittedParameters = Collections.emptySet();
+    /**
+     * Class that selected columns are mapped into
+     */
+    private Class<?> resultClass;
+    /**
+     * Flag indicates whether total number of rows is selected
+     */
+    private boolean totalCount = false;
+    /**
+     * Column which distinct values are counted
+     */
+    private Variable countDistinct;
+
+    protected SQLSelectBuilder(final NamingStrategy namingStrategy) {
+        this(namingStrategy, GrammarOptions.DEFAULT, new StringBuilder(), new SqlParams());
+    }
+
+    /**
+     * Create builder of subquery appending statement into buffer of outer
+     * builder. Parameters are shared with outer builder.
+     *
+     * @param outer
+     *            builder of outer statement
+     */
+    protected SQLSelectBuilder(final SQLSelectBuilder outer) {
+        this.namingStrategy = outer.namingStrategy;
+        this.options = outer.options;
+        this.paramIndexes = outer.paramIndexes;
+        this.sql = outer.sql;
+        this.start = sql.length();
+        this.params = outer.params;
+        this.omittedParameters = outer.omittedParameters;
+    }
+
     /**
-     * Index of current SQL parameter
+     * Create builder writing statement into given buffer
+     *
+     * @param namingStrategy
+     * @param options
+     *            options of rendering statement
+     * @param sql
+     *            buffer that statement is appended to
+     * @param params
+     *            empty vector that SQL parameters are added to
      */
-    private int paramIndex = 1;
+    protected SQLSelectBuilder(final NamingStrategy namingStrategy, final GrammarOptions options,
+            final StringBuilder sql, final SqlParams params) {
+        this.namingStrategy = namingStrategy;
+        this.options = options;
+        this.paramIndexes = options.isDeduplicateParameters() ? new HashMap<Object, Integer>() : null;
+        this.sql = sql;
+        this.start = sql.length();
+        this.params = params;
+    }
 
     @Override
     public String asSQL() {
-        StringBuilder select = new StringBuilder();
-        select.append(Nouns.SELECT).append(Nouns.SPACE).append(sqlColumns);
-        select.append(Nouns.SPACE);
-        select.append(Nouns.FROM).append(Nouns.SPACE).append(sqlTables);
-        select.append(sqlJoins);
-        if (sqlWhere.length() > 0) {
-            select.append(Nouns.SPACE);
-            select.append(Nouns.WHERE).append(Nouns.SPACE).append(sqlWhere);
-        }
-        if (sqlGroupBy.length() > 0) {
-            select.append(Nouns.SPACE);
-            select.append(Nouns.GROUP_BY).append(Nouns.SPACE).append(sqlGroupBy);
-        }
-        if (sqlOrderBy.length() > 0) {
-            select.append(Nouns.SPACE);
-            select.append(Nouns.ORDER_BY).append(Nouns.SPACE).append(sqlOrderBy);
-        }
-        return select.toString();
+        return sql.substring(start);
     }
 
     @Override
-    public final Map<Integer, Object> getSQLParams() {
+    public final SqlParams getSQLParams() {
         return params;
     }
 
+    @Override
+    public final void omitParameters(final Collection<Parameter<?>> parameters) {
+        omittedParameters = new HashSet<Parameter<?>>(parameters);
+    }
+
+    @Override
+    public final void handleProjection(final Class<?> resultClass) {
+        this.resultClass = resultClass;
+    }
+
+    @Override
+    public final void handleTotalCount(final boolean totalCount) {
+        this.totalCount = totalCount;
+    }
+
+    @Override
+    public final void handleCountDistinct(final Variable column) {
+        this.countDistinct = column;
+    }
+
     @Override
     public final void handleSelect(List<Table> tables, final List<Variable> selectColumns, final boolean distinct,
             final boolean count) {
+        sql.append(Nouns.SELECT).append(Nouns.SPACE);
+        boolean selectAll = selectColumns.isEmpty() && !count;
+        if (distinct && ((selectAll && !tables.isEmpty()) || !selectColumns.isEmpty())) {
+            sql.append(Nouns.DISTINCT).append(Nouns.SPACE);
+        }
+        if (resultClass != null) {
+            if (selectColumns.isEmpty() || count) {
+                throw new IllegalStateException("Only selected columns can be mapped into " + resultClass.getName());
+            }
+            appendProjectionStart(resultClass);
+        }
+        startList();
         // append all columns from tables
-        if (selectColumns.isEmpty() && !count) {
+        if (selectAll) {
             // select all without count
             for (Table table : tables) {
-                appendSelectAllFromTable(sqlColumns, table);
+                appendSelectAllFromTable(table);
             }
         }
         // append columns
         for (Variable column : selectColumns) {
-            appendElementBreak(sqlColumns);
-            sqlColumns.append(getVariableName(column));
+            appendElementBreak();
+            appendVariableName(column);
+        }
+        // append count
+        if (count && countDistinct != null) {
+            appendElementBreak();
+            sql.append(Nouns.COUNT).append(Nouns.LEFT_BRACKET).append(Nouns.DISTINCT).append(Nouns.SPACE);
+            appendVariableName(countDistinct);
+            sql.append(Nouns.RIGHT_BRACKET);
+        } else if (count) {
+            appendElementBreak();
+            sql.append(Nouns.COUNT_ALL);
         }
-        // append distinct and count
-        if (distinct && sqlColumns.length() > 0) {
-            sqlColumns.insert(0, Nouns.DISTINCT.toString() + Nouns.SPACE);
+        if (resultClass != null) {
+            appendProjectionEnd(resultClass);
         }
-        if (count) {
-            appendElementBreak(sqlColumns);
-            sqlColumns.append(Nouns.COUNT_ALL);
+        if (totalCount) {
+            appendElementBreak();
+            appendTotalCount();
         }
     }
 
+    /**
+     * Append column with total number of rows of the statement
+     *
+     * @throws UnsupportedOperationException
+     *             if grammar can't count rows in the same statement
+     * @see SqlSelectBuilder#TOTAL_COUNT_COLUMN
+     */
+    protected void appendTotalCount() {
+        throw new UnsupportedOperationException("Total number of rows can't be selected with rows in "
+                + getClass().getSimpleName());
+    }
+
+    /**
+     * Append start of mapping selected columns into result objects. Rows of
+     * native statements are mapped after query is executed, so nothing is
+     * appended by default.
+     *
+     * @param resultClass
+     */
+    protected void appendProjectionStart(final Class<?> resultClass) {
+        // rows are mapped by com.mwronski.jsql.model.dql.Projection
+    }
+
+    /**
+     * Append end of mapping selected columns into result objects
+     *
+     * @param resultClass
+     */
+    protected void appendProjectionEnd(final Class<?> resultClass) {
+        // rows are mapped by com.mwronski.jsql.model.dql.Projection
+    }
+
+    /**
+     * Append name of the variable
+     *
+     * @param var
+     */
+    protected void appendVariableName(final Variable var) {
+        GrammarUtil.appendVariableName(sql, var, namingStrategy.getColumnName(var), null);
+    }
+
     /**
      * Get name of the variable
-     * 
+     *
      * @param var
      * @return
      */
     protected String getVariableName(Variable var) {
-        return GrammarUtil.getVariableName(var, false, false);
+        return GrammarUtil.getVariableName(var, namingStrategy.getColumnName(var), null);
     }
 
     @Override
-    public final void handleFrom(final List<Table> tables) {
+    public void handleFrom(final List<Table> tables) {
+        sql.append(Nouns.SPACE).append(Nouns.FROM).append(Nouns.SPACE);
+        startList();
         for (Table table : tables) {
             // append table name
-            appendElementBreak(sqlTables);
-            sqlTables.append(getTableDefinitionName(table));
+            appendElementBreak();
+            appendTableDefinitionName(table);
         }
     }
 
     /**
      * Append select all from table SQL clause
-     * 
-     * @param sql
+     *
      * @param table
      *            from which all columns will be taken
      */
-    protected void appendSelectAllFromTable(final StringBuilder sql, final Table table) {
-        appendElementBreak(sql);
+    protected void appendSelectAllFromTable(final Table table) {
+        appendElementBreak();
         sql.append(getTableName(table)).append(Nouns.DOT).append(Nouns.ALL);
     }
 
     /**
-     * Get name of table definition that can be used in FROM or JOIN clause
-     * 
+     * Append name of table definition that can be used in FROM or JOIN clause
+     *
      * @param table
-     * @return
      */
-    protected String getTableDefinitionName(Table table) {
-        return GrammarUtil.getTableDefinitionName(table);
+    protected void appendTableDefinitionName(Table table) {
+        GrammarUtil.appendTableDefinitionName(sql, table, namingStrategy.getTableName(table));
     }
 
     /**
      * Get name of the table
-     * 
+     *
      * @param table
      * @return
      */
@@ -142,67 +296,118 @@ public abstract class SQLSelectBuilder implements SqlSelectBuilder {
         if (table.getAlias() != null) {
             return table.getAlias();
         }
-        return GrammarUtil.getTableName(table);
+        return namingStrategy.getTableName(table);
     }
 
     /**
-     * Append break between elements
-     * 
-     * @param string
+     * Start writing new list of elements
      */
-    protected final void appendElementBreak(final StringBuilder string) {
-        if (string.length() > 0) {
-            string.append(Nouns.COMMA).append(Nouns.SPACE);
+    protected final void startList() {
+        elementWritten = false;
+    }
+
+    /**
+     * Append break between elements of currently written list
+     */
+    protected final void appendElementBreak() {
+        if (elementWritten) {
+            sql.append(Nouns.COMMA).append(Nouns.SPACE);
         }
+        elementWritten = true;
     }
 
     @Override
     public void handleJoin(final Table joinedTable, JoinStatement.Direction direction, JoinStatement.Type type,
             ExpressionChain onCondition) {
         if (direction != JoinStatement.Direction.NONE) {
-            sqlJoins.append(Nouns.SPACE).append(direction);
+            sql.append(Nouns.SPACE).append(direction);
         }
         if (type != JoinStatement.Type.NONE) {
-            sqlJoins.append(Nouns.SPACE).append(type);
+            sql.append(Nouns.SPACE).append(type);
         }
-        sqlJoins.append(Nouns.SPACE).append(Nouns.JOIN);
-        sqlJoins.append(Nouns.SPACE).append(getTableDefinitionName(joinedTable));
-        sqlJoins.append(Nouns.SPACE).append(Nouns.ON);
-        appendConditions(sqlJoins, onCondition);
+        sql.append(Nouns.SPACE).append(Nouns.JOIN).append(Nouns.SPACE);
+        appendTableDefinitionName(joinedTable);
+        sql.append(Nouns.SPACE).append(Nouns.ON).append(Nouns.SPACE);
+        appendConditions(onCondition);
     }
 
     @Override
-    public final void handleWhere(final ExpressionChain where) {
-        appendConditions(sqlWhere, where);
+    public void handleWhere(final ExpressionChain where) {
+        if (where != null && hasConditions(where)) {
+            sql.append(Nouns.SPACE).append(Nouns.WHERE).append(Nouns.SPACE);
+            appendConditions(where);
+        }
+    }
+
+    /**
+     * Check whether any condition of chain will be written
+     *
+     * @param condition
+     * @return false if all conditions are omitted, true otherwise
+     */
+    protected final boolean hasConditions(final ExpressionChain condition) {
+        for (Expression token : condition.getConditions().keySet()) {
+            if (!isNull(token) || !token.isNullOmittable()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check whether expression is evaluated as NULL
+     *
+     * @param expression
+     * @return true if expression is null or depends only on omitted parameters
+     * @see #omitParameters(Collection)
+     */
+    protected final boolean isNull(final Expression expression) {
+        if (omittedParameters.isEmpty()) {
+            return expression.isNull();
+        } else if (expression instanceof ExpressionChain) {
+            for (Expression child : ((ExpressionChain) expression).getConditions().keySet()) {
+                if (!isNull(child)) {
+                    return false;
+                }
+            }
+            return true;
+        } else if (expression instanceof Relation) {
+            Relation relation = (Relation) expression;
+            return relation.isNull() || omittedParameters.contains(relation.getValue());
+        } else if (expression instanceof InExpression) {
+            InExpression inExpression = (InExpression) expression;
+            return inExpression.isNull() || omittedParameters.contains(inExpression.getParameter());
+        }
+        return expression.isNull();
     }
 
     /**
-     * Append conditions into given SQL condition
-     * 
-     * @param sqlCondition
+     * Append conditions into statement
+     *
      * @param condition
      */
-    protected final void appendConditions(final StringBuilder sqlCondition, final ExpressionChain condition) {
+    protected final void appendConditions(final ExpressionChain condition) {
         boolean first = true;
         for (Map.Entry<Expression, ExpressionChain.Type> entry : condition.getConditions().entrySet()) {
             Expression token = entry.getKey();
-            if (token.isNull() && token.isNullOmittable()) {
+            if (isNull(token) && token.isNullOmittable()) {
                 continue;
             }
-            if (sqlCondition.length() > 0) {
-                sqlCondition.append(Nouns.SPACE);
-            }
             if (!first) {
-                sqlCondition.append(entry.getValue()).append(Nouns.SPACE);
+                sql.append(Nouns.SPACE).append(entry.getValue()).append(Nouns.SPACE);
             }
             if (token instanceof ExpressionChain) {
-                StringBuilder subCondition = new StringBuilder();
-                appendConditions(subCondition, (ExpressionChain) token);
-                sqlCondition.append(Nouns.LEFT_BRACKET).append(subCondition).append(Nouns.RIGHT_BRACKET);
+                sql.append(Nouns.LEFT_BRACKET);
+                appendConditions((ExpressionChain) token);
+                sql.append(Nouns.RIGHT_BRACKET);
             } else if (token instanceof Relation) {
-                appendRelation(sqlCondition, (Relation) token);
+                appendRelation((Relation) token);
             } else if (token instanceof InExpression) {
-                appendInExpression(sqlCondition, (InExpression) token);
+                appendInExpression((InExpression) token);
+            } else if (token instanceof SeekExpression) {
+                appendSeekExpression((SeekExpression) token);
+            } else if (token instanceof SubqueryExpression) {
+                appendSubquery((SubqueryExpression) token);
             } else {
                 throw new UnsupportedOperationException("Unknown condition type: " + token.getClass());
             }
@@ -212,97 +417,251 @@ public abstract class SQLSelectBuilder implements SqlSelectBuilder {
     }
 
     /**
-     * Append condition with collection into given SQL condition
-     * 
-     * @param sqlCondition
+     * Append condition with nested statement into statement
+     *
+     * @param subquery
+     * @throws UnsupportedOperationException
+     *             if nested statement is limited or mapped into objects
+     */
+    private void appendSubquery(final SubqueryExpression subquery) {
+        SelectStatement statement = subquery.getStatement();
+        if (statement.getLimit() != null || statement.getOffset() != null || statement.getProjection() != null) {
+            throw new UnsupportedOperationException("Subquery can't have LIMIT, OFFSET or projection");
+        }
+        switch (subquery.getType()) {
+        case EXISTS:
+            sql.append(Nouns.EXISTS);
+            break;
+        case NOT_EXISTS:
+            sql.append(Nouns.NOT_EXISTS);
+            break;
+        case IN:
+            appendVariableName(subquery.getVar());
+            sql.append(Nouns.SPACE).append(Nouns.IN);
+            break;
+        case NOT_IN:
+            appendVariableName(subquery.getVar());
+            sql.append(Nouns.SPACE).append(Nouns.NOT_IN);
+            break;
+        default:
+            throw new UnsupportedOperationException("Unknown type of subquery: " + subquery.getType());
+        }
+        sql.append(Nouns.SPACE).append(Nouns.LEFT_BRACKET);
+        new SqlSelectTreeWalker().walk(statement, createSubqueryBuilder());
+        sql.append(Nouns.RIGHT_BRACKET);
+    }
+
+    /**
+     * Create builder of statement nested in conditions
+     *
+     * @return builder sharing buffer and parameters with this builder
+     * @see #SQLSelectBuilder(SQLSelectBuilder)
+     */
+    protected abstract SQLSelectBuilder createSubqueryBuilder();
+
+    /**
+     * Append condition of seeking rows after key into statement. Condition is
+     * expanded into alternatives, so it's supported by every grammar and
+     * directions of columns can be mixed: <br>
+     * <code>(a&gt;?1 OR (a=?1 AND b&lt;?2))</code>
+     *
+     * @param seek
+     */
+    protected void appendSeekExpression(final SeekExpression seek) {
+        List<Variable> vars = seek.getVars();
+        if (vars.size() > 1) {
+            sql.append(Nouns.LEFT_BRACKET);
+        }
+        for (int i = 0; i < vars.size(); i++) {
+            if (i > 0) {
+                sql.append(Nouns.SPACE).append(ExpressionChain.Type.OR).append(Nouns.SPACE);
+                sql.append(Nouns.LEFT_BRACKET);
+            }
+            for (int j = 0; j < i; j++) {
+                appendVariableName(vars.get(j));
+                sql.append(Nouns.EQUALS).append(Nouns.PARAM).append(addParameter(seek.getValues().get(j)));
+                sql.append(Nouns.SPACE).append(ExpressionChain.Type.AND).append(Nouns.SPACE);
+            }
+            appendVariableName(vars.get(i));
+            sql.append(seek.isDescending(i) ? Nouns.LESS : Nouns.GREATER);
+            sql.append(Nouns.PARAM).append(addParameter(seek.getValues().get(i)));
+            if (i > 0) {
+                sql.append(Nouns.RIGHT_BRACKET);
+            }
+        }
+        if (vars.size() > 1) {
+            sql.append(Nouns.RIGHT_BRACKET);
+        }
+    }
+
+    /**
+     * Add parameters of seek condition in the order they are appended into
+     * statement
+     *
+     * @param seek
+     * @see #appendSeekExpression(SeekExpression)
+     */
+    protected void bindSeekExpression(final SeekExpression seek) {
+        for (int i = 0; i < seek.getValues().size(); i++) {
+            for (int j = 0; j <= i; j++) {
+                addParameter(seek.getValues().get(j));
+            }
+        }
+    }
+
+    /**
+     * Append condition with collection into statement
+     *
      * @param inExpression
      */
-    private void appendInExpression(final StringBuilder sqlCondition, final InExpression inExpression) {
-        sqlCondition.append(getVariableName(inExpression.getVar()));
-        sqlCondition.append(Nouns.SPACE);
+    private void appendInExpression(final InExpression inExpression) {
+        appendVariableName(inExpression.getVar());
+        sql.append(Nouns.SPACE);
         if (inExpression.getValues() != null) {
-            sqlCondition.append(inExpression.getType());
-            sqlCondition.append(Nouns.SPACE);
-            sqlCondition.append(Nouns.LEFT_BRACKET);
-            int paramIndex = getUniqueParamIndex();
-            params.put(paramIndex, inExpression.getValues());
-            sqlCondition.append(Nouns.PARAM).append(paramIndex);
-            sqlCondition.append(Nouns.RIGHT_BRACKET);
+            appendCollection(inExpression);
         } else {
             switch (inExpression.getType()) {
             case IN:
-                sqlCondition.append(Nouns.IS_NULL);
+                sql.append(Nouns.IS_NULL);
                 break;
             case NOT_IN:
-                sqlCondition.append(Nouns.IS_NOT_NULL);
+                sql.append(Nouns.IS_NOT_NULL);
             }
         }
     }
 
     /**
-     * Append relation into given SQL condition
-     * 
-     * @param sqlCondition
+     * Append operator and collection of IN expression that has values into
+     * statement
+     *
+     * @param inExpression
+     */
+    protected void appendCollection(final InExpression inExpression) {
+        sql.append(inExpression.getType() == CollectionType.IN ? Nouns.IN : Nouns.NOT_IN);
+        sql.append(Nouns.SPACE);
+        sql.append(Nouns.LEFT_BRACKET);
+        sql.append(Nouns.PARAM).append(addParameter(getCollectionParameterValue(inExpression)));
+        sql.append(Nouns.RIGHT_BRACKET);
+    }
+
+    /**
+     * Get value of IN expression bound as SQL parameter
+     *
+     * @param inExpression
+     * @return
+     */
+    protected Object getCollectionParameterValue(final InExpression inExpression) {
+        return options.padInList(inExpression.getParameterValue());
+    }
+
+    /**
+     * Append relation into statement
+     *
      * @param relation
      */
-    private void appendRelation(final StringBuilder sqlCondition, final Relation relation) {
+    private void appendRelation(final Relation relation) {
         if (relation.shouldBeOmitted()) {
             // skip token
             return;
         }
-        appendVariable(sqlCondition, relation.getVar(), relation.isCaseInsensitive());
+        appendVariable(relation.getVar(), relation.isCaseInsensitive());
         // relation mark
-        appendRelationMark(sqlCondition, relation.getType(), relation.getValue() != null
-                || relation.getVarValue() != null);
+        appendRelationMark(relation.getType(), relation.getValue() != null || relation.getVarValue() != null);
         // right side
         if (relation.hasVarValue()) {
-            appendVariable(sqlCondition, relation.getVarValue(), relation.isCaseInsensitive());
+            appendVariable(relation.getVarValue(), relation.isCaseInsensitive());
         } else if (relation.getValue() != null) {
-            appendValue(sqlCondition, relation.getValue(), relation.isCaseInsensitive());
+            appendValue(relation);
         }
     }
 
     /**
-     * Append value into given SQL statement
-     * 
-     * @param sql
+     * Append value of relation into statement
+     *
+     * @param relation
+     */
+    private void appendValue(final Relation relation) {
+        sql.append(Nouns.PARAM).append(addParameter(relation.getParameterValue()));
+    }
+
+    /**
+     * Add SQL parameter that never shares index with equal values
+     *
      * @param value
-     * @param caseInsensitive
+     * @return index of parameter in statement
      */
-    private void appendValue(final StringBuilder sql, final Object value, final boolean caseInsensitive) {
-        int paramIndex = getUniqueParamIndex();
-        if (caseInsensitive) {
-            params.put(paramIndex, value.toString().toLowerCase());
-        } else {
-            params.put(paramIndex, value);
+    protected final int addSeparateParameter(final Object value) {
+        return params.add(value);
+    }
+
+    /**
+     * Add SQL parameter
+     *
+     * @param value
+     * @return index of parameter in statement, index of equal value added
+     *         before if parameters are de-duplicated
+     */
+    protected final int addParameter(final Object value) {
+        if (paramIndexes == null) {
+            return params.add(value);
+        }
+        Integer index = paramIndexes.get(value);
+        if (index == null) {
+            index = params.add(value);
+            paramIndexes.put(value, index);
         }
-        sql.append(Nouns.PARAM).append(paramIndex);
+        return index;
+    }
+
+    @Override
+    public void handleLimit(final Integer limit, final Integer offset) {
+        // limits are applied to queries of grammars without native support
+    }
+
+    @Override
+    public void bindLimit(final Integer limit, final Integer offset) {
+        // limits are applied to queries of grammars without native support
+    }
+
+    @Override
+    public final SqlParams bindParameters(final List<Expression> parameterSources) {
+        for (Expression source : parameterSources) {
+            if (source instanceof Relation) {
+                addParameter(((Relation) source).getParameterValue());
+            } else if (source instanceof InExpression) {
+                addParameter(getCollectionParameterValue((InExpression) source));
+            } else if (source instanceof SeekExpression) {
+                bindSeekExpression((SeekExpression) source);
+            } else {
+                throw new UnsupportedOperationException("Unknown parameter source: " + source.getClass());
+            }
+        }
+        return params;
     }
 
     /**
-     * Append variable into given SQL statement
-     * 
-     * @param sql
+     * Append variable into statement
+     *
      * @param var
      * @param caseInsensitive
      */
-    private void appendVariable(final StringBuilder sql, final Variable var, final boolean caseInsensitive) {
+    private void appendVariable(final Variable var, final boolean caseInsensitive) {
         if (caseInsensitive) {
             sql.append(toLowerString(getVariableName(var)));
         } else {
-            sql.append(getVariableName(var));
+            appendVariableName(var);
         }
     }
 
     /**
      * Wrap string with function that will change string to lower case string
-     * 
+     *
      * @param string
      * @return
      */
     protected abstract String toLowerString(final String string);
 
-    private void appendRelationMark(final StringBuilder sql, final RelationType type, final boolean valueNotNull) {
+    private void appendRelationMark(final RelationType type, final boolean valueNotNull) {
         switch (type) {
         case EQ:
             if (valueNotNull) {
@@ -338,38 +697,39 @@ public abstract class SQLSelectBuilder implements SqlSelectBuilder {
         }
     }
 
-    /**
-     * Generates index for query parameter. Incremented number indexes are used.
-     * 
-     * @return
-     */
-    private int getUniqueParamIndex() {
-        return paramIndex++;
-    }
-
     /**
      * Get wild-card for regular expressions
-     * 
+     *
      * @return
      */
     protected abstract String getRegExpWildcardMark();
 
     @Override
     public final void handleOrderBy(Map<Variable, Boolean> variables) {
+        if (variables.isEmpty()) {
+            return;
+        }
+        sql.append(Nouns.SPACE).append(Nouns.ORDER_BY).append(Nouns.SPACE);
+        startList();
         for (Map.Entry<Variable, Boolean> var : variables.entrySet()) {
-            appendElementBreak(sqlOrderBy);
-            sqlOrderBy.append(getVariableName(var.getKey()));
+            appendElementBreak();
+            appendVariableName(var.getKey());
             if (var.getValue().equals(SelectStatement.DESC)) {
-                sqlOrderBy.append(Nouns.SPACE).append(Nouns.DESC);
+                sql.append(Nouns.SPACE).append(Nouns.DESC);
             }
         }
     }
 
     @Override
     public final void handleGroupBy(final List<Variable> variables) {
+        if (variables.isEmpty()) {
+            return;
+        }
+        sql.append(Nouns.SPACE).append(Nouns.GROUP_BY).append(Nouns.SPACE);
+        startList();
         for (Variable var : variables) {
-            appendElementBreak(sqlGroupBy);
-            sqlGroupBy.append(getVariableName(var));
+            appendElementBreak();
+            appendVariableName(var);
         }
     }
 
@@ -1,7 +1,11 @@
 package com.mwronski.jsql.grammar.jpql;
 
+import com.mwronski.jsql.builder.SqlParams;
 import com.mwronski.jsql.builder.SqlSelectBuilder;
+import com.mwronski.jsql.grammar.GrammarOptions;
+import com.mwronski.jsql.grammar.NamingStrategy;
 import com.mwronski.jsql.grammar.SqlGrammar;
+import com.mwronski.jsql.grammar.common.AnnotationNamingStrategy;
 
 /**
  * Grammar for JP-QL statements.
@@ -12,9 +16,54 @@ import com.mwronski.jsql.grammar.SqlGrammar;
  */
 public final class JPQL implements SqlGrammar {
 
+    private final NamingStrategy namingStrategy;
+    private final GrammarOptions options;
+
+    /**
+     * Create grammar with names resolved from annotations of entities
+     * 
+     * @see AnnotationNamingStrategy
+     */
+    public JPQL() {
+        this(AnnotationNamingStrategy.INSTANCE);
+    }
+
+    /**
+     * Create grammar
+     * 
+     * @param namingStrategy
+     *            strategy resolving names of tables and columns
+     */
+    public JPQL(final NamingStrategy namingStrategy) {
+        this(namingStrategy, GrammarOptions.DEFAULT);
+    }
+
+    /**
+     * Create grammar
+     * 
+     * @param namingStrategy
+     *            strategy resolving names of tables and columns
+     * @param options
+     *            options of rendering statements
+     */
+    public JPQL(final NamingStrategy namingStrategy, final GrammarOptions options) {
+        this.namingStrategy = namingStrategy;
+        this.options = options;
+    }
+
     @Override
     public SqlSelectBuilder selectBuilder() {
-        return new JPQLSelectBuilder();
+        return selectBuilder(new StringBuilder(), new SqlParams());
+    }
+
+    @Override
+    public SqlSelectBuilder selectBuilder(final StringBuilder sql) {
+        return selectBuilder(sql, new SqlParams());
+    }
+
+    @Override
+    public SqlSelectBuilder selectBuilder(final StringBuilder sql, final SqlParams params) {
+        return new JPQLSelectBuilder(namingStrategy, options, sql, params);
     }
 
     @Override
@@ -22,4 +71,28 @@ public final class JPQL implements SqlGrammar {
         return false;
     }
 
+    @Override
+    public NamingStrategy getNamingStrategy() {
+        return namingStrategy;
+    }
+
+    @Override
+    public GrammarOptions getOptions() {
+        return options;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (!(o instanceof JPQL)) {
+            return false;
+        }
+        JPQL other = (JPQL) o;
+        return namingStrategy.equals(other.namingStrategy) && options.equals(other.options);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * getClass().hashCode() + namingStrategy.hashCode()) + options.hashCode();
+    }
+
 }
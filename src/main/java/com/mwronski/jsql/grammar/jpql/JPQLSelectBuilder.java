@@ -1,18 +1,35 @@
 package com.mwronski.jsql.grammar.jpql;
 
+import com.mwronski.jsql.builder.SqlParams;
+import com.mwronski.jsql.grammar.GrammarOptions;
+import com.mwronski.jsql.grammar.NamingStrategy;
 import com.mwronski.jsql.grammar.common.GrammarUtil;
 import com.mwronski.jsql.grammar.common.Nouns;
 import com.mwronski.jsql.grammar.common.SQLSelectBuilder;
+import com.mwronski.jsql.model.EntityMetadata;
+import com.mwronski.jsql.model.Property;
 import com.mwronski.jsql.model.Table;
 import com.mwronski.jsql.model.Variable;
 import com.mwronski.jsql.model.dql.JoinStatement;
+import com.mwronski.jsql.model.expressions.Expression;
 import com.mwronski.jsql.model.expressions.ExpressionChain;
+import com.mwronski.jsql.model.expressions.Relation;
 
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
- * Select statement for JP-QL grammar
+ * Select statement for JP-QL grammar. <br>
+ * Entity joined on key of association of one of previously defined entities
+ * is joined by path of the association. Conditions of inner joins are moved
+ * into WHERE clause, conditions of outer joins are written in WITH clause.
+ * Other joins are emulated by adding entities into FROM clause, so besides
+ * inner joins only outer joins of the same entity by its identifier, which
+ * always join the row itself, are supported.
  * 
  * @date 05-07-2013
  * @author Michal Wronski
@@ -20,7 +37,30 @@ import java.util.List;
  */
 final class JPQLSelectBuilder extends SQLSelectBuilder {
 
-    private final StringBuilder sqlJoinConditions = new StringBuilder();
+    /**
+     * Conditions of inner joins written at the beginning of WHERE clause.
+     * Conditions are rendered when join is handled, so their parameters are
+     * numbered in order of joins like parameters of conditions in WITH clause.
+     */
+    private final List<String> joinConditions = new ArrayList<String>();
+    /**
+     * Tables defined in FROM clause and joins
+     */
+    private final List<Table> definedTables = new ArrayList<Table>();
+
+    JPQLSelectBuilder(final NamingStrategy namingStrategy, final GrammarOptions options, final StringBuilder sql,
+            final SqlParams params) {
+        super(namingStrategy, options, sql, params);
+    }
+
+    private JPQLSelectBuilder(final JPQLSelectBuilder outer) {
+        super(outer);
+    }
+
+    @Override
+    protected SQLSelectBuilder createSubqueryBuilder() {
+        return new JPQLSelectBuilder(this);
+    }
 
     @Override
     protected String toLowerString(String string) {
@@ -32,52 +72,294 @@ final class JPQLSelectBuilder extends SQLSelectBuilder {
         return " LIKE ";
     }
 
+    @Override
+    protected void appendVariableName(final Variable var) {
+        GrammarUtil.appendVariableName(sql, var, namingStrategy.getPropertyName(var),
+                namingStrategy.getEntityName(var.getTable()));
+    }
+
     @Override
     protected String getVariableName(Variable var) {
-        return GrammarUtil.getVariableName(var, true, true);
+        return GrammarUtil.getVariableName(var, namingStrategy.getPropertyName(var),
+                namingStrategy.getEntityName(var.getTable()));
     }
 
     @Override
-    protected String getTableDefinitionName(Table table) {
+    protected void appendTableDefinitionName(Table table) {
+        String entityName = namingStrategy.getEntityName(table);
         if (table.getAlias() != null) {
-            return super.getTableDefinitionName(table);
+            GrammarUtil.appendTableDefinitionName(sql, table, entityName);
+        } else {
+            sql.append(entityName).append(Nouns.SPACE).append(entityName);
         }
-        return GrammarUtil.getTableName(table) + Nouns.SPACE + GrammarUtil.getTableName(table);
     }
 
     @Override
     protected String getTableName(Table table) {
-        return table.getAlias() != null ? super.getTableName(table) : GrammarUtil.getTableName(table);
+        return table.getAlias() != null ? table.getAlias() : namingStrategy.getEntityName(table);
+    }
+
+    @Override
+    protected void appendProjectionStart(final Class<?> resultClass) {
+        sql.append(Nouns.NEW).append(Nouns.SPACE).append(resultClass.getName()).append(Nouns.LEFT_BRACKET);
     }
 
-    protected void appendSelectAllFromTable(final StringBuilder sql, final Table table) {
-        appendElementBreak(sql);
+    @Override
+    protected void appendProjectionEnd(final Class<?> resultClass) {
+        sql.append(Nouns.RIGHT_BRACKET);
+    }
+
+    @Override
+    protected void appendSelectAllFromTable(final Table table) {
+        appendElementBreak();
         sql.append(getTableName(table));
     }
 
     @Override
-    public String asSQL() {
-        if (sqlJoinConditions.length() > 0) {
-            // attach conditions from JOINs into WHERE
-            StringBuilder joinWhereCondition = new StringBuilder();
-            joinWhereCondition.append(Nouns.LEFT_BRACKET).append(sqlJoinConditions).append(Nouns.RIGHT_BRACKET);
-            if (sqlWhere.length() > 0) {
-                joinWhereCondition.append(Nouns.SPACE).append(Nouns.AND).append(Nouns.SPACE);
-            }
-            sqlWhere.insert(0, joinWhereCondition);
-        }
-        return super.asSQL();
+    public void handleFrom(final List<Table> tables) {
+        super.handleFrom(tables);
+        definedTables.addAll(tables);
     }
 
     @Override
     public void handleJoin(final Table joinedTable, JoinStatement.Direction direction, JoinStatement.Type type,
             ExpressionChain onCondition) {
-        // emulate join statement
-        // TODO change to real join when model and parser is changed
-        List<Table> joinedTables = new ArrayList<Table>();
-        joinedTables.add(joinedTable);
-        handleFrom(joinedTables);
-        appendConditions(sqlJoinConditions, onCondition);
+        Variable association = findAssociation(joinedTable);
+        Relation key = association != null ? findAssociationKey(association, joinedTable, onCondition) : null;
+        if (key == null) {
+            if (direction != JoinStatement.Direction.NONE && !isJoinOfItself(joinedTable, onCondition)) {
+                throw new UnsupportedOperationException("Outer join in JP-QL requires condition on key of single "
+                        + "association to joined entity: " + joinedTable.getTableClass().getName());
+            }
+            // emulate join of entities without association
+            appendElementBreak();
+            appendTableDefinitionName(joinedTable);
+            deferConditions(onCondition);
+        } else {
+            if (direction != JoinStatement.Direction.NONE) {
+                sql.append(Nouns.SPACE).append(direction);
+            }
+            if (type != JoinStatement.Type.NONE) {
+                sql.append(Nouns.SPACE).append(type);
+            }
+            sql.append(Nouns.SPACE).append(Nouns.JOIN).append(Nouns.SPACE);
+            appendVariableName(association);
+            sql.append(Nouns.SPACE).append(getTableName(joinedTable));
+            // key of association is implied by its path
+            ExpressionChain conditions = without(onCondition, key);
+            if (direction == JoinStatement.Direction.NONE) {
+                deferConditions(conditions);
+            } else if (hasConditions(conditions)) {
+                sql.append(Nouns.SPACE).append(Nouns.WITH).append(Nouns.SPACE);
+                appendConditions(conditions);
+            }
+        }
+        definedTables.add(joinedTable);
+    }
+
+    /**
+     * Render conditions of join that are written in WHERE clause
+     * 
+     * @param onCondition
+     */
+    private void deferConditions(final ExpressionChain onCondition) {
+        if (!hasConditions(onCondition)) {
+            return;
+        }
+        int start = sql.length();
+        appendConditions(onCondition);
+        joinConditions.add(sql.substring(start));
+        sql.setLength(start);
+    }
+
+    /**
+     * Find association of defined entities to joined entity
+     * 
+     * @param joinedTable
+     * @return variable of association or null if there's no association or
+     *         more than one association
+     */
+    private Variable findAssociation(final Table joinedTable) {
+        Variable association = null;
+        for (Table table : definedTables) {
+            for (Property<?, ?> property : EntityMetadata.of(table.getTableClass()).getProperties()) {
+                if (isAssociation(property, joinedTable.getTableClass())) {
+                    if (association != null) {
+                        return null;
+                    }
+                    association = new Variable(table, property);
+                }
+            }
+        }
+        return association;
+    }
+
+    /**
+     * Find condition of join that compares foreign key of association with
+     * identifier of associated entity
+     * 
+     * @param association
+     * @param joinedTable
+     * @param onCondition
+     * @return relation or null if condition doesn't join entities by key of
+     *         association
+     */
+    private static Relation findAssociationKey(final Variable association, final Table joinedTable,
+            final ExpressionChain onCondition) {
+        if (!isConjunction(onCondition)) {
+            return null;
+        }
+        Table owner = association.getTable();
+        boolean collection = association.getProperty().getType() != joinedTable.getTableClass();
+        for (Expression expression : onCondition.getConditions().keySet()) {
+            if (!isEquality(expression)) {
+                continue;
+            }
+            Relation relation = (Relation) expression;
+            for (Variable[] vars : new Variable[][] { { relation.getVar(), relation.getVarValue() },
+                    { relation.getVarValue(), relation.getVar() } }) {
+                Variable foreignKey = vars[0];
+                Variable id = vars[1];
+                boolean matches = collection ? isTable(foreignKey, joinedTable) && isTable(id, owner)
+                        : isTable(foreignKey, owner) && isTable(id, joinedTable)
+                                && foreignKey.getProperty().getName().equals(association.getProperty().getName());
+                if (matches && foreignKey.getProperty().getType() == id.getTable().getTableClass() && isId(id)) {
+                    return relation;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Check whether outer join joins the same entity by its identifier and
+     * nothing else, so each row is joined with itself like in inner join
+     * 
+     * @param joinedTable
+     * @param onCondition
+     * @return
+     */
+    private boolean isJoinOfItself(final Table joinedTable, final ExpressionChain onCondition) {
+        Relation relation = null;
+        for (Expression expression : onCondition.getConditions().keySet()) {
+            if (isNull(expression) && expression.isNullOmittable()) {
+                continue;
+            } else if (relation != null || !isEquality(expression)) {
+                return false;
+            }
+            relation = (Relation) expression;
+        }
+        if (relation == null || !isId(relation.getVar()) || !isId(relation.getVarValue())
+                || relation.getVar().getTable().getTableClass() != joinedTable.getTableClass()
+                || relation.getVarValue().getTable().getTableClass() != joinedTable.getTableClass()) {
+            return false;
+        }
+        return isTable(relation.getVar(), joinedTable) != isTable(relation.getVarValue(), joinedTable);
+    }
+
+    /**
+     * Check whether expression compares two variables for equality
+     * 
+     * @param expression
+     * @return
+     */
+    private static boolean isEquality(final Expression expression) {
+        if (!(expression instanceof Relation)) {
+            return false;
+        }
+        Relation relation = (Relation) expression;
+        return relation.getType() == Relation.RelationType.EQ && relation.hasVarValue()
+                && !relation.isCaseInsensitive();
+    }
+
+    /**
+     * Check whether conditions of chain are joined only by AND
+     * 
+     * @param chain
+     * @return
+     */
+    private static boolean isConjunction(final ExpressionChain chain) {
+        boolean first = true;
+        for (ExpressionChain.Type connector : chain.getConditions().values()) {
+            // connector of first condition isn't written
+            if (!first && connector != ExpressionChain.Type.AND) {
+                return false;
+            }
+            first = false;
+        }
+        return true;
+    }
+
+    /**
+     * Get conditions of chain without given condition
+     * 
+     * @param chain
+     * @param removed
+     * @return
+     */
+    private static ExpressionChain without(final ExpressionChain chain, final Expression removed) {
+        ExpressionChain conditions = new ExpressionChain();
+        for (Map.Entry<Expression, ExpressionChain.Type> entry : chain.getConditions().entrySet()) {
+            if (entry.getKey() != removed) {
+                conditions.getConditions().put(entry.getKey(), entry.getValue());
+            }
+        }
+        return conditions;
+    }
+
+    private static boolean isTable(final Variable var, final Table table) {
+        Table other = var.getTable();
+        return other.getTableClass() == table.getTableClass()
+                && (other.getAlias() == null ? table.getAlias() == null : other.getAlias().equals(table.getAlias()));
+    }
+
+    private static boolean isId(final Variable var) {
+        Property<?, ?> id = EntityMetadata.of(var.getTable().getTableClass()).getIdProperty();
+        return id != null && id.getName().equals(var.getProperty().getName());
+    }
+
+    /**
+     * Check whether property is single-valued or collection-valued
+     * association to given entity
+     * 
+     * @param property
+     * @param entityClass
+     * @return
+     */
+    private static boolean isAssociation(final Property<?, ?> property, final Class<?> entityClass) {
+        if (property.getType() == entityClass) {
+            return true;
+        } else if (property.getGetter() == null || !Collection.class.isAssignableFrom(property.getType())) {
+            return false;
+        }
+        Type type = property.getGetter().getGenericReturnType();
+        return type instanceof ParameterizedType
+                && ((ParameterizedType) type).getActualTypeArguments()[0] == entityClass;
+    }
+
+    @Override
+    public void handleWhere(final ExpressionChain where) {
+        boolean first = true;
+        // attach conditions from JOINs into WHERE
+        for (String joinCondition : joinConditions) {
+            appendWhereBreak(first);
+            sql.append(Nouns.LEFT_BRACKET).append(joinCondition).append(Nouns.RIGHT_BRACKET);
+            first = false;
+        }
+        if (where != null && hasConditions(where)) {
+            appendWhereBreak(first);
+            appendConditions(where);
+        }
+    }
+
+    /**
+     * Append WHERE clause or break between conditions
+     * 
+     * @param first
+     *            flag indicates whether first condition is appended
+     */
+    private void appendWhereBreak(final boolean first) {
+        sql.append(Nouns.SPACE).append(first ? Nouns.WHERE : Nouns.AND).append(Nouns.SPACE);
     }
 
 }
@@ -1,7 +1,11 @@
 package com.mwronski.jsql.grammar.postgresql;
 
+import com.mwronski.jsql.builder.SqlParams;
 import com.mwronski.jsql.builder.SqlSelectBuilder;
+import com.mwronski.jsql.grammar.GrammarOptions;
+import com.mwronski.jsql.grammar.NamingStrategy;
 import com.mwronski.jsql.grammar.SqlGrammar;
+import com.mwronski.jsql.grammar.common.AnnotationNamingStrategy;
 
 /**
  * Grammar for PostgreSQL. <br>
@@ -13,9 +17,54 @@ import com.mwronski.jsql.grammar.SqlGrammar;
  */
 public final class PostgreSQL implements SqlGrammar {
 
+    private final NamingStrategy namingStrategy;
+    private final GrammarOptions options;
+
+    /**
+     * Create grammar with names resolved from annotations of entities
+     * 
+     * @see AnnotationNamingStrategy
+     */
+    public PostgreSQL() {
+        this(AnnotationNamingStrategy.INSTANCE);
+    }
+
+    /**
+     * Create grammar
+     * 
+     * @param namingStrategy
+     *            strategy resolving names of tables and columns
+     */
+    public PostgreSQL(final NamingStrategy namingStrategy) {
+        this(namingStrategy, GrammarOptions.DEFAULT);
+    }
+
+    /**
+     * Create grammar
+     * 
+     * @param namingStrategy
+     *            strategy resolving names of tables and columns
+     * @param options
+     *            options of rendering statements
+     */
+    public PostgreSQL(final NamingStrategy namingStrategy, final GrammarOptions options) {
+        this.namingStrategy = namingStrategy;
+        this.options = options;
+    }
+
     @Override
     public SqlSelectBuilder selectBuilder() {
-        return new PostgreSQLSelectBuilder();
+        return selectBuilder(new StringBuilder(), new SqlParams());
+    }
+
+    @Override
+    public SqlSelectBuilder selectBuilder(final StringBuilder sql) {
+        return selectBuilder(sql, new SqlParams());
+    }
+
+    @Override
+    public SqlSelectBuilder selectBuilder(final StringBuilder sql, final SqlParams params) {
+        return new PostgreSQLSelectBuilder(namingStrategy, options, sql, params);
     }
 
     @Override
@@ -23,4 +72,28 @@ public final class PostgreSQL implements SqlGrammar {
         return true;
     }
 
+    @Override
+    public NamingStrategy getNamingStrategy() {
+        return namingStrategy;
+    }
+
+    @Override
+    public GrammarOptions getOptions() {
+        return options;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (!(o instanceof PostgreSQL)) {
+            return false;
+        }
+        PostgreSQL other = (PostgreSQL) o;
+        return namingStrategy.equals(other.namingStrategy) && options.equals(other.options);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * getClass().hashCode() + namingStrategy.hashCode()) + options.hashCode();
+    }
+
 }
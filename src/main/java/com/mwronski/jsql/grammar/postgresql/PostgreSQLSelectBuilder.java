@@ -1,9 +1,25 @@
 package com.mwronski.jsql.grammar.postgresql;
 
+import com.mwronski.jsql.builder.SqlParams;
+import com.mwronski.jsql.grammar.GrammarOptions;
+import com.mwronski.jsql.grammar.NamingStrategy;
+import com.mwronski.jsql.grammar.common.Nouns;
 import com.mwronski.jsql.grammar.common.SQLSelectBuilder;
+import com.mwronski.jsql.model.Variable;
+import com.mwronski.jsql.model.expressions.InExpression;
+import com.mwronski.jsql.model.expressions.InExpression.CollectionType;
+import com.mwronski.jsql.model.expressions.SeekExpression;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Class builds SQL SELECT commands for PostgreSQL. <br>
+ * Large collections of IN expressions can be bound as single array (see
+ * {@link GrammarOptions#withArrayThreshold(int)}), so text of statement
+ * doesn't depend on number of values. <br>
  * Note: tested only on PostgreSQL 8.4
  * 
  * @date 02-04-2013
@@ -12,6 +28,36 @@ import com.mwronski.jsql.grammar.common.SQLSelectBuilder;
  */
 final class PostgreSQLSelectBuilder extends SQLSelectBuilder {
 
+    /**
+     * Types of arrays by classes of their elements
+     */
+    private static final Map<Class<?>, String> ARRAY_TYPES = new HashMap<Class<?>, String>();
+
+    static {
+        ARRAY_TYPES.put(Long.class, "bigint");
+        ARRAY_TYPES.put(Integer.class, "integer");
+        ARRAY_TYPES.put(Short.class, "smallint");
+        ARRAY_TYPES.put(Double.class, "float8");
+        ARRAY_TYPES.put(Float.class, "float4");
+        ARRAY_TYPES.put(BigDecimal.class, "numeric");
+        ARRAY_TYPES.put(Boolean.class, "boolean");
+        ARRAY_TYPES.put(String.class, "text");
+    }
+
+    PostgreSQLSelectBuilder(final NamingStrategy namingStrategy, final GrammarOptions options, final StringBuilder sql,
+            final SqlParams params) {
+        super(namingStrategy, options, sql, params);
+    }
+
+    private PostgreSQLSelectBuilder(final PostgreSQLSelectBuilder outer) {
+        super(outer);
+    }
+
+    @Override
+    protected SQLSelectBuilder createSubqueryBuilder() {
+        return new PostgreSQLSelectBuilder(this);
+    }
+
     @Override
     protected String toLowerString(String string) {
         return "lower(" + string + ")";
@@ -22,4 +68,140 @@ final class PostgreSQLSelectBuilder extends SQLSelectBuilder {
         return "~*";
     }
 
+    @Override
+    public void handleLimit(final Integer limit, final Integer offset) {
+        // values are bound as parameters, so statement doesn't depend on page
+        if (limit != null) {
+            sql.append(Nouns.SPACE).append(Nouns.LIMIT).append(Nouns.SPACE);
+            sql.append(Nouns.PARAM).append(addSeparateParameter(limit));
+        }
+        if (offset != null) {
+            sql.append(Nouns.SPACE).append(Nouns.OFFSET).append(Nouns.SPACE);
+            sql.append(Nouns.PARAM).append(addSeparateParameter(offset));
+        }
+    }
+
+    @Override
+    public void bindLimit(final Integer limit, final Integer offset) {
+        if (limit != null) {
+            addSeparateParameter(limit);
+        }
+        if (offset != null) {
+            addSeparateParameter(offset);
+        }
+    }
+
+    @Override
+    protected void appendTotalCount() {
+        // window is computed after WHERE and GROUP BY, before LIMIT
+        sql.append(Nouns.COUNT_ALL).append(Nouns.SPACE).append(Nouns.OVER).append(Nouns.SPACE).append(Nouns.AS)
+                .append(Nouns.SPACE).append(TOTAL_COUNT_COLUMN);
+    }
+
+    @Override
+    protected void appendSeekExpression(final SeekExpression seek) {
+        if (!seek.isUniform()) {
+            super.appendSeekExpression(seek);
+            return;
+        }
+        // (a, b) > (?1, ?2) can be answered by single scan of index
+        sql.append(Nouns.LEFT_BRACKET);
+        startList();
+        for (Variable var : seek.getVars()) {
+            appendElementBreak();
+            appendVariableName(var);
+        }
+        sql.append(Nouns.RIGHT_BRACKET).append(seek.isDescending(0) ? Nouns.LESS : Nouns.GREATER);
+        sql.append(Nouns.LEFT_BRACKET);
+        startList();
+        for (Object value : seek.getValues()) {
+            appendElementBreak();
+            sql.append(Nouns.PARAM).append(addParameter(value));
+        }
+        sql.append(Nouns.RIGHT_BRACKET);
+    }
+
+    @Override
+    protected void bindSeekExpression(final SeekExpression seek) {
+        if (!seek.isUniform()) {
+            super.bindSeekExpression(seek);
+            return;
+        }
+        for (Object value : seek.getValues()) {
+            addParameter(value);
+        }
+    }
+
+    @Override
+    protected void appendCollection(final InExpression inExpression) {
+        String arrayType = getArrayType(inExpression);
+        if (arrayType == null) {
+            super.appendCollection(inExpression);
+            return;
+        }
+        // col = ANY(CAST(?1 AS type[])) or col <> ALL(CAST(?1 AS type[]))
+        sql.append(inExpression.getType() == CollectionType.IN ? Nouns.EQUALS_ANY : Nouns.NOT_EQUALS_ALL);
+        sql.append(Nouns.LEFT_BRACKET).append(Nouns.CAST).append(Nouns.LEFT_BRACKET);
+        sql.append(Nouns.PARAM).append(addParameter(getCollectionParameterValue(inExpression)));
+        sql.append(Nouns.SPACE).append(Nouns.AS).append(Nouns.SPACE).append(arrayType).append(Nouns.ARRAY);
+        sql.append(Nouns.RIGHT_BRACKET).append(Nouns.RIGHT_BRACKET);
+    }
+
+    @Override
+    protected Object getCollectionParameterValue(final InExpression inExpression) {
+        if (getArrayType(inExpression) == null) {
+            return super.getCollectionParameterValue(inExpression);
+        }
+        return toArrayLiteral(inExpression.getValues());
+    }
+
+    /**
+     * Get type of array that collection of IN expression is bound as
+     * 
+     * @param inExpression
+     * @return type of elements or null if collection isn't bound as array
+     */
+    private String getArrayType(final InExpression inExpression) {
+        List<Object> values = inExpression.getValues();
+        if (inExpression.getParameter() != null || !options.isBoundAsArray(values) || values.get(0) == null) {
+            return null;
+        }
+        return ARRAY_TYPES.get(values.get(0).getClass());
+    }
+
+    /**
+     * Get text representation of array that is cast to array type in
+     * statement
+     * 
+     * @param values
+     * @return
+     */
+    private static String toArrayLiteral(final List<Object> values) {
+        StringBuilder array = new StringBuilder(values.size() * 8);
+        array.append('{');
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                array.append(',');
+            }
+            Object value = values.get(i);
+            if (value == null) {
+                array.append("NULL");
+            } else if (value instanceof String) {
+                array.append('"');
+                String string = (String) value;
+                for (int c = 0; c < string.length(); c++) {
+                    char ch = string.charAt(c);
+                    if (ch == '"' || ch == '\\') {
+                        array.append('\\');
+                    }
+                    array.append(ch);
+                }
+                array.append('"');
+            } else {
+                array.append(value);
+            }
+        }
+        return array.append('}').toString();
+    }
+
 }
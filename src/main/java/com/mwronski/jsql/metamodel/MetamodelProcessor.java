@@ -0,0 +1,317 @@
+package com.mwronski.jsql.metamodel;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.ManyToMany;
+import javax.persistence.OneToMany;
+import javax.persistence.Transient;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.annotation.Annotation;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Annotation processor that generates static metamodel for entities. <br>
+ * For each class annotated with {@link Entity} class with suffix
+ * {@value #SUFFIX} is generated in the same package. Generated class contains
+ * precomputed name of the table and {@link com.mwronski.jsql.model.Property}
+ * constant for each property of the entity, so queries can be built without
+ * recording and reflection. <br>
+ * Properties are read from public getters. Properties that are transient or
+ * collection-valued (e.g. mapped by {@link OneToMany}), either by their
+ * getters or fields, don't have columns and are skipped. Constants of
+ * properties named as Java keywords end with underscore (e.g.
+ * <code>default_</code>). <br>
+ * Processor is not registered automatically and must be enabled explicitly
+ * (e.g. with javac option -processor).
+ */
+@SupportedAnnotationTypes("javax.persistence.Entity")
+public final class MetamodelProcessor extends AbstractProcessor {
+
+    /**
+     * Suffix of generated classes
+     */
+    public static final String SUFFIX = "Meta";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(Entity.class)) {
+            if (element.getKind() == ElementKind.CLASS) {
+                generate((TypeElement) element);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Generate metamodel for entity
+     *
+     * @param entity
+     */
+    private void generate(final TypeElement entity) {
+        String packageName = getPackage(entity).getQualifiedName().toString();
+        String className = entity.getSimpleName() + SUFFIX;
+        String entityClass = entity.getQualifiedName().toString();
+        try {
+            PrintWriter out = new PrintWriter(processingEnv.getFiler()
+                    .createSourceFile(packageName.isEmpty() ? className : packageName + "." + className, entity)
+                    .openWriter());
+            try {
+                if (!packageName.isEmpty()) {
+                    out.println("package " + packageName + ";");
+                    out.println();
+                }
+                out.println("/**");
+                out.println(" * Metamodel of {@link " + entityClass + "} generated by " + getClass().getName());
+                out.println(" */");
+                out.println("public final class " + className + " {");
+                out.println();
+                out.println("    public static final String TABLE_NAME = \"" + getTableName(entity) + "\";");
+                Map<String, VariableElement> fields = getFields(entity);
+                for (Map.Entry<String, ExecutableElement> property : getProperties(entity, fields).entrySet()) {
+                    String name = property.getKey();
+                    String type = getTypeName(property.getValue().getReturnType());
+                    out.println("    public static final com.mwronski.jsql.model.Property<" + entityClass + ", "
+                            + type + "> " + getConstantName(name) + " = com.mwronski.jsql.model.Property.define("
+                            + entityClass + ".class, \"" + name + "\", \""
+                            + getColumnName(name, property.getValue(), fields.get(name)) + "\", " + type
+                            + ".class);");
+                }
+                out.println();
+                out.println("    private " + className + "() {");
+                out.println("        // no instances");
+                out.println("    }");
+                out.println();
+                out.println("    public static com.mwronski.jsql.model.Table table(final String alias) {");
+                out.println("        return new com.mwronski.jsql.model.Table(" + entityClass
+                        + ".class, alias, TABLE_NAME);");
+                out.println("    }");
+                out.println();
+                out.println("    public static com.mwronski.jsql.model.Table table() {");
+                out.println("        return table(null);");
+                out.println("    }");
+                out.println();
+                out.println("}");
+            } finally {
+                out.close();
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Couldn't generate metamodel: " + e.getMessage(), entity);
+        }
+    }
+
+    /**
+     * Get persistent properties of entity
+     *
+     * @param entity
+     * @param fields
+     *            fields of entity by their names
+     * @return getters of properties by property names
+     */
+    private Map<String, ExecutableElement> getProperties(final TypeElement entity,
+            final Map<String, VariableElement> fields) {
+        Map<String, ExecutableElement> properties = new LinkedHashMap<String, ExecutableElement>();
+        for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(
+                entity))) {
+            String name = getPropertyName(method);
+            if (name != null && !properties.containsKey(name) && isPersistent(method, fields.get(name))) {
+                properties.put(name, method);
+            }
+        }
+        return properties;
+    }
+
+    /**
+     * Get fields of entity and its super classes
+     *
+     * @param entity
+     * @return fields by names, fields of entity hide fields of super classes
+     */
+    private Map<String, VariableElement> getFields(final TypeElement entity) {
+        Map<String, VariableElement> fields = new HashMap<String, VariableElement>();
+        TypeElement type = entity;
+        while (type != null) {
+            for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+                String name = field.getSimpleName().toString();
+                if (!field.getModifiers().contains(Modifier.STATIC) && !fields.containsKey(name)) {
+                    fields.put(name, field);
+                }
+            }
+            TypeMirror superclass = type.getSuperclass();
+            type = superclass.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) superclass)
+                    .asElement() : null;
+        }
+        return fields;
+    }
+
+    /**
+     * Check whether property is mapped to column of entity table
+     *
+     * @param getter
+     * @param field
+     *            field of property or null
+     * @return false if property is transient or collection-valued
+     */
+    private boolean isPersistent(final ExecutableElement getter, final VariableElement field) {
+        if (isTransient(getter) || (field != null && (isTransient(field)
+                || field.getModifiers().contains(Modifier.TRANSIENT)))) {
+            return false;
+        }
+        return !isSubtype(getter.getReturnType(), Collection.class) && !isSubtype(getter.getReturnType(), Map.class);
+    }
+
+    private static boolean isTransient(final Element element) {
+        return isAnnotated(element, Transient.class) || isAnnotated(element, OneToMany.class)
+                || isAnnotated(element, ManyToMany.class);
+    }
+
+    private static boolean isAnnotated(final Element element, final Class<? extends Annotation> annotation) {
+        return element.getAnnotation(annotation) != null;
+    }
+
+    /**
+     * Check whether type is subtype of given class
+     *
+     * @param type
+     * @param clazz
+     * @return
+     */
+    private boolean isSubtype(final TypeMirror type, final Class<?> clazz) {
+        TypeElement element = processingEnv.getElementUtils().getTypeElement(clazz.getName());
+        return type.getKind() == TypeKind.DECLARED
+                && processingEnv.getTypeUtils().isAssignable(processingEnv.getTypeUtils().erasure(type),
+                        processingEnv.getTypeUtils().erasure(element.asType()));
+    }
+
+    /**
+     * Get name of constant of property
+     *
+     * @param propertyName
+     * @return property name or property name with underscore if it's Java
+     *         keyword
+     */
+    private static String getConstantName(final String propertyName) {
+        return SourceVersion.isKeyword(propertyName) ? propertyName + "_" : propertyName;
+    }
+
+    /**
+     * Get name of property of given getter
+     *
+     * @param method
+     * @return property name or null if method is not a getter of persistent
+     *         property
+     */
+    private String getPropertyName(final ExecutableElement method) {
+        if (!method.getModifiers().contains(Modifier.PUBLIC) || method.getModifiers().contains(Modifier.STATIC)
+                || !method.getParameters().isEmpty() || method.getReturnType().getKind() == TypeKind.VOID
+                || ((TypeElement) method.getEnclosingElement()).getQualifiedName().contentEquals("java.lang.Object")) {
+            return null;
+        }
+        String name = method.getSimpleName().toString();
+        String fieldName = null;
+        if (name.startsWith("get") && name.length() > 3) {
+            fieldName = name.substring(3);
+        } else if (name.startsWith("is") && name.length() > 2) {
+            fieldName = name.substring(2);
+        } else {
+            return null;
+        }
+        return Character.toLowerCase(fieldName.charAt(0)) + fieldName.substring(1);
+    }
+
+    /**
+     * Get name of column mapped to property
+     *
+     * @param propertyName
+     * @param getter
+     * @param field
+     *            field of property or null
+     * @return name from Column annotation of getter or field if defined,
+     *         property name otherwise
+     */
+    private String getColumnName(final String propertyName, final ExecutableElement getter,
+            final VariableElement field) {
+        Column column = getter.getAnnotation(Column.class);
+        if ((column == null || column.name().isEmpty()) && field != null) {
+            column = field.getAnnotation(Column.class);
+        }
+        if (column != null && !column.name().isEmpty()) {
+            return column.name().toLowerCase();
+        }
+        return propertyName;
+    }
+
+    /**
+     * Get table name of entity
+     *
+     * @param entity
+     * @return name from Entity annotation or simple name of entity
+     */
+    private String getTableName(final TypeElement entity) {
+        Entity entityAnno = entity.getAnnotation(Entity.class);
+        if (entityAnno != null && !entityAnno.name().isEmpty()) {
+            return entityAnno.name();
+        }
+        return entity.getSimpleName().toString();
+    }
+
+    /**
+     * Get name of (boxed) type that can be used in generated source
+     *
+     * @param type
+     * @return
+     */
+    private String getTypeName(final TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return processingEnv.getTypeUtils().boxedClass(processingEnv.getTypeUtils().getPrimitiveType(
+                    type.getKind())).getQualifiedName().toString();
+        }
+        TypeMirror erasure = processingEnv.getTypeUtils().erasure(type);
+        Element element = processingEnv.getTypeUtils().asElement(erasure);
+        if (element instanceof TypeElement) {
+            return ((TypeElement) element).getQualifiedName().toString();
+        }
+        return erasure.toString();
+    }
+
+    /**
+     * Get package of entity
+     *
+     * @param entity
+     * @return
+     */
+    private PackageElement getPackage(final TypeElement entity) {
+        Element element = entity;
+        while (!(element instanceof PackageElement)) {
+            element = element.getEnclosingElement();
+        }
+        return (PackageElement) element;
+    }
+
+}
@@ -0,0 +1,309 @@
+package com.mwronski.jsql.model;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Meta-data of entity with names of its table and columns. <br>
+ * Meta-data is resolved only once per entity class and kept in process-wide
+ * registry, so names of tables and columns are only looked up while SQL
+ * statements are built. Registry can be populated eagerly at start-up with
+ * {@link com.mwronski.jsql.JSql#warmUp(Class...)}.
+ */
+public final class EntityMetadata {
+
+    private static final ConcurrentMap<Class<?>, EntityMetadata> REGISTRY = new ConcurrentHashMap<Class<?>, EntityMetadata>();
+
+    private final Class<?> entityClass;
+    private final String tableName;
+    private final Map<Method, Property<?, ?>> propertiesByGetter;
+    private final Map<String, Property<?, ?>> propertiesByName;
+    private final Property<?, ?> idProperty;
+    private final Set<String> uniqueProperties;
+
+    private EntityMetadata(final Class<?> entityClass) {
+        this.entityClass = entityClass;
+        this.tableName = resolveTableName(entityClass);
+        Map<Method, Property<?, ?>> byGetter = new HashMap<Method, Property<?, ?>>();
+        Map<String, Property<?, ?>> byName = new HashMap<String, Property<?, ?>>();
+        for (Method method : entityClass.getMethods()) {
+            if (isGetter(method)) {
+                Property<?, ?> property = createProperty(entityClass, method);
+                byGetter.put(method, property);
+                if (!byName.containsKey(property.getName())) {
+                    byName.put(property.getName(), property);
+                }
+            }
+        }
+        this.propertiesByGetter = Collections.unmodifiableMap(byGetter);
+        this.propertiesByName = Collections.unmodifiableMap(byName);
+        this.idProperty = resolveIdProperty(entityClass, byName);
+        this.uniqueProperties = Collections.unmodifiableSet(resolveUniqueProperties(entityClass, byName,
+                idProperty));
+    }
+
+    public Class<?> getEntityClass() {
+        return entityClass;
+    }
+
+    /**
+     * Get name of table
+     *
+     * @return name from Entity annotation or simple name of entity class if
+     *         name is not defined
+     */
+    public String getTableName() {
+        return tableName;
+    }
+
+    /**
+     * Get property of given getter
+     *
+     * @param getter
+     *            method of entity
+     * @return
+     */
+    public Property<?, ?> getProperty(final Method getter) {
+        Property<?, ?> property = propertiesByGetter.get(getter);
+        if (property == null) {
+            // method that doesn't follow JavaBean conventions
+            property = createProperty(entityClass, getter);
+        }
+        return property;
+    }
+
+    /**
+     * Get property of given name
+     *
+     * @param name
+     *            name of the property
+     * @return property or null if entity doesn't have such property
+     */
+    public Property<?, ?> getProperty(final String name) {
+        return propertiesByName.get(name);
+    }
+
+    /**
+     * Get properties of entity
+     *
+     * @return properties defined by getters of entity
+     */
+    public Collection<Property<?, ?>> getProperties() {
+        return propertiesByName.values();
+    }
+
+    /**
+     * Get property of entity identifier
+     *
+     * @return property annotated with Id or null if entity doesn't have
+     *         simple identifier
+     */
+    public Property<?, ?> getIdProperty() {
+        return idProperty;
+    }
+
+    /**
+     * Check whether values of property are unique in table
+     *
+     * @param property
+     *            property of entity
+     * @return true if property is identifier or its column is unique
+     */
+    public boolean isUnique(final Property<?, ?> property) {
+        return uniqueProperties.contains(property.getName());
+    }
+
+    /**
+     * Get meta-data of given entity
+     *
+     * @param entityClass
+     * @return
+     */
+    public static EntityMetadata of(final Class<?> entityClass) {
+        EntityMetadata metadata = REGISTRY.get(entityClass);
+        if (metadata == null) {
+            metadata = new EntityMetadata(entityClass);
+            EntityMetadata registered = REGISTRY.putIfAbsent(entityClass, metadata);
+            if (registered != null) {
+                metadata = registered;
+            }
+        }
+        return metadata;
+    }
+
+    /**
+     * Remove meta-data of all entities, so entity classes can be unloaded
+     */
+    public static void clear() {
+        REGISTRY.clear();
+    }
+
+    /**
+     * Check whether meta-data of given entity has been already resolved
+     *
+     * @param entityClass
+     * @return
+     */
+    static boolean isResolved(final Class<?> entityClass) {
+        return REGISTRY.containsKey(entityClass);
+    }
+
+    /**
+     * Create property for given getter
+     *
+     * @param entityClass
+     * @param getter
+     * @return
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static Property<?, ?> createProperty(final Class<?> entityClass, final Method getter) {
+        String name = resolvePropertyName(getter);
+        return new Property(entityClass, name, getter.getReturnType(), getter, resolveColumnName(name, getter));
+    }
+
+    /**
+     * Check whether method is getter of property
+     *
+     * @param method
+     * @return
+     */
+    private static boolean isGetter(final Method method) {
+        if (method.getParameterTypes().length > 0 || method.getReturnType() == void.class
+                || Modifier.isStatic(method.getModifiers()) || method.getDeclaringClass() == Object.class) {
+            return false;
+        }
+        String name = method.getName();
+        return (name.startsWith("get") && name.length() > 3) || (name.startsWith("is") && name.length() > 2);
+    }
+
+    /**
+     * Get name of property based on getter name
+     *
+     * @param getter
+     * @return
+     */
+    private static String resolvePropertyName(final Method getter) {
+        String name = getter.getName();
+        if (name.startsWith("get") && name.length() > 3) {
+            return normalizeSpelling(name.substring(3));
+        } else if (name.startsWith("is") && name.length() > 2) {
+            return normalizeSpelling(name.substring(2));
+        }
+        return normalizeSpelling(name);
+    }
+
+    /**
+     * Get name of column mapped to property
+     *
+     * @param propertyName
+     * @param getter
+     * @return name from Column annotation if defined, property name otherwise
+     */
+    private static String resolveColumnName(final String propertyName, final Method getter) {
+        Column columnAnnotation = getter.getAnnotation(Column.class);
+        if (columnAnnotation != null && !columnAnnotation.name().isEmpty()) {
+            return columnAnnotation.name().toLowerCase();
+        }
+        return propertyName;
+    }
+
+    /**
+     * Find property which getter or field is annotated with Id
+     *
+     * @param entityClass
+     * @param properties
+     *            properties of entity by their names
+     * @return
+     */
+    private static Property<?, ?> resolveIdProperty(final Class<?> entityClass,
+            final Map<String, Property<?, ?>> properties) {
+        for (Property<?, ?> property : properties.values()) {
+            if (property.getGetter() != null && property.getGetter().isAnnotationPresent(Id.class)) {
+                return property;
+            }
+        }
+        for (Class<?> clazz = entityClass; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+            for (Field field : clazz.getDeclaredFields()) {
+                if (field.isAnnotationPresent(Id.class) && properties.containsKey(field.getName())) {
+                    return properties.get(field.getName());
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Find names of properties which getters or fields are annotated as
+     * unique columns
+     *
+     * @param entityClass
+     * @param properties
+     *            properties of entity by their names
+     * @param idProperty
+     *            property of identifier or null
+     * @return
+     */
+    private static Set<String> resolveUniqueProperties(final Class<?> entityClass,
+            final Map<String, Property<?, ?>> properties, final Property<?, ?> idProperty) {
+        Set<String> unique = new HashSet<String>();
+        if (idProperty != null) {
+            unique.add(idProperty.getName());
+        }
+        for (Property<?, ?> property : properties.values()) {
+            if (property.getGetter() != null && isUniqueColumn(property.getGetter().getAnnotation(Column.class))) {
+                unique.add(property.getName());
+            }
+        }
+        for (Class<?> clazz = entityClass; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+            for (Field field : clazz.getDeclaredFields()) {
+                if (isUniqueColumn(field.getAnnotation(Column.class)) && properties.containsKey(field.getName())) {
+                    unique.add(field.getName());
+                }
+            }
+        }
+        return unique;
+    }
+
+    private static boolean isUniqueColumn(final Column column) {
+        return column != null && column.unique();
+    }
+
+    /**
+     * Get name of table of entity
+     *
+     * @param entityClass
+     * @return
+     */
+    private static String resolveTableName(final Class<?> entityClass) {
+        Entity entityAnno = entityClass.getAnnotation(Entity.class);
+        if (entityAnno != null && !entityAnno.name().isEmpty()) {
+            return entityAnno.name();
+        }
+        return entityClass.getSimpleName();
+    }
+
+    /**
+     * Normalize spelling of string to meet JAVA conventions
+     *
+     * @param string
+     * @return
+     */
+    private static String normalizeSpelling(final String string) {
+        char firstLetterLower = Character.toLowerCase(string.charAt(0));
+        String restString = string.length() > 1 ? string.substring(1) : "";
+        return firstLetterLower + restString;
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.mwronski.jsql.model;
+
+/**
+ * Placeholder of value bound when compiled query is executed
+ *
+ * @see com.mwronski.jsql.CompiledQuery
+ * @param <T>
+ *            type of value
+ */
+public final class Parameter<T> {
+
+    private final int index;
+    private final Class<T> type;
+    private final boolean lowerCase;
+
+    /**
+     * Create parameter
+     *
+     * @param index
+     *            index of the parameter in order of declaration starting from
+     *            0
+     * @param type
+     *            type of value
+     */
+    public Parameter(final int index, final Class<T> type) {
+        this(index, type, false);
+    }
+
+    private Parameter(final int index, final Class<T> type, final boolean lowerCase) {
+        this.index = index;
+        this.type = type;
+        this.lowerCase = lowerCase;
+    }
+
+    /**
+     * Get placeholder of the same value bound in lower case, used by case
+     * insensitive relations
+     *
+     * @return
+     */
+    public Parameter<T> toLowerCase() {
+        return new Parameter<T>(index, type, true);
+    }
+
+    /**
+     * Get index of the parameter
+     *
+     * @return index in order of declaration starting from 0
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    public Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * Check whether given value can be bound to the parameter
+     *
+     * @param value
+     * @return
+     */
+    public boolean accepts(final Object value) {
+        return value != null && Property.wrap(type).isInstance(value);
+    }
+
+    /**
+     * Get value bound as SQL parameter
+     *
+     * @param value
+     *            value accepted by the parameter
+     * @return value in lower case if parameter is bound in lower case
+     */
+    public Object toSqlValue(final Object value) {
+        return lowerCase ? value.toString().toLowerCase() : value;
+    }
+
+    @Override
+    public String toString() {
+        return "param" + index + "<" + type.getSimpleName() + ">";
+    }
+
+}
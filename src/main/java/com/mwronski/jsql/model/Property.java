@@ -0,0 +1,145 @@
+package com.mwronski.jsql.model;
+
+import java.lang.reflect.Method;
+
+/**
+ * Reference to property of entity that can be used instead of recording
+ * invocations on SQL sources. <br>
+ * Properties are resolved once by {@link EntityMetadata} so they can be kept
+ * in static fields and shared between threads. Properties defined with precomputed
+ * names (e.g. by generated metamodel) don't use reflection at all.
+ *
+ * @param <E>
+ *            entity type
+ * @param <T>
+ *            property type
+ */
+public final class Property<E, T> {
+
+    private final Class<E> entityClass;
+    private final String name;
+    private final Class<T> type;
+    private final Method getter;
+    private final String columnName;
+
+    Property(final Class<E> entityClass, final String name, final Class<T> type, final Method getter,
+            final String columnName) {
+        this.entityClass = entityClass;
+        this.name = name;
+        this.type = type;
+        this.getter = getter;
+        this.columnName = columnName;
+    }
+
+    public Class<E> getEntityClass() {
+        return entityClass;
+    }
+
+    /**
+     * Get name of the property
+     *
+     * @return
+     */
+    public String getName() {
+        return name;
+    }
+
+    public Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * Get getter of the property
+     *
+     * @return getter or null if property was defined with precomputed names
+     */
+    public Method getGetter() {
+        return getter;
+    }
+
+    /**
+     * Get name of column mapped to the property
+     *
+     * @return name from Column annotation if defined, property name otherwise
+     */
+    public String getColumnName() {
+        return columnName;
+    }
+
+    @Override
+    public String toString() {
+        return entityClass.getSimpleName() + "." + name;
+    }
+
+    /**
+     * Get property of given entity
+     *
+     * @param entityClass
+     * @param name
+     *            name of the property
+     * @param type
+     *            type of the property
+     * @return
+     * @throws RuntimeException
+     *             if entity doesn't have getter for property of given type
+     */
+    @SuppressWarnings("unchecked")
+    public static <E, T> Property<E, T> of(final Class<E> entityClass, final String name, final Class<T> type) {
+        Property<?, ?> property = EntityMetadata.of(entityClass).getProperty(name);
+        if (property == null) {
+            throw new RuntimeException("Getter of property " + name + " not found in " + entityClass.getName());
+        }
+        if (!wrap(type).isAssignableFrom(wrap(property.getType()))) {
+            throw new RuntimeException("Property " + property + " is of type " + property.getType().getName()
+                    + " - expected: " + type.getName());
+        }
+        return (Property<E, T>) property;
+    }
+
+    /**
+     * Define property with precomputed names
+     *
+     * @param entityClass
+     * @param name
+     *            name of the property
+     * @param columnName
+     *            name of column mapped to the property
+     * @param type
+     *            type of the property
+     * @return
+     */
+    public static <E, T> Property<E, T> define(final Class<E> entityClass, final String name,
+            final String columnName, final Class<T> type) {
+        return new Property<E, T>(entityClass, name, type, null, columnName);
+    }
+
+    /**
+     * Get wrapper of primitive type
+     *
+     * @param type
+     * @return wrapper class or given type if it's not primitive
+     */
+    public static Class<?> wrap(final Class<?> type) {
+        if (!type.isPrimitive()) {
+            return type;
+        } else if (type == int.class) {
+            return Integer.class;
+        } else if (type == long.class) {
+            return Long.class;
+        } else if (type == boolean.class) {
+            return Boolean.class;
+        } else if (type == double.class) {
+            return Double.class;
+        } else if (type == float.class) {
+            return Float.class;
+        } else if (type == short.class) {
+            return Short.class;
+        } else if (type == byte.class) {
+            return Byte.class;
+        } else if (type == char.class) {
+            return Character.class;
+        }
+        return type;
+    }
+
+}
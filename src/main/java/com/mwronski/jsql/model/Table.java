@@ -11,10 +11,24 @@ public final class Table {
 
     private final Class<?> tableClass;
     private final String alias;
+    private final String name;
 
     public Table(final Class<?> tableClass, final String alias) {
+        this(tableClass, alias, null);
+    }
+
+    /**
+     * Create table with precomputed name
+     * 
+     * @param tableClass
+     * @param alias
+     * @param name
+     *            name of the table
+     */
+    public Table(final Class<?> tableClass, final String alias, final String name) {
         this.tableClass = tableClass;
         this.alias = alias;
+        this.name = name;
     }
 
     public Class<?> getTableClass() {
@@ -30,4 +44,27 @@ public final class Table {
         return alias;
     }
 
+    /**
+     * Get precomputed name of the table
+     * 
+     * @return name or null if name should be resolved from table class
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get column of this table
+     *
+     * @param property
+     *            property of table entity
+     * @return
+     */
+    public Variable column(final Property<?, ?> property) {
+        if (!property.getEntityClass().isAssignableFrom(tableClass)) {
+            throw new RuntimeException("Property " + property + " doesn't belong to table: " + tableClass.getName());
+        }
+        return new Variable(this, property);
+    }
+
 }
@@ -13,22 +13,43 @@ public final class Variable {
 
     private final Table table;
     private final Method method;
+    private final Property<?, ?> property;
 
     public Variable(final Table table, final Method method) {
+        this(table, EntityMetadata.of(table.getTableClass()).getProperty(method));
+    }
+
+    public Variable(final Table table, final Property<?, ?> property) {
         this.table = table;
-        this.method = method;
+        this.method = property.getGetter();
+        this.property = property;
     }
 
     public Table getTable() {
         return table;
     }
 
+    /**
+     * Get getter of the variable
+     * 
+     * @return getter or null if variable is defined by property with
+     *         precomputed names
+     */
     public Method getMethod() {
         return method;
     }
 
+    /**
+     * Get property of the variable
+     * 
+     * @return
+     */
+    public Property<?, ?> getProperty() {
+        return property;
+    }
+
     public Class<?> getType() {
-        return method.getReturnType();
+        return property.getType();
     }
 
 }
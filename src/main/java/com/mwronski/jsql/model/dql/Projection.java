@@ -0,0 +1,158 @@
+package com.mwronski.jsql.model.dql;
+
+import com.mwronski.jsql.model.Property;
+import com.mwronski.jsql.model.Variable;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Mapping of selected columns into objects created by constructor of result
+ * class, so rows are read without hydrating managed entities. <br>
+ * Constructors are resolved once for each result class and types of
+ * columns, so projections can be shared between threads.
+ */
+public final class Projection {
+
+    private static final ConcurrentMap<List<Class<?>>, Projection> REGISTRY = new ConcurrentHashMap<List<Class<?>>, Projection>(
+            16, 0.75f, 4);
+
+    private final Class<?> resultClass;
+    private final Constructor<?> constructor;
+    private final Class<?>[] parameterTypes;
+
+    private Projection(final Class<?> resultClass, final Constructor<?> constructor) {
+        this.resultClass = resultClass;
+        this.constructor = constructor;
+        this.parameterTypes = constructor.getParameterTypes();
+        constructor.setAccessible(true);
+    }
+
+    /**
+     * Get projection of columns into result class
+     * 
+     * @param resultClass
+     * @param columns
+     *            selected columns in order of constructor parameters
+     * @return
+     * @throws IllegalArgumentException
+     *             if result class has no constructor accepting columns
+     */
+    public static Projection of(final Class<?> resultClass, final List<Variable> columns) {
+        List<Class<?>> key = new ArrayList<Class<?>>(columns.size() + 1);
+        key.add(resultClass);
+        for (Variable column : columns) {
+            key.add(column.getType());
+        }
+        Projection projection = REGISTRY.get(key);
+        if (projection == null) {
+            projection = new Projection(resultClass, findConstructor(resultClass, key.subList(1, key.size())));
+            Projection registered = REGISTRY.putIfAbsent(key, projection);
+            if (registered != null) {
+                projection = registered;
+            }
+        }
+        return projection;
+    }
+
+    /**
+     * Remove projections of all result classes, so they can be unloaded
+     */
+    public static void clear() {
+        REGISTRY.clear();
+    }
+
+    public Class<?> getResultClass() {
+        return resultClass;
+    }
+
+    /**
+     * Create result object from row of native query
+     * 
+     * @param row
+     *            array of column values or value of single column
+     * @return
+     */
+    public Object newInstance(final Object row) {
+        Object[] values = parameterTypes.length == 1 ? new Object[] { row } : ((Object[]) row).clone();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = convert(values[i], Property.wrap(parameterTypes[i]));
+        }
+        try {
+            return constructor.newInstance(values);
+        } catch (InstantiationException e) {
+            throw new IllegalStateException("Couldn't create instance of " + resultClass.getName(), e);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Couldn't create instance of " + resultClass.getName(), e);
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException("Constructor of " + resultClass.getName() + " failed", e.getCause());
+        }
+    }
+
+    /**
+     * Find constructor which parameters accept values of given types
+     * 
+     * @param resultClass
+     * @param types
+     *            types of columns
+     * @return
+     */
+    private static Constructor<?> findConstructor(final Class<?> resultClass, final List<Class<?>> types) {
+        for (Constructor<?> constructor : resultClass.getDeclaredConstructors()) {
+            Class<?>[] parameterTypes = constructor.getParameterTypes();
+            if (parameterTypes.length != types.size()) {
+                continue;
+            }
+            boolean matches = true;
+            for (int i = 0; i < parameterTypes.length && matches; i++) {
+                matches = Property.wrap(parameterTypes[i]).isAssignableFrom(Property.wrap(types.get(i)));
+            }
+            if (matches) {
+                return constructor;
+            }
+        }
+        throw new IllegalArgumentException("No constructor of " + resultClass.getName() + " accepts columns of types: "
+                + types);
+    }
+
+    /**
+     * Convert value of column returned by database driver into type of
+     * parameter
+     * 
+     * @param value
+     * @param type
+     *            wrapped type of parameter
+     * @return
+     */
+    private static Object convert(final Object value, final Class<?> type) {
+        if (!(value instanceof Number) || type.isInstance(value)) {
+            return value;
+        }
+        Number number = (Number) value;
+        if (type == Long.class) {
+            return number.longValue();
+        } else if (type == Integer.class) {
+            return number.intValue();
+        } else if (type == Short.class) {
+            return number.shortValue();
+        } else if (type == Byte.class) {
+            return number.byteValue();
+        } else if (type == Double.class) {
+            return number.doubleValue();
+        } else if (type == Float.class) {
+            return number.floatValue();
+        } else if (type == BigDecimal.class) {
+            return new BigDecimal(number.toString());
+        } else if (type == BigInteger.class) {
+            return new BigDecimal(number.toString()).toBigInteger();
+        }
+        return value;
+    }
+
+}
@@ -3,6 +3,7 @@ package com.mwronski.jsql.model.dql;
 import com.mwronski.jsql.model.Table;
 import com.mwronski.jsql.model.Variable;
 import com.mwronski.jsql.model.expressions.ExpressionChain;
+import com.mwronski.jsql.model.expressions.SeekExpression;
 
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
@@ -28,6 +29,40 @@ public final class SelectStatement {
     private boolean distinct = false;
     private ExpressionChain where;
     private boolean count = false;
+    private boolean contradictory = false;
+    private boolean totalCount = false;
+    private Variable countDistinct;
+    private Integer limit;
+    private Integer offset;
+    private List<Object> seekValues;
+    private Projection projection;
+
+    /**
+     * Get shallow copy of the statement. Lists of the copy can be changed
+     * independently, conditions and joins are shared with this statement.
+     * 
+     * @return
+     */
+    public SelectStatement copy() {
+        SelectStatement copy = new SelectStatement();
+        copy.selectedColumns.addAll(selectedColumns);
+        copy.selectedTables.addAll(selectedTables);
+        copy.from.addAll(from);
+        copy.variablesOrder.putAll(variablesOrder);
+        copy.groupedBy.addAll(groupedBy);
+        copy.joins.addAll(joins);
+        copy.distinct = distinct;
+        copy.where = where;
+        copy.count = count;
+        copy.contradictory = contradictory;
+        copy.totalCount = totalCount;
+        copy.countDistinct = countDistinct;
+        copy.limit = limit;
+        copy.offset = offset;
+        copy.seekValues = seekValues;
+        copy.projection = projection;
+        return copy;
+    }
 
     public boolean isCount() {
         return count;
@@ -37,6 +72,127 @@ public final class SelectStatement {
         this.count = count;
     }
 
+    /**
+     * Get column which distinct values are counted
+     * 
+     * @return column or null if all rows are counted
+     */
+    public Variable getCountDistinct() {
+        return countDistinct;
+    }
+
+    public void setCountDistinct(Variable countDistinct) {
+        this.countDistinct = countDistinct;
+    }
+
+    /**
+     * Check whether conditions of the statement are never fulfilled
+     * 
+     * @return true if statement can't return any rows
+     * @see com.mwronski.jsql.optimizer.ConditionOptimizer
+     */
+    public boolean isContradictory() {
+        return contradictory;
+    }
+
+    public void setContradictory(boolean contradictory) {
+        this.contradictory = contradictory;
+    }
+
+    /**
+     * Check whether total number of rows is selected as last column of each
+     * row
+     * 
+     * @return
+     */
+    public boolean isTotalCount() {
+        return totalCount;
+    }
+
+    public void setTotalCount(boolean totalCount) {
+        this.totalCount = totalCount;
+    }
+
+    /**
+     * Get max number of returned rows
+     * 
+     * @return limit or null if number of rows isn't limited
+     */
+    public Integer getLimit() {
+        return limit;
+    }
+
+    public void setLimit(Integer limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * Get number of skipped rows
+     * 
+     * @return offset or null if rows aren't skipped
+     */
+    public Integer getOffset() {
+        return offset;
+    }
+
+    public void setOffset(Integer offset) {
+        this.offset = offset;
+    }
+
+    /**
+     * Get mapping of selected columns into result objects
+     * 
+     * @return projection or null if rows are returned as they are
+     */
+    public Projection getProjection() {
+        return projection;
+    }
+
+    public void setProjection(Projection projection) {
+        this.projection = projection;
+    }
+
+    /**
+     * Get key of last row of previous page
+     * 
+     * @return values of order columns or null if rows aren't sought
+     */
+    public List<Object> getSeekValues() {
+        return seekValues;
+    }
+
+    public void setSeekValues(List<Object> seekValues) {
+        this.seekValues = seekValues;
+    }
+
+    /**
+     * Get condition that rows are filtered with, i.e. condition of the
+     * statement joined with condition of seeking rows after given key
+     * 
+     * @return
+     * @throws IllegalStateException
+     *             if number of values of key doesn't match number of order
+     *             columns
+     */
+    public ExpressionChain getFilter() {
+        if (seekValues == null) {
+            return where;
+        }
+        if (seekValues.size() != variablesOrder.size()) {
+            throw new IllegalStateException("Key of " + seekValues.size() + " values doesn't match order by "
+                    + variablesOrder.size() + " columns");
+        }
+        ExpressionChain filter = new ExpressionChain();
+        if (where != null && !where.getConditions().containsValue(ExpressionChain.Type.OR)) {
+            filter.getConditions().putAll(where.getConditions());
+        } else if (where != null) {
+            filter.add(ExpressionChain.Type.AND, where);
+        }
+        filter.add(ExpressionChain.Type.AND, new SeekExpression(new ArrayList<Variable>(variablesOrder.keySet()),
+                new ArrayList<Boolean>(variablesOrder.values()), seekValues));
+        return filter;
+    }
+
     /**
      * Get condition of the statement
      * 
@@ -1,5 +1,6 @@
 package com.mwronski.jsql.model.expressions;
 
+import com.mwronski.jsql.model.Parameter;
 import com.mwronski.jsql.model.Variable;
 import com.mwronski.jsql.recording.SqlRecorder;
 
@@ -26,12 +27,40 @@ public final class InExpression implements Expression {
 
     public InExpression(final SqlRecorder recorder, final Object param, final CollectionType type,
             final boolean omittable, final Object[] values) {
-        var = recorder.nextVariable();
+        var = recorder.variable(param);
         this.values = values != null && values.length > 0 ? Arrays.asList(values) : null;
         this.omittable = omittable;
         this.type = type;
     }
 
+    /**
+     * Create expression of already recorded variable
+     * 
+     * @param var
+     * @param type
+     * @param omittable
+     * @param values
+     *            values or null if collection is empty
+     */
+    public InExpression(final Variable var, final CollectionType type, final boolean omittable,
+            final List<Object> values) {
+        this.var = var;
+        this.values = values;
+        this.omittable = omittable;
+        this.type = type;
+    }
+
+    /**
+     * Get expression with the same variable and type but other values
+     * 
+     * @param values
+     * @return new expression
+     */
+    public InExpression withValues(final Object... values) {
+        return new InExpression(var, type, omittable, values != null && values.length > 0 ? Arrays.asList(values)
+                : null);
+    }
+
     public Variable getVar() {
         return var;
     }
@@ -44,6 +73,28 @@ public final class InExpression implements Expression {
         return values;
     }
 
+    /**
+     * Get placeholder of collection bound when compiled query is executed
+     * 
+     * @return parameter or null if values are given directly
+     */
+    public Parameter<?> getParameter() {
+        if (values != null && values.size() == 1 && values.get(0) instanceof Parameter) {
+            return (Parameter<?>) values.get(0);
+        }
+        return null;
+    }
+
+    /**
+     * Get value bound as SQL parameter
+     * 
+     * @return placeholder of collection or collection of values
+     */
+    public Object getParameterValue() {
+        Parameter<?> parameter = getParameter();
+        return parameter != null ? parameter : values;
+    }
+
     @Override
     public boolean isNullOmittable() {
         return omittable;
@@ -1,5 +1,6 @@
 package com.mwronski.jsql.model.expressions;
 
+import com.mwronski.jsql.model.Parameter;
 import com.mwronski.jsql.model.Variable;
 import com.mwronski.jsql.recording.SqlRecorder;
 
@@ -22,18 +23,71 @@ public final class Relation implements Expression {
     private final Variable varValue;
     private final boolean omittable;
     private final boolean caseInsensitive;
+    /**
+     * Placeholder of value bound in lower case by case insensitive relation
+     */
+    private final Parameter<?> lowerCaseParameter;
 
     public Relation(SqlRecorder recorder, Object var, final RelationType relation, final Object value,
             final boolean omittable, final boolean caseInsensitive) {
-        this.var = recorder.nextVariable();
+        this.var = recorder.variable(var);
+        this.relation = relation;
+        if (recorder.isReference(value)) {
+            varValue = recorder.variable(value);
+            this.value = null;
+        } else {
+            varValue = recorder.nextVariable();
+            this.value = value;
+        }
+        this.omittable = omittable;
+        this.caseInsensitive = caseInsensitive;
+        this.lowerCaseParameter = toLowerCase(this.value, caseInsensitive);
+        validateArgumentsTypes();
+    }
+
+    /**
+     * Create relation of already recorded variable to value
+     * 
+     * @param var
+     * @param relation
+     * @param value
+     * @param omittable
+     * @param caseInsensitive
+     */
+    public Relation(final Variable var, final RelationType relation, final Object value, final boolean omittable,
+            final boolean caseInsensitive) {
+        this.var = var;
         this.relation = relation;
-        varValue = recorder.nextVariable();
         this.value = value;
+        this.varValue = null;
         this.omittable = omittable;
         this.caseInsensitive = caseInsensitive;
+        this.lowerCaseParameter = toLowerCase(value, caseInsensitive);
         validateArgumentsTypes();
     }
 
+    /**
+     * Create relation of already recorded variables
+     * 
+     * @param var
+     * @param relation
+     * @param varValue
+     *            variable compared to the first one
+     */
+    public Relation(final Variable var, final RelationType relation, final Variable varValue) {
+        this.var = var;
+        this.relation = relation;
+        this.value = null;
+        this.varValue = varValue;
+        this.omittable = false;
+        this.caseInsensitive = false;
+        this.lowerCaseParameter = null;
+    }
+
+    private static Parameter<?> toLowerCase(final Object value, final boolean caseInsensitive) {
+        return caseInsensitive && value instanceof Parameter ? ((Parameter<?>) value).toLowerCase() : null;
+    }
+
     public Variable getVar() {
         return var;
     }
@@ -46,6 +100,21 @@ public final class Relation implements Expression {
         return value;
     }
 
+    /**
+     * Get value bound as SQL parameter
+     * 
+     * @return value in lower case if relation is case insensitive, placeholder
+     *         of value bound in lower case if value is a parameter
+     */
+    public Object getParameterValue() {
+        if (lowerCaseParameter != null) {
+            return lowerCaseParameter;
+        } else if (caseInsensitive && value != null) {
+            return value.toString().toLowerCase();
+        }
+        return value;
+    }
+
     public Variable getVarValue() {
         return varValue;
     }
@@ -85,7 +154,12 @@ public final class Relation implements Expression {
                 throw new RuntimeException("Parameter of case insensitive relation must be String, is: "
                         + this.var.getType());
             }
-            if (this.value != null) {
+            if (value instanceof Parameter) {
+                if (((Parameter<?>) value).getType() != String.class) {
+                    throw new RuntimeException("Parameter of case insensitive relation must be String, is: "
+                            + ((Parameter<?>) value).getType());
+                }
+            } else if (this.value != null) {
                 if (!(value instanceof String)) {
                     throw new RuntimeException("Value of case insensitive relation must be String, is: "
                             + this.value.getClass());
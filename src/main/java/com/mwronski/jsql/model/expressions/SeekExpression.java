@@ -0,0 +1,88 @@
+package com.mwronski.jsql.model.expressions;
+
+import com.mwronski.jsql.model.Variable;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Condition of keyset pagination selecting rows placed after given key in
+ * order of the statement. For columns <code>a ASC, b DESC</code> and key
+ * <code>(x, y)</code> it's equivalent to
+ * <code>a&gt;x OR (a=x AND b&lt;y)</code>.
+ */
+public final class SeekExpression implements Expression {
+
+    private final List<Variable> vars;
+    private final List<Boolean> directions;
+    private final List<Object> values;
+
+    /**
+     * Create expression
+     * 
+     * @param vars
+     *            columns of order
+     * @param directions
+     *            directions of columns, true for descending order
+     * @param values
+     *            values of columns in last row of previous page
+     */
+    public SeekExpression(final List<Variable> vars, final List<Boolean> directions, final List<Object> values) {
+        if (vars.size() != directions.size() || vars.size() != values.size()) {
+            throw new IllegalArgumentException("Expected " + vars.size() + " values of key, got: " + values.size());
+        }
+        this.vars = Collections.unmodifiableList(vars);
+        this.directions = Collections.unmodifiableList(directions);
+        this.values = Collections.unmodifiableList(values);
+    }
+
+    /**
+     * Get columns of order
+     * 
+     * @return
+     */
+    public List<Variable> getVars() {
+        return vars;
+    }
+
+    /**
+     * Check whether column is sorted in descending order
+     * 
+     * @param index
+     *            index of column
+     * @return
+     */
+    public boolean isDescending(final int index) {
+        return directions.get(index);
+    }
+
+    /**
+     * Check whether all columns are sorted in the same direction, so key can
+     * be compared as single row value
+     * 
+     * @return
+     */
+    public boolean isUniform() {
+        return !directions.contains(!directions.get(0));
+    }
+
+    /**
+     * Get values of key
+     * 
+     * @return
+     */
+    public List<Object> getValues() {
+        return values;
+    }
+
+    @Override
+    public boolean isNullOmittable() {
+        return false;
+    }
+
+    @Override
+    public boolean isNull() {
+        return false;
+    }
+
+}
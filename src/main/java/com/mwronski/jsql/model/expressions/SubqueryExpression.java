@@ -0,0 +1,69 @@
+package com.mwronski.jsql.model.expressions;
+
+import com.mwronski.jsql.model.Variable;
+import com.mwronski.jsql.model.dql.SelectStatement;
+
+/**
+ * Condition checking rows of nested SELECT statement. Subquery can reference
+ * tables of outer statement, so it's evaluated for each row of outer
+ * statement.
+ */
+public final class SubqueryExpression implements Expression {
+
+    public enum Type {
+        EXISTS, NOT_EXISTS, IN, NOT_IN
+    }
+
+    private final Type type;
+    private final Variable var;
+    private final SelectStatement statement;
+
+    /**
+     * Create expression
+     * 
+     * @param type
+     *            type of condition
+     * @param var
+     *            column compared to results of IN subquery or null for EXISTS
+     * @param statement
+     *            nested statement
+     */
+    public SubqueryExpression(final Type type, final Variable var, final SelectStatement statement) {
+        this.type = type;
+        this.var = var;
+        this.statement = statement;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Get column compared to results of subquery
+     * 
+     * @return column or null for EXISTS conditions
+     */
+    public Variable getVar() {
+        return var;
+    }
+
+    /**
+     * Get nested statement
+     * 
+     * @return
+     */
+    public SelectStatement getStatement() {
+        return statement;
+    }
+
+    @Override
+    public boolean isNullOmittable() {
+        return false;
+    }
+
+    @Override
+    public boolean isNull() {
+        return false;
+    }
+
+}
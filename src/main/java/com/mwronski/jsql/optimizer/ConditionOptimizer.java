@@ -0,0 +1,679 @@
+package com.mwronski.jsql.optimizer;
+
+import com.mwronski.jsql.model.Parameter;
+import com.mwronski.jsql.model.Variable;
+import com.mwronski.jsql.model.dql.JoinStatement;
+import com.mwronski.jsql.model.dql.SelectStatement;
+import com.mwronski.jsql.model.expressions.Expression;
+import com.mwronski.jsql.model.expressions.ExpressionChain;
+import com.mwronski.jsql.model.expressions.InExpression;
+import com.mwronski.jsql.model.expressions.InExpression.CollectionType;
+import com.mwronski.jsql.model.expressions.Relation;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Pass simplifying conditions of statement before it's rendered. <br>
+ * Chains connected by single operator are flattened, omitted and duplicated
+ * conditions are removed. In AND chains ranges of constants are collapsed,
+ * lists of IN expressions are intersected and contradictions, including IN
+ * expressions without values, are detected. In OR chains equalities of the
+ * same column to constants are merged into single IN expression. <br>
+ * Conditions with placeholders of values, case insensitive relations and
+ * chains mixing AND with OR are left untouched. Ranges are compared only for
+ * numbers and dates, since database orders other values, e.g. strings by
+ * collation, differently than Java. <br>
+ * As rewrite rule optimizer fires only if it changes conditions.
+ */
+public class ConditionOptimizer implements QueryRewriteRule {
+
+    @Override
+    public SelectStatement rewrite(final SelectStatement statement) {
+        SelectStatement optimized = optimize(statement);
+        if (optimized.isContradictory() != statement.isContradictory()
+                || !getKey(optimized.getWhere()).equals(getKey(statement.getWhere()))) {
+            return optimized;
+        }
+        for (int i = 0; i < statement.getJoins().size(); i++) {
+            if (!getKey(optimized.getJoins().get(i).getOn()).equals(getKey(statement.getJoins().get(i).getOn()))) {
+                return optimized;
+            }
+        }
+        return statement;
+    }
+
+    /**
+     * Get optimized copy of statement
+     *
+     * @param statement
+     * @return copy with optimized conditions, copy is marked as contradictory
+     *         if it can't return any rows
+     * @see SelectStatement#isContradictory()
+     */
+    public SelectStatement optimize(final SelectStatement statement) {
+        SelectStatement copy = statement.copy();
+        if (statement.getWhere() != null) {
+            ExpressionChain where = optimize(statement.getWhere());
+            if (where == null) {
+                copy.setContradictory(true);
+            } else {
+                copy.setWhere(where);
+            }
+        }
+        List<JoinStatement> joins = copy.getJoins();
+        for (int i = 0; i < joins.size(); i++) {
+            JoinStatement join = joins.get(i);
+            if (join.getOn() == null) {
+                continue;
+            }
+            ExpressionChain on = optimize(join.getOn());
+            if (on == null) {
+                // only inner join without matching rows empties the result
+                if (join.getDirection() == JoinStatement.Direction.NONE) {
+                    copy.setContradictory(true);
+                }
+                continue;
+            }
+            JoinStatement optimized = new JoinStatement();
+            optimized.setTable(join.getTable());
+            optimized.setType(join.getType());
+            optimized.setDirection(join.getDirection());
+            optimized.setOn(on);
+            joins.set(i, optimized);
+        }
+        return copy;
+    }
+
+    /**
+     * Optimize chain of conditions
+     *
+     * @param chain
+     * @return new chain or null if conditions are never fulfilled
+     */
+    public ExpressionChain optimize(final ExpressionChain chain) {
+        ExpressionChain.Type type = OptimizerUtil.getType(chain);
+        if (type == null) {
+            return optimizeMixed(chain);
+        }
+        List<Expression> members = new ArrayList<Expression>();
+        if (!flatten(chain, type, members)) {
+            return null;
+        }
+        members = removeDuplicates(members);
+        if (type == ExpressionChain.Type.AND) {
+            members = simplifyAnd(members);
+            if (members == null) {
+                return null;
+            }
+        } else {
+            members = simplifyOr(members);
+        }
+        ExpressionChain optimized = new ExpressionChain();
+        for (Expression member : members) {
+            optimized.add(type, member);
+        }
+        return optimized;
+    }
+
+    /**
+     * Optimize nested chains of chain mixing AND with OR
+     *
+     * @param chain
+     * @return
+     */
+    private ExpressionChain optimizeMixed(final ExpressionChain chain) {
+        ExpressionChain optimized = new ExpressionChain();
+        for (Map.Entry<Expression, ExpressionChain.Type> entry : chain.getConditions().entrySet()) {
+            Expression expression = entry.getKey();
+            if (expression instanceof ExpressionChain) {
+                ExpressionChain nested = optimize((ExpressionChain) expression);
+                if (nested != null) {
+                    expression = nested;
+                }
+            }
+            optimized.add(entry.getValue(), expression);
+        }
+        return optimized;
+    }
+
+    /**
+     * Collect conditions of chain flattening nested chains of the same type
+     *
+     * @param chain
+     * @param type
+     *            operator connecting conditions of chain
+     * @param members
+     *            collected conditions
+     * @return false if AND chain is never fulfilled, true otherwise
+     */
+    private boolean flatten(final ExpressionChain chain, final ExpressionChain.Type type,
+            final List<Expression> members) {
+        boolean fulfillable = false;
+        boolean omitted = true;
+        for (Expression expression : chain.getConditions().keySet()) {
+            if (OptimizerUtil.isOmitted(expression)) {
+                continue;
+            }
+            omitted = false;
+            if (isEmpty(expression, CollectionType.IN)) {
+                // no value is in empty list
+                if (type == ExpressionChain.Type.AND) {
+                    return false;
+                }
+                continue;
+            } else if (isEmpty(expression, CollectionType.NOT_IN) && type == ExpressionChain.Type.AND) {
+                // every value is out of empty list
+                continue;
+            }
+            if (!(expression instanceof ExpressionChain)) {
+                members.add(expression);
+                fulfillable = true;
+                continue;
+            }
+            ExpressionChain nested = optimize((ExpressionChain) expression);
+            if (nested == null) {
+                if (type == ExpressionChain.Type.AND) {
+                    return false;
+                }
+            } else if (nested.isEmpty()) {
+                continue;
+            } else if (nested.getConditions().size() == 1 || OptimizerUtil.getType(nested) == type) {
+                members.addAll(nested.getConditions().keySet());
+                fulfillable = true;
+            } else {
+                members.add(nested);
+                fulfillable = true;
+            }
+        }
+        // OR chain with conditions that are never fulfilled
+        return fulfillable || type == ExpressionChain.Type.AND || omitted;
+    }
+
+    /**
+     * Check whether condition is IN expression of given type without values
+     *
+     * @param expression
+     * @param type
+     * @return
+     */
+    private static boolean isEmpty(final Expression expression, final CollectionType type) {
+        return expression instanceof InExpression && ((InExpression) expression).getType() == type
+                && ((InExpression) expression).getValues() == null;
+    }
+
+    /**
+     * Remove repeated conditions
+     *
+     * @param members
+     * @return
+     */
+    private List<Expression> removeDuplicates(final List<Expression> members) {
+        Map<Object, Expression> unique = new LinkedHashMap<Object, Expression>();
+        for (Expression member : members) {
+            Object key = getKey(member);
+            if (!unique.containsKey(key)) {
+                unique.put(key, member);
+            }
+        }
+        return new ArrayList<Expression>(unique.values());
+    }
+
+    /**
+     * Collapse constraints of the same columns in AND chain
+     *
+     * @param members
+     * @return simplified conditions or null if conditions are contradictory
+     */
+    private List<Expression> simplifyAnd(final List<Expression> members) {
+        Map<Object, Constraints> constraints = new LinkedHashMap<Object, Constraints>();
+        for (Expression member : members) {
+            Variable var = getConstrainedVariable(member);
+            if (var != null) {
+                Object key = OptimizerUtil.getKey(var);
+                Constraints varConstraints = constraints.get(key);
+                if (varConstraints == null) {
+                    varConstraints = new Constraints();
+                    constraints.put(key, varConstraints);
+                }
+                varConstraints.add(member);
+            }
+        }
+        Map<Expression, Expression> replaced = new HashMap<Expression, Expression>();
+        for (Constraints varConstraints : constraints.values()) {
+            if (!varConstraints.collapse(replaced)) {
+                return null;
+            }
+        }
+        List<Expression> simplified = new ArrayList<Expression>();
+        for (Expression member : members) {
+            if (!replaced.containsKey(member)) {
+                simplified.add(member);
+            } else if (replaced.get(member) != null) {
+                simplified.add(replaced.get(member));
+            }
+        }
+        return simplified;
+    }
+
+    /**
+     * Merge equalities and IN expressions of the same columns in OR chain
+     *
+     * @param members
+     * @return
+     */
+    private List<Expression> simplifyOr(final List<Expression> members) {
+        Map<Object, List<Expression>> alternatives = new LinkedHashMap<Object, List<Expression>>();
+        for (Expression member : members) {
+            Variable var = getAlternativeVariable(member);
+            if (var != null) {
+                Object key = OptimizerUtil.getKey(var);
+                List<Expression> varAlternatives = alternatives.get(key);
+                if (varAlternatives == null) {
+                    varAlternatives = new ArrayList<Expression>();
+                    alternatives.put(key, varAlternatives);
+                }
+                varAlternatives.add(member);
+            }
+        }
+        Map<Expression, Expression> replaced = new HashMap<Expression, Expression>();
+        for (List<Expression> varAlternatives : alternatives.values()) {
+            if (varAlternatives.size() < 2) {
+                continue;
+            }
+            Set<Object> values = new LinkedHashSet<Object>();
+            Variable var = null;
+            for (Expression alternative : varAlternatives) {
+                if (alternative instanceof Relation) {
+                    var = ((Relation) alternative).getVar();
+                    values.add(((Relation) alternative).getValue());
+                } else {
+                    var = ((InExpression) alternative).getVar();
+                    values.addAll(((InExpression) alternative).getValues());
+                }
+                replaced.put(alternative, null);
+            }
+            replaced.put(varAlternatives.get(0), new InExpression(var, CollectionType.IN, false,
+                    new ArrayList<Object>(values)));
+        }
+        List<Expression> simplified = new ArrayList<Expression>();
+        for (Expression member : members) {
+            if (!replaced.containsKey(member)) {
+                simplified.add(member);
+            } else if (replaced.get(member) != null) {
+                simplified.add(replaced.get(member));
+            }
+        }
+        return simplified;
+    }
+
+    /**
+     * Get column compared to constant by relation or IN expression of AND
+     * chain
+     *
+     * @param expression
+     * @return column or null if condition can't be collapsed
+     */
+    private static Variable getConstrainedVariable(final Expression expression) {
+        if (expression instanceof Relation) {
+            Relation relation = (Relation) expression;
+            if (isConstant(relation) && relation.getType() != Relation.RelationType.REGEX) {
+                return relation.getVar();
+            }
+        } else if (expression instanceof InExpression) {
+            InExpression inExpression = (InExpression) expression;
+            if (inExpression.getType() == CollectionType.IN && isConstant(inExpression)) {
+                return inExpression.getVar();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get column compared to constant by equality or IN expression of OR chain
+     *
+     * @param expression
+     * @return column or null if condition can't be merged
+     */
+    private static Variable getAlternativeVariable(final Expression expression) {
+        Variable var = getConstrainedVariable(expression);
+        if (expression instanceof Relation && ((Relation) expression).getType() != Relation.RelationType.EQ) {
+            return null;
+        }
+        return var;
+    }
+
+    private static boolean isConstant(final Relation relation) {
+        return !relation.hasVarValue() && relation.getValue() != null && !(relation.getValue() instanceof Parameter)
+                && !relation.isCaseInsensitive();
+    }
+
+    private static boolean isConstant(final InExpression inExpression) {
+        return inExpression.getValues() != null && inExpression.getParameter() == null
+                && !inExpression.getValues().contains(null);
+    }
+
+    /**
+     * Get key identifying structure of condition
+     *
+     * @param expression
+     * @return
+     */
+    private static Object getKey(final Expression expression) {
+        if (expression == null) {
+            return Collections.emptyList();
+        } else if (expression instanceof Relation) {
+            Relation relation = (Relation) expression;
+            return Arrays.asList(Relation.class, OptimizerUtil.getKey(relation.getVar()), relation.getType(),
+                    relation.hasVarValue() ? OptimizerUtil.getKey(relation.getVarValue()) : relation.getValue(),
+                    relation.isCaseInsensitive());
+        } else if (expression instanceof InExpression) {
+            InExpression inExpression = (InExpression) expression;
+            return Arrays.asList(InExpression.class, OptimizerUtil.getKey(inExpression.getVar()),
+                    inExpression.getType(), inExpression.getValues());
+        } else if (expression instanceof ExpressionChain) {
+            List<Object> key = new ArrayList<Object>();
+            key.add(ExpressionChain.class);
+            for (Map.Entry<Expression, ExpressionChain.Type> entry : ((ExpressionChain) expression).getConditions()
+                    .entrySet()) {
+                key.add(entry.getValue());
+                key.add(getKey(entry.getKey()));
+            }
+            return key;
+        }
+        // unknown conditions are never equal
+        return expression;
+    }
+
+    /**
+     * Compare constants. Only numbers and dates are compared, since order of
+     * other values depends on database, e.g. strings are ordered by collation.
+     *
+     * @param value
+     * @param other
+     * @return result of comparison or null if constants can't be compared
+     */
+    static Integer compare(final Object value, final Object other) {
+        if (value instanceof Number && other instanceof Number) {
+            BigDecimal decimal = toDecimal((Number) value);
+            BigDecimal otherDecimal = toDecimal((Number) other);
+            return decimal != null && otherDecimal != null ? decimal.compareTo(otherDecimal) : null;
+        }
+        if (value instanceof Date && value.getClass() == other.getClass()) {
+            return ((Date) value).compareTo((Date) other);
+        }
+        return null;
+    }
+
+    private static BigDecimal toDecimal(final Number number) {
+        if (number instanceof BigDecimal) {
+            return (BigDecimal) number;
+        }
+        if ((number instanceof Double || number instanceof Float) && (Double.isNaN(number.doubleValue())
+                || Double.isInfinite(number.doubleValue()))) {
+            return null;
+        }
+        try {
+            return new BigDecimal(number.toString());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Constraints of single column in AND chain
+     */
+    private static final class Constraints {
+
+        private final List<Expression> expressions = new ArrayList<Expression>();
+        private final List<Relation> neq = new ArrayList<Relation>();
+        private Relation eq;
+        private Relation lower;
+        private Relation upper;
+        private InExpression in;
+        private Set<Object> inValues;
+        /**
+         * Values of IN expressions fulfilling other constraints
+         */
+        private List<Object> remainingValues;
+        /**
+         * Flag indicates that column is equal to different constants
+         */
+        private boolean conflicting = false;
+        /**
+         * Flag indicates that constants of the column can't be compared
+         */
+        private boolean incomparable = false;
+
+        void add(final Expression expression) {
+            expressions.add(expression);
+            if (expression instanceof InExpression) {
+                addIn((InExpression) expression);
+                return;
+            }
+            Relation relation = (Relation) expression;
+            switch (relation.getType()) {
+            case EQ:
+                if (eq == null) {
+                    eq = relation;
+                } else if (!isEqual(eq.getValue(), relation.getValue())) {
+                    conflicting = true;
+                }
+                break;
+            case NEQ:
+                neq.add(relation);
+                break;
+            case GT:
+            case EG:
+                if (lower == null || isTighter(relation, lower, 1)) {
+                    lower = relation;
+                }
+                break;
+            case LT:
+            case EL:
+                if (upper == null || isTighter(relation, upper, -1)) {
+                    upper = relation;
+                }
+                break;
+            default:
+                incomparable = true;
+            }
+        }
+
+        private void addIn(final InExpression inExpression) {
+            if (in == null) {
+                in = inExpression;
+                inValues = new LinkedHashSet<Object>(inExpression.getValues());
+                return;
+            }
+            Set<Object> intersection = new LinkedHashSet<Object>();
+            for (Object value : inValues) {
+                if (contains(inExpression.getValues(), value)) {
+                    intersection.add(value);
+                }
+            }
+            inValues = intersection;
+        }
+
+        /**
+         * Collapse constraints into the tightest ones
+         *
+         * @param replaced
+         *            replacements of conditions, removed conditions are
+         *            replaced with null
+         * @return false if constraints are contradictory, true otherwise
+         */
+        boolean collapse(final Map<Expression, Expression> replaced) {
+            if (expressions.size() < 2) {
+                return true;
+            }
+            boolean fulfillable = isFulfillable();
+            if (incomparable) {
+                // constants of different types are left to database
+                return true;
+            }
+            if (!fulfillable) {
+                return false;
+            }
+            if (eq != null) {
+                keepOnly(eq, eq, replaced);
+            } else if (in != null) {
+                keepOnly(in, remainingValues.equals(in.getValues()) ? in : in.withValues(remainingValues.toArray()),
+                        replaced);
+            } else {
+                for (Expression expression : expressions) {
+                    if (expression != lower && expression != upper && !neq.contains(expression)) {
+                        replaced.put(expression, null);
+                    }
+                }
+                for (Relation relation : neq) {
+                    if (!isWithinBounds(relation.getValue())) {
+                        // inequality is implied by bounds
+                        replaced.put(relation, null);
+                    }
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Check whether any value of the column fulfils all constraints
+         *
+         * @return
+         */
+        private boolean isFulfillable() {
+            if (conflicting) {
+                return false;
+            }
+            if (eq != null) {
+                Object value = eq.getValue();
+                return !isExcluded(value) && (inValues == null || contains(inValues, value)) && isWithinBounds(value);
+            }
+            if (in != null) {
+                remainingValues = new ArrayList<Object>();
+                for (Object value : inValues) {
+                    if (!isExcluded(value) && isWithinBounds(value)) {
+                        remainingValues.add(value);
+                    }
+                }
+                return !remainingValues.isEmpty();
+            }
+            if (lower != null && upper != null) {
+                Integer comparison = compare(lower.getValue(), upper.getValue());
+                if (comparison == null) {
+                    incomparable = true;
+                    return true;
+                }
+                return comparison < 0 || (comparison == 0 && lower.getType() == Relation.RelationType.EG
+                        && upper.getType() == Relation.RelationType.EL);
+            }
+            return true;
+        }
+
+        /**
+         * Keep single condition of the column
+         *
+         * @param kept
+         *            condition that is kept
+         * @param replacement
+         *            condition written instead of the kept one
+         * @param replaced
+         */
+        private void keepOnly(final Expression kept, final Expression replacement,
+                final Map<Expression, Expression> replaced) {
+            for (Expression expression : expressions) {
+                replaced.put(expression, null);
+            }
+            replaced.put(kept, replacement);
+        }
+
+        private boolean isExcluded(final Object value) {
+            for (Relation relation : neq) {
+                if (isEqual(relation.getValue(), value)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean isWithinBounds(final Object value) {
+            return isWithin(value, lower, 1) && isWithin(value, upper, -1);
+        }
+
+        /**
+         * Check whether value fulfils bound
+         *
+         * @param value
+         * @param bound
+         *            relation of lower or upper bound
+         * @param direction
+         *            1 for lower bound, -1 for upper bound
+         * @return
+         */
+        private boolean isWithin(final Object value, final Relation bound, final int direction) {
+            if (bound == null) {
+                return true;
+            }
+            Integer comparison = compare(value, bound.getValue());
+            if (comparison == null) {
+                incomparable = true;
+                return true;
+            }
+            boolean exclusive = bound.getType() == Relation.RelationType.GT
+                    || bound.getType() == Relation.RelationType.LT;
+            return comparison * direction > 0 || (comparison == 0 && !exclusive);
+        }
+
+        /**
+         * Check whether bound is tighter than other bound
+         *
+         * @param bound
+         * @param other
+         * @param direction
+         *            1 for lower bounds, -1 for upper bounds
+         * @return
+         */
+        private boolean isTighter(final Relation bound, final Relation other, final int direction) {
+            Integer comparison = compare(bound.getValue(), other.getValue());
+            if (comparison == null) {
+                incomparable = true;
+                return false;
+            }
+            if (comparison == 0) {
+                return bound.getType() == Relation.RelationType.GT || bound.getType() == Relation.RelationType.LT;
+            }
+            return comparison * direction > 0;
+        }
+
+        private boolean isEqual(final Object value, final Object other) {
+            Integer comparison = compare(value, other);
+            if (comparison == null) {
+                if (value.getClass() != other.getClass()) {
+                    incomparable = true;
+                }
+                return value.equals(other);
+            }
+            return comparison == 0;
+        }
+
+        private boolean contains(final Iterable<Object> values, final Object value) {
+            for (Object other : values) {
+                if (isEqual(other, value)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+    }
+
+}
@@ -0,0 +1,118 @@
+package com.mwronski.jsql.optimizer;
+
+import com.mwronski.jsql.model.EntityMetadata;
+import com.mwronski.jsql.model.Property;
+import com.mwronski.jsql.model.Table;
+import com.mwronski.jsql.model.Variable;
+import com.mwronski.jsql.model.dql.SelectStatement;
+
+/**
+ * Derivation of statement counting rows of SELECT statement. <br>
+ * Selected columns, order, limit and offset of the statement are dropped and
+ * joins that don't change number of rows are removed by
+ * {@link JoinEliminationRule}. Rows multiplied by joins are counted as they
+ * are returned by the statement. Only distinct rows of the statement are
+ * counted as distinct identifiers of selected table.
+ */
+public final class CountDerivation {
+
+    private static final JoinEliminationRule JOIN_ELIMINATION = new JoinEliminationRule();
+
+    private CountDerivation() {
+        // no instances
+    }
+
+    /**
+     * Derive statement counting rows of given statement
+     *
+     * @param statement
+     * @return statement selecting single number
+     * @throws UnsupportedOperationException
+     *             if rows of statement are grouped or distinct rows aren't
+     *             identified by selected identifier of single table
+     */
+    public static SelectStatement derive(final SelectStatement statement) {
+        if (!statement.getGroupedBy().isEmpty()) {
+            throw new UnsupportedOperationException("Count of grouped rows can't be derived");
+        }
+        Variable id = statement.isDistinct() ? getCountedId(statement) : null;
+        if (statement.isDistinct() && (id == null || !isSelected(statement, id))) {
+            throw new UnsupportedOperationException("Count of distinct rows can be derived only if they are identified"
+                    + " by selected identifier");
+        }
+        SelectStatement count = statement.copy();
+        // key of seek is kept in condition, since order is dropped
+        count.setWhere(statement.getFilter());
+        count.setSeekValues(null);
+        count.getOrder().clear();
+        count.getSelectedColumns().clear();
+        count.getSelectedTables().clear();
+        count.setDistinct(false);
+        count.setCount(true);
+        count.setCountDistinct(null);
+        count.setTotalCount(false);
+        count.setProjection(null);
+        count.setLimit(null);
+        count.setOffset(null);
+        count = JOIN_ELIMINATION.rewrite(count);
+        count.setCountDistinct(id);
+        return count;
+    }
+
+    /**
+     * Get identifier of the only table of FROM which columns are selected
+     *
+     * @param statement
+     * @return identifier column or null if columns of other tables are
+     *         selected or table has no simple identifier
+     */
+    private static Variable getCountedId(final SelectStatement statement) {
+        Table table = null;
+        for (Table selected : statement.getSelectedTables()) {
+            if (table != null && !OptimizerUtil.isSameTable(table, selected)) {
+                return null;
+            }
+            table = selected;
+        }
+        for (Variable column : statement.getSelectedColumns()) {
+            if (table != null && !OptimizerUtil.references(column, table)) {
+                return null;
+            }
+            table = column.getTable();
+        }
+        if (table == null || !isFrom(statement, table)) {
+            return null;
+        }
+        Property<?, ?> id = EntityMetadata.of(table.getTableClass()).getIdProperty();
+        return id != null ? table.column(id) : null;
+    }
+
+    /**
+     * Check whether identifier is selected by statement
+     *
+     * @param statement
+     * @param id
+     * @return
+     */
+    private static boolean isSelected(final SelectStatement statement, final Variable id) {
+        if (!statement.getSelectedTables().isEmpty()) {
+            return true;
+        }
+        for (Variable column : statement.getSelectedColumns()) {
+            if (OptimizerUtil.getKey(column).equals(OptimizerUtil.getKey(id))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isFrom(final SelectStatement statement, final Table table) {
+        for (Table from : statement.getFrom()) {
+            if (OptimizerUtil.isSameTable(from, table)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
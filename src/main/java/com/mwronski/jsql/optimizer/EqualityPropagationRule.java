@@ -0,0 +1,124 @@
+package com.mwronski.jsql.optimizer;
+
+import com.mwronski.jsql.model.Property;
+import com.mwronski.jsql.model.Variable;
+import com.mwronski.jsql.model.dql.JoinStatement;
+import com.mwronski.jsql.model.dql.SelectStatement;
+import com.mwronski.jsql.model.expressions.Expression;
+import com.mwronski.jsql.model.expressions.ExpressionChain;
+import com.mwronski.jsql.model.expressions.Relation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rule propagating equalities to constants across equalities of columns. <br>
+ * If statement requires <code>a.id=b.aId AND a.id=?</code> then condition
+ * <code>b.aId=?</code> is added, so database can filter rows of both tables
+ * by their own columns. Equalities are taken from WHERE and conditions of
+ * inner joins connected by AND, conditions of outer joins are never used.
+ */
+public final class EqualityPropagationRule implements QueryRewriteRule {
+
+    @Override
+    public SelectStatement rewrite(final SelectStatement statement) {
+        Map<Object, Relation> constants = new HashMap<Object, Relation>();
+        List<Relation> equalities = new ArrayList<Relation>();
+        collect(statement.getWhere(), constants, equalities);
+        for (JoinStatement join : statement.getJoins()) {
+            if (join.getDirection() == JoinStatement.Direction.NONE && join.getType() != JoinStatement.Type.OUTER) {
+                collect(join.getOn(), constants, equalities);
+            }
+        }
+        List<Relation> derived = new ArrayList<Relation>();
+        boolean propagated = true;
+        while (propagated) {
+            propagated = false;
+            for (Relation equality : equalities) {
+                propagated |= propagate(equality.getVar(), equality.getVarValue(), constants, derived);
+                propagated |= propagate(equality.getVarValue(), equality.getVar(), constants, derived);
+            }
+        }
+        if (derived.isEmpty()) {
+            return statement;
+        }
+        ExpressionChain where = new ExpressionChain();
+        ExpressionChain original = statement.getWhere();
+        if (original != null && OptimizerUtil.getType(original) == ExpressionChain.Type.AND) {
+            for (Map.Entry<Expression, ExpressionChain.Type> entry : original.getConditions().entrySet()) {
+                where.add(entry.getValue(), entry.getKey());
+            }
+        } else if (original != null) {
+            where.add(ExpressionChain.Type.AND, original);
+        }
+        for (Relation relation : derived) {
+            where.add(ExpressionChain.Type.AND, relation);
+        }
+        SelectStatement rewritten = statement.copy();
+        rewritten.setWhere(where);
+        return rewritten;
+    }
+
+    /**
+     * Collect equalities of chain connected by AND
+     *
+     * @param chain
+     * @param constants
+     *            equalities of columns to constants by keys of columns
+     * @param equalities
+     *            equalities of columns
+     */
+    private static void collect(final ExpressionChain chain, final Map<Object, Relation> constants,
+            final List<Relation> equalities) {
+        if (chain == null || OptimizerUtil.getType(chain) != ExpressionChain.Type.AND) {
+            return;
+        }
+        for (Expression expression : chain.getConditions().keySet()) {
+            if (!(expression instanceof Relation) || OptimizerUtil.isOmitted(expression)) {
+                continue;
+            }
+            Relation relation = (Relation) expression;
+            if (relation.getType() != Relation.RelationType.EQ || relation.isCaseInsensitive()) {
+                continue;
+            }
+            if (relation.hasVarValue()) {
+                equalities.add(relation);
+            } else if (relation.getValue() != null) {
+                Object key = OptimizerUtil.getKey(relation.getVar());
+                if (!constants.containsKey(key)) {
+                    constants.put(key, relation);
+                }
+            }
+        }
+    }
+
+    /**
+     * Propagate constant of column to other column
+     *
+     * @param from
+     *            column which constant is propagated
+     * @param to
+     *            column equal to the first one
+     * @param constants
+     * @param derived
+     *            added conditions
+     * @return true if condition was added
+     */
+    private static boolean propagate(final Variable from, final Variable to, final Map<Object, Relation> constants,
+            final List<Relation> derived) {
+        Relation constant = constants.get(OptimizerUtil.getKey(from));
+        Object key = OptimizerUtil.getKey(to);
+        if (constant == null || constants.containsKey(key)
+                || Property.wrap(from.getType()) != Property.wrap(to.getType())) {
+            return false;
+        }
+        Relation relation = new Relation(to, Relation.RelationType.EQ, constant.getValue(),
+                constant.isNullOmittable(), false);
+        constants.put(key, relation);
+        derived.add(relation);
+        return true;
+    }
+
+}
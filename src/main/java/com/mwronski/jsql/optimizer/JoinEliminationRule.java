@@ -0,0 +1,141 @@
+package com.mwronski.jsql.optimizer;
+
+import com.mwronski.jsql.model.EntityMetadata;
+import com.mwronski.jsql.model.Table;
+import com.mwronski.jsql.model.Variable;
+import com.mwronski.jsql.model.dql.JoinStatement;
+import com.mwronski.jsql.model.dql.SelectStatement;
+import com.mwronski.jsql.model.expressions.Expression;
+import com.mwronski.jsql.model.expressions.ExpressionChain;
+import com.mwronski.jsql.model.expressions.Relation;
+
+import java.util.List;
+
+/**
+ * Rule removing LEFT joins that don't change results of statement. <br>
+ * Join is removed if its table contributes no selected column, condition,
+ * grouping or order and its condition compares identifier or unique column
+ * of the table with single value, so at most one row is joined to each row
+ * of the statement.
+ *
+ * @see EntityMetadata#isUnique(com.mwronski.jsql.model.Property)
+ */
+public final class JoinEliminationRule implements QueryRewriteRule {
+
+    @Override
+    public SelectStatement rewrite(final SelectStatement statement) {
+        if (statement.getSelectedTables().isEmpty() && statement.getSelectedColumns().isEmpty()
+                && !statement.isCount()) {
+            // all columns of joined tables are selected
+            return statement;
+        }
+        SelectStatement rewritten = statement;
+        boolean eliminated = true;
+        while (eliminated) {
+            eliminated = false;
+            List<JoinStatement> joins = rewritten.getJoins();
+            for (int i = joins.size() - 1; i >= 0; i--) {
+                if (isEliminable(rewritten, joins.get(i))) {
+                    if (rewritten == statement) {
+                        rewritten = statement.copy();
+                        joins = rewritten.getJoins();
+                    }
+                    joins.remove(i);
+                    eliminated = true;
+                }
+            }
+        }
+        return rewritten;
+    }
+
+    /**
+     * Check whether join can be removed from statement
+     *
+     * @param statement
+     * @param join
+     * @return
+     */
+    private static boolean isEliminable(final SelectStatement statement, final JoinStatement join) {
+        return join.getDirection() == JoinStatement.Direction.LEFT && join.getType() != JoinStatement.Type.INNER
+                && !isReferenced(statement, join) && joinsAtMostOneRow(join);
+    }
+
+    /**
+     * Check whether table of join is referenced outside of its condition
+     *
+     * @param statement
+     * @param join
+     * @return
+     */
+    private static boolean isReferenced(final SelectStatement statement, final JoinStatement join) {
+        Table table = join.getTable();
+        for (Table selected : statement.getSelectedTables()) {
+            if (OptimizerUtil.isSameTable(selected, table)) {
+                return true;
+            }
+        }
+        if (references(statement.getSelectedColumns(), table) || references(statement.getGroupedBy(), table)
+                || references(statement.getOrder().keySet(), table)
+                || OptimizerUtil.references(statement.getWhere(), table)) {
+            return true;
+        }
+        for (JoinStatement other : statement.getJoins()) {
+            if (other != join && OptimizerUtil.references(other.getOn(), table)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean references(final Iterable<Variable> vars, final Table table) {
+        for (Variable var : vars) {
+            if (OptimizerUtil.references(var, table)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check whether condition of join compares unique column of joined table
+     * with single value
+     *
+     * @param join
+     * @return
+     */
+    private static boolean joinsAtMostOneRow(final JoinStatement join) {
+        ExpressionChain on = join.getOn();
+        if (on == null || OptimizerUtil.getType(on) != ExpressionChain.Type.AND) {
+            return false;
+        }
+        Table table = join.getTable();
+        EntityMetadata metadata = EntityMetadata.of(table.getTableClass());
+        for (Expression expression : on.getConditions().keySet()) {
+            if (!(expression instanceof Relation) || OptimizerUtil.isOmitted(expression)) {
+                continue;
+            }
+            Relation relation = (Relation) expression;
+            if (relation.getType() != Relation.RelationType.EQ || relation.isCaseInsensitive()) {
+                continue;
+            }
+            if (relation.hasVarValue()) {
+                if (isUniqueColumn(relation.getVar(), table, metadata)
+                        && !OptimizerUtil.references(relation.getVarValue(), table)) {
+                    return true;
+                }
+                if (isUniqueColumn(relation.getVarValue(), table, metadata)
+                        && !OptimizerUtil.references(relation.getVar(), table)) {
+                    return true;
+                }
+            } else if (relation.getValue() != null && isUniqueColumn(relation.getVar(), table, metadata)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isUniqueColumn(final Variable var, final Table table, final EntityMetadata metadata) {
+        return OptimizerUtil.references(var, table) && metadata.isUnique(var.getProperty());
+    }
+
+}
@@ -0,0 +1,151 @@
+package com.mwronski.jsql.optimizer;
+
+import com.mwronski.jsql.model.EntityMetadata;
+import com.mwronski.jsql.model.Property;
+import com.mwronski.jsql.model.Table;
+import com.mwronski.jsql.model.Variable;
+import com.mwronski.jsql.model.dql.JoinStatement;
+import com.mwronski.jsql.model.dql.SelectStatement;
+import com.mwronski.jsql.model.expressions.Expression;
+import com.mwronski.jsql.model.expressions.ExpressionChain;
+import com.mwronski.jsql.model.expressions.Relation;
+import com.mwronski.jsql.model.expressions.SubqueryExpression;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rule rewriting <code>x NOT IN (SELECT y ...)</code> into
+ * <code>NOT EXISTS (SELECT y ... AND y=x)</code>, so database can execute
+ * condition as anti-join instead of checking whole result of subquery for each
+ * row. <br>
+ * Conditions differ when any of compared columns is NULL, so only conditions
+ * comparing identifiers of entities are rewritten and only if tables of both
+ * identifiers are selected in FROM or inner joined, so their rows aren't
+ * extended with NULLs by outer joins.
+ */
+public final class NotInToNotExistsRule implements QueryRewriteRule {
+
+    @Override
+    public SelectStatement rewrite(final SelectStatement statement) {
+        ExpressionChain where = rewrite(statement, statement.getWhere());
+        if (where == statement.getWhere()) {
+            return statement;
+        }
+        SelectStatement rewritten = statement.copy();
+        rewritten.setWhere(where);
+        return rewritten;
+    }
+
+    /**
+     * Rewrite conditions of chain
+     *
+     * @param statement
+     *            statement of the chain
+     * @param chain
+     * @return new chain or given chain if none of its conditions was rewritten
+     */
+    private static ExpressionChain rewrite(final SelectStatement statement, final ExpressionChain chain) {
+        if (chain == null) {
+            return null;
+        }
+        List<Expression> expressions = new ArrayList<Expression>();
+        boolean rewritten = false;
+        for (Expression expression : chain.getConditions().keySet()) {
+            Expression result = expression;
+            if (expression instanceof ExpressionChain) {
+                result = rewrite(statement, (ExpressionChain) expression);
+            } else if (expression instanceof SubqueryExpression) {
+                result = rewrite(statement, (SubqueryExpression) expression);
+            }
+            rewritten |= result != expression;
+            expressions.add(result);
+        }
+        if (!rewritten) {
+            return chain;
+        }
+        ExpressionChain copy = new ExpressionChain();
+        int i = 0;
+        for (Map.Entry<Expression, ExpressionChain.Type> entry : chain.getConditions().entrySet()) {
+            copy.add(entry.getValue(), expressions.get(i++));
+        }
+        return copy;
+    }
+
+    /**
+     * Rewrite NOT IN condition into correlated NOT EXISTS
+     *
+     * @param outer
+     *            statement of the condition
+     * @param subquery
+     * @return new condition or given condition if it can't be rewritten
+     */
+    private static Expression rewrite(final SelectStatement outer, final SubqueryExpression subquery) {
+        SelectStatement statement = subquery.getStatement();
+        if (subquery.getType() != SubqueryExpression.Type.NOT_IN || statement.isCount()
+                || statement.getSelectedColumns().size() != 1 || !statement.getSelectedTables().isEmpty()
+                || !statement.getGroupedBy().isEmpty() || statement.getLimit() != null
+                || statement.getOffset() != null) {
+            return subquery;
+        }
+        Variable selected = statement.getSelectedColumns().get(0);
+        if (!isIdentifier(subquery.getVar()) || !isIdentifier(selected)
+                || !isNeverNull(outer, subquery.getVar().getTable()) || !isNeverNull(statement, selected.getTable())) {
+            return subquery;
+        }
+        ExpressionChain where = new ExpressionChain();
+        ExpressionChain original = statement.getWhere();
+        if (original != null && OptimizerUtil.getType(original) == ExpressionChain.Type.AND) {
+            for (Map.Entry<Expression, ExpressionChain.Type> entry : original.getConditions().entrySet()) {
+                where.add(entry.getValue(), entry.getKey());
+            }
+        } else if (original != null) {
+            where.add(ExpressionChain.Type.AND, original);
+        }
+        where.add(ExpressionChain.Type.AND, new Relation(selected, Relation.RelationType.EQ, subquery.getVar()));
+        SelectStatement correlated = statement.copy();
+        correlated.setWhere(where);
+        return new SubqueryExpression(SubqueryExpression.Type.NOT_EXISTS, null, correlated);
+    }
+
+    /**
+     * Check whether column is identifier of its entity
+     *
+     * @param column
+     * @return
+     */
+    private static boolean isIdentifier(final Variable column) {
+        Property<?, ?> id = EntityMetadata.of(column.getTable().getTableClass()).getIdProperty();
+        return id != null && column.getProperty().getName().equals(id.getName());
+    }
+
+    /**
+     * Check whether rows of table are never extended with NULLs by joins of
+     * statement
+     *
+     * @param statement
+     * @param table
+     * @return true if table is selected in FROM or inner joined and statement
+     *         doesn't have RIGHT or FULL joins
+     */
+    private static boolean isNeverNull(final SelectStatement statement, final Table table) {
+        boolean found = false;
+        for (Table from : statement.getFrom()) {
+            found |= OptimizerUtil.isSameTable(from, table);
+        }
+        for (JoinStatement join : statement.getJoins()) {
+            boolean inner = join.getDirection() == JoinStatement.Direction.NONE
+                    && join.getType() != JoinStatement.Type.OUTER;
+            if (inner) {
+                found |= OptimizerUtil.isSameTable(join.getTable(), table);
+            } else if (join.getDirection() != JoinStatement.Direction.LEFT
+                    || OptimizerUtil.isSameTable(join.getTable(), table)) {
+                // joined rows or rows of all other tables can be NULLs
+                return false;
+            }
+        }
+        return found;
+    }
+
+}
@@ -0,0 +1,115 @@
+package com.mwronski.jsql.optimizer;
+
+import com.mwronski.jsql.model.Table;
+import com.mwronski.jsql.model.Variable;
+import com.mwronski.jsql.model.expressions.Expression;
+import com.mwronski.jsql.model.expressions.ExpressionChain;
+import com.mwronski.jsql.model.expressions.InExpression;
+import com.mwronski.jsql.model.expressions.Relation;
+
+import java.util.Arrays;
+
+/**
+ * Util related with analysis of statements by rewrite rules.
+ */
+final class OptimizerUtil {
+
+    private OptimizerUtil() {
+        // no instances
+    }
+
+    /**
+     * Get operator connecting conditions of chain
+     *
+     * @param chain
+     * @return operator or null if chain mixes AND with OR
+     */
+    static ExpressionChain.Type getType(final ExpressionChain chain) {
+        ExpressionChain.Type type = null;
+        boolean first = true;
+        for (ExpressionChain.Type connector : chain.getConditions().values()) {
+            if (first) {
+                // connector of first condition isn't written
+                first = false;
+            } else if (type == null) {
+                type = connector;
+            } else if (type != connector) {
+                return null;
+            }
+        }
+        return type != null ? type : ExpressionChain.Type.AND;
+    }
+
+    /**
+     * Check whether references point to the same table
+     *
+     * @param table
+     * @param other
+     * @return true if tables have the same entity class and alias
+     */
+    static boolean isSameTable(final Table table, final Table other) {
+        return table.getTableClass() == other.getTableClass()
+                && (table.getAlias() == null ? other.getAlias() == null : table.getAlias().equals(other.getAlias()));
+    }
+
+    /**
+     * Get key identifying column of table
+     *
+     * @param var
+     * @return
+     */
+    static Object getKey(final Variable var) {
+        Table table = var.getTable();
+        return Arrays.asList(table.getTableClass(), table.getAlias(), table.getName(), var.getProperty().getName());
+    }
+
+    /**
+     * Check whether condition is omitted while statement is rendered
+     *
+     * @param expression
+     * @return
+     */
+    static boolean isOmitted(final Expression expression) {
+        return expression.isNullOmittable() && expression.isNull();
+    }
+
+    /**
+     * Check whether condition references columns of table
+     *
+     * @param expression
+     * @param table
+     * @return
+     */
+    static boolean references(final Expression expression, final Table table) {
+        if (expression == null || isOmitted(expression)) {
+            return false;
+        } else if (expression instanceof ExpressionChain) {
+            for (Expression child : ((ExpressionChain) expression).getConditions().keySet()) {
+                if (references(child, table)) {
+                    return true;
+                }
+            }
+            return false;
+        } else if (expression instanceof Relation) {
+            Relation relation = (Relation) expression;
+            return references(relation.getVar(), table)
+                    || (relation.hasVarValue() && references(relation.getVarValue(), table));
+        } else if (expression instanceof InExpression) {
+            return references(((InExpression) expression).getVar(), table);
+        }
+        // unknown conditions may reference anything
+        return true;
+    }
+
+    /**
+     * Check whether variable is column of table
+     *
+     * @param var
+     * @param table
+     * @return
+     */
+    static boolean references(final Variable var, final Table table) {
+        return isSameTable(var.getTable(), table);
+    }
+
+}
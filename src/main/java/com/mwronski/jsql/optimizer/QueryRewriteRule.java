@@ -0,0 +1,28 @@
+package com.mwronski.jsql.optimizer;
+
+import com.mwronski.jsql.model.dql.SelectStatement;
+
+/**
+ * Rule rewriting statement into equivalent one that is executed faster. <br>
+ * Rules are registered in options of grammar or in
+ * {@link com.mwronski.jsql.JSql} and applied in order of registration before
+ * statement is rendered. Rule must not modify given statement, it should work
+ * on its copy instead. Rules are shared between threads, so they should be
+ * stateless.
+ *
+ * @see com.mwronski.jsql.grammar.GrammarOptions#withRewriteRules(QueryRewriteRule...)
+ * @see com.mwronski.jsql.JSql#addRewriteRule(QueryRewriteRule)
+ */
+public interface QueryRewriteRule {
+
+    /**
+     * Rewrite statement
+     *
+     * @param statement
+     *            statement that must not be modified
+     * @return rewritten copy of statement or given statement if rule doesn't
+     *         apply to it
+     */
+    SelectStatement rewrite(SelectStatement statement);
+
+}
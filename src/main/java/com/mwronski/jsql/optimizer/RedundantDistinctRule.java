@@ -0,0 +1,54 @@
+package com.mwronski.jsql.optimizer;
+
+import com.mwronski.jsql.model.EntityMetadata;
+import com.mwronski.jsql.model.Property;
+import com.mwronski.jsql.model.Table;
+import com.mwronski.jsql.model.Variable;
+import com.mwronski.jsql.model.dql.SelectStatement;
+
+/**
+ * Rule removing DISTINCT from statement selecting from single table without
+ * joins when identifier of the table is selected, so rows are already unique
+ * and database doesn't have to sort or hash them.
+ */
+public final class RedundantDistinctRule implements QueryRewriteRule {
+
+    @Override
+    public SelectStatement rewrite(final SelectStatement statement) {
+        if (!statement.isDistinct() || statement.isCount() || !statement.getJoins().isEmpty()
+                || !statement.getGroupedBy().isEmpty() || statement.getFrom().size() != 1
+                || !isIdentifierSelected(statement, statement.getFrom().get(0))) {
+            return statement;
+        }
+        SelectStatement rewritten = statement.copy();
+        rewritten.setDistinct(false);
+        return rewritten;
+    }
+
+    /**
+     * Check whether identifier of table is selected
+     *
+     * @param statement
+     * @param table
+     * @return
+     */
+    private static boolean isIdentifierSelected(final SelectStatement statement, final Table table) {
+        Property<?, ?> id = EntityMetadata.of(table.getTableClass()).getIdProperty();
+        if (id == null) {
+            return false;
+        }
+        for (Table selected : statement.getSelectedTables()) {
+            if (OptimizerUtil.isSameTable(selected, table)) {
+                return true;
+            }
+        }
+        for (Variable column : statement.getSelectedColumns()) {
+            if (OptimizerUtil.isSameTable(column.getTable(), table)
+                    && column.getProperty().getName().equals(id.getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,24 @@
+package com.mwronski.jsql.optimizer;
+
+import com.mwronski.jsql.model.dql.SelectStatement;
+
+/**
+ * Listener notified when rewrite rule changes statement
+ *
+ * @see QueryRewriteRule
+ */
+public interface RewriteListener {
+
+    /**
+     * Rule has rewritten statement
+     *
+     * @param rule
+     *            rule that fired
+     * @param statement
+     *            statement before rewriting
+     * @param rewritten
+     *            statement after rewriting
+     */
+    void ruleFired(QueryRewriteRule rule, SelectStatement statement, SelectStatement rewritten);
+
+}
@@ -1,17 +1,24 @@
 package com.mwronski.jsql.parser.dql;
 
+import com.mwronski.jsql.model.Parameter;
+import com.mwronski.jsql.model.Variable;
+import com.mwronski.jsql.model.dql.SelectStatement;
 import com.mwronski.jsql.model.expressions.ExpressionChain;
 import com.mwronski.jsql.model.expressions.InExpression;
 import com.mwronski.jsql.model.expressions.InExpression.CollectionType;
 import com.mwronski.jsql.model.expressions.Relation;
 import com.mwronski.jsql.model.expressions.Relation.RelationType;
+import com.mwronski.jsql.model.expressions.SubqueryExpression;
 import com.mwronski.jsql.recording.SqlRecorder;
 
 /**
  * SQL parser for SQL conditions. Conditions are built in the chain based on
  * current instance of condition. <br>
  * Note: conditions marked as "omittable" will be skipped if they are evaluated
- * as null.
+ * as null. <br>
+ * Parameters can be given as values returned by recorded objects or as
+ * references to columns ({@link com.mwronski.jsql.model.Variable} or
+ * {@link com.mwronski.jsql.model.Property}).
  * 
  * @date 25-02-2013
  * @author Michal Wronski
@@ -112,6 +119,18 @@ public class Condition {
         return addRelation(param, value, RelationType.EQ, omittable, true);
     }
 
+    /**
+     * Case insensitive equals to value of compiled query
+     * 
+     * @param param
+     * @param value
+     *            placeholder of value bound in lower case
+     * @return the same instance
+     */
+    public Condition eqi(final Object param, final Parameter<String> value) {
+        return addRelation(param, value, RelationType.EQ, false, true);
+    }
+
     /**
      * Build condition: param equals value
      * 
@@ -176,6 +195,18 @@ public class Condition {
         return addRelation(param, value, RelationType.NEQ, omittable, true);
     }
 
+    /**
+     * Case insensitive not equals to value of compiled query
+     * 
+     * @param param
+     * @param value
+     *            placeholder of value bound in lower case
+     * @return the same instance
+     */
+    public Condition neqi(final Object param, final Parameter<String> value) {
+        return addRelation(param, value, RelationType.NEQ, false, true);
+    }
+
     /**
      * Build condition: param equal or greater value
      * 
@@ -405,6 +436,76 @@ public class Condition {
         return this;
     }
 
+    /**
+     * Build condition: subquery returns any rows
+     * 
+     * @param subquery
+     *            nested statement that can reference tables of outer
+     *            statement
+     * @return the same instance
+     */
+    public Condition exists(final Select subquery) {
+        return addSubquery(SubqueryExpression.Type.EXISTS, null, subquery);
+    }
+
+    /**
+     * Build condition: subquery doesn't return any rows
+     * 
+     * @param subquery
+     *            nested statement that can reference tables of outer
+     *            statement
+     * @return the same instance
+     */
+    public Condition notExists(final Select subquery) {
+        return addSubquery(SubqueryExpression.Type.NOT_EXISTS, null, subquery);
+    }
+
+    /**
+     * Build condition: param in results of subquery. Subquery must be built
+     * before value of recorded object is passed as param.
+     * 
+     * @param param
+     * @param subquery
+     *            nested statement selecting single column
+     * @return the same instance
+     */
+    public Condition in(final Object param, final Select subquery) {
+        return addSubquery(SubqueryExpression.Type.IN, recorder.variable(param), subquery);
+    }
+
+    /**
+     * Build condition: param not in results of subquery. Subquery must be
+     * built before value of recorded object is passed as param.
+     * 
+     * @param param
+     * @param subquery
+     *            nested statement selecting single column
+     * @return the same instance
+     */
+    public Condition notIn(final Object param, final Select subquery) {
+        return addSubquery(SubqueryExpression.Type.NOT_IN, recorder.variable(param), subquery);
+    }
+
+    /**
+     * Add condition with nested statement
+     * 
+     * @param type
+     * @param var
+     *            column compared to results of subquery or null
+     * @param subquery
+     * @return the same instance
+     * @throws IllegalArgumentException
+     *             if subquery of IN condition doesn't select single column
+     */
+    private Condition addSubquery(final SubqueryExpression.Type type, final Variable var, final Select subquery) {
+        SelectStatement statement = subquery.getStatement();
+        if (var != null && (statement.getSelectedColumns().size() != 1 || !statement.getSelectedTables().isEmpty())) {
+            throw new IllegalArgumentException("Subquery compared to column must select single column");
+        }
+        chain.add(nextConditionType, new SubqueryExpression(type, var, statement));
+        return this;
+    }
+
     ExpressionChain getChain() {
         return chain;
     }
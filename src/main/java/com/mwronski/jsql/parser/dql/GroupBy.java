@@ -31,7 +31,7 @@ public final class GroupBy {
      * @return the same instance
      */
     public GroupBy column(Object column) {
-        statement.getGroupedBy().add(recorder.nextVariable());
+        statement.getGroupedBy().add(recorder.variable(column));
         return this;
     }
 
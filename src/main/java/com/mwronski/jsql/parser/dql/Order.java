@@ -30,7 +30,7 @@ public final class Order {
      * @return this instance
      */
     public Order asc(final Object column) {
-        statement.getOrder().put(recorder.nextVariable(), SelectStatement.ASC);
+        statement.getOrder().put(recorder.variable(column), SelectStatement.ASC);
         return this;
     }
 
@@ -41,7 +41,61 @@ public final class Order {
      * @return this instance
      */
     public Order desc(final Object column) {
-        statement.getOrder().put(recorder.nextVariable(), SelectStatement.DESC);
+        statement.getOrder().put(recorder.variable(column), SelectStatement.DESC);
+        return this;
+    }
+
+    /**
+     * LIMIT clause
+     * 
+     * @param limit
+     *            max number of returned rows
+     * @return this instance
+     * @throws IllegalArgumentException
+     *             if limit is negative
+     */
+    public Order limit(final int limit) {
+        Select.limit(statement, limit);
+        return this;
+    }
+
+    /**
+     * OFFSET clause
+     * 
+     * @param offset
+     *            number of skipped rows
+     * @return this instance
+     * @throws IllegalArgumentException
+     *             if offset is negative
+     */
+    public Order offset(final int offset) {
+        Select.offset(statement, offset);
+        return this;
+    }
+
+    /**
+     * Seek rows placed after row with given key
+     * 
+     * @param lastRowValues
+     *            values of order columns in last row of previous page
+     * @return this instance
+     * @see Select#seekAfter(Object...)
+     */
+    public Order seekAfter(final Object... lastRowValues) {
+        Select.seekAfter(statement, lastRowValues);
+        return this;
+    }
+
+    /**
+     * Seek rows placed after row cursor points to
+     * 
+     * @param cursor
+     *            cursor of previous page
+     * @return this instance
+     * @see Select#seekAfter(PageCursor)
+     */
+    public Order seekAfter(final PageCursor cursor) {
+        Select.seekAfter(statement, cursor.getValues().toArray());
         return this;
     }
 
@@ -0,0 +1,221 @@
+package com.mwronski.jsql.parser.dql;
+
+import java.io.UnsupportedEncodingException;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Cursor of keyset pagination holding key of last row of a page, i.e.
+ * values of order columns the next page is sought after. <br>
+ * Cursor can be passed between requests as opaque token that keeps types of
+ * values. Supported types: String, Long, Integer, Short, Double, Float,
+ * BigDecimal, Boolean, Date and Timestamp.
+ * 
+ * @see Select#seekAfter(PageCursor)
+ */
+public final class PageCursor {
+
+    private static final String CHARSET = "UTF-8";
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final List<Object> values;
+
+    private PageCursor(final List<Object> values) {
+        this.values = Collections.unmodifiableList(values);
+    }
+
+    /**
+     * Create cursor pointing after row with given key
+     * 
+     * @param values
+     *            values of order columns in last row of a page
+     * @return
+     * @throws IllegalArgumentException
+     *             if key is empty, contains null or value of unsupported type
+     */
+    public static PageCursor of(final Object... values) {
+        if (values.length == 0) {
+            throw new IllegalArgumentException("Cursor requires at least one value of key");
+        }
+        for (Object value : values) {
+            getTag(value);
+        }
+        return new PageCursor(new ArrayList<Object>(Arrays.asList(values)));
+    }
+
+    /**
+     * Read cursor from token
+     * 
+     * @param token
+     * @return
+     * @throws IllegalArgumentException
+     *             if token is malformed
+     * @see #getToken()
+     */
+    public static PageCursor parse(final String token) {
+        try {
+            String text = decode(token);
+            List<Object> values = new ArrayList<Object>();
+            int position = 0;
+            while (position < text.length()) {
+                char tag = text.charAt(position);
+                int separator = text.indexOf(':', position);
+                int length = Integer.parseInt(text.substring(position + 1, separator));
+                position = separator + 1 + length;
+                values.add(toValue(tag, text.substring(separator + 1, position)));
+            }
+            if (values.isEmpty()) {
+                throw new IllegalArgumentException("Cursor has no values of key: " + token);
+            }
+            return new PageCursor(values);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed cursor: " + token, e);
+        }
+    }
+
+    /**
+     * Get key of row the cursor points after
+     * 
+     * @return
+     */
+    public List<Object> getValues() {
+        return values;
+    }
+
+    /**
+     * Get token that cursor can be read from
+     * 
+     * @return
+     * @see #parse(String)
+     */
+    public String getToken() {
+        StringBuilder text = new StringBuilder();
+        for (Object value : values) {
+            String string = toText(value);
+            text.append(getTag(value)).append(string.length()).append(':').append(string);
+        }
+        return encode(text.toString());
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        return o instanceof PageCursor && values.equals(((PageCursor) o).values);
+    }
+
+    @Override
+    public int hashCode() {
+        return values.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return getToken();
+    }
+
+    private static char getTag(final Object value) {
+        if (value instanceof String) {
+            return 'S';
+        } else if (value instanceof Long) {
+            return 'L';
+        } else if (value instanceof Integer) {
+            return 'I';
+        } else if (value instanceof Short) {
+            return 'H';
+        } else if (value instanceof Double) {
+            return 'D';
+        } else if (value instanceof Float) {
+            return 'F';
+        } else if (value instanceof BigDecimal) {
+            return 'N';
+        } else if (value instanceof Boolean) {
+            return 'B';
+        } else if (value instanceof Timestamp) {
+            return 'P';
+        } else if (value instanceof Date) {
+            return 'T';
+        }
+        throw new IllegalArgumentException("Unsupported value of cursor: " + value);
+    }
+
+    private static String toText(final Object value) {
+        if (value instanceof Timestamp) {
+            Timestamp timestamp = (Timestamp) value;
+            return timestamp.getTime() + "," + timestamp.getNanos();
+        } else if (value instanceof Date) {
+            return String.valueOf(((Date) value).getTime());
+        }
+        return value.toString();
+    }
+
+    private static Object toValue(final char tag, final String text) {
+        switch (tag) {
+        case 'S':
+            return text;
+        case 'L':
+            return Long.valueOf(text);
+        case 'I':
+            return Integer.valueOf(text);
+        case 'H':
+            return Short.valueOf(text);
+        case 'D':
+            return Double.valueOf(text);
+        case 'F':
+            return Float.valueOf(text);
+        case 'N':
+            return new BigDecimal(text);
+        case 'B':
+            return Boolean.valueOf(text);
+        case 'T':
+            return new Date(Long.parseLong(text));
+        case 'P':
+            int separator = text.indexOf(',');
+            Timestamp timestamp = new Timestamp(Long.parseLong(text.substring(0, separator)));
+            timestamp.setNanos(Integer.parseInt(text.substring(separator + 1)));
+            return timestamp;
+        default:
+            throw new IllegalArgumentException("Unknown type of value: " + tag);
+        }
+    }
+
+    /**
+     * Encode text as hexadecimal digits, so token can be passed in URLs
+     * without escaping
+     * 
+     * @param text
+     * @return
+     */
+    private static String encode(final String text) {
+        try {
+            byte[] bytes = text.getBytes(CHARSET);
+            char[] token = new char[bytes.length * 2];
+            for (int i = 0; i < bytes.length; i++) {
+                token[2 * i] = HEX[(bytes[i] >> 4) & 0xf];
+                token[2 * i + 1] = HEX[bytes[i] & 0xf];
+            }
+            return new String(token);
+        } catch (UnsupportedEncodingException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static String decode(final String token) {
+        if (token.length() % 2 != 0) {
+            throw new IllegalArgumentException("Odd length of token: " + token.length());
+        }
+        try {
+            byte[] bytes = new byte[token.length() / 2];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = (byte) Integer.parseInt(token.substring(2 * i, 2 * i + 2), 16);
+            }
+            return new String(bytes, CHARSET);
+        } catch (UnsupportedEncodingException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+}
@@ -3,9 +3,12 @@ package com.mwronski.jsql.parser.dql;
 import com.mwronski.jsql.model.Table;
 import com.mwronski.jsql.model.Variable;
 import com.mwronski.jsql.model.dql.JoinStatement;
+import com.mwronski.jsql.model.dql.Projection;
 import com.mwronski.jsql.model.dql.SelectStatement;
 import com.mwronski.jsql.recording.SqlRecorder;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -27,14 +30,15 @@ public final class Select {
      * @param recorder
      *            that allows recording of select tokens
      * @param tables
-     *            from which all columns should be taken
+     *            from which all columns should be taken or columns to be
+     *            selected
      */
     public Select(final SqlRecorder recorder, Object... tables) {
         this.recorder = recorder;
         for (Table table : recorder.tables(tables)) {
             statement.getSelectedTables().add(table);
         }
-        List<Variable> columns = recorder.variables();
+        List<Variable> columns = recorder.variables(tables);
         statement.getSelectedColumns().addAll(columns);
     }
 
@@ -199,6 +203,134 @@ public final class Select {
         return new GroupBy(recorder, statement);
     }
 
+    /**
+     * LIMIT clause
+     * 
+     * @param limit
+     *            max number of returned rows
+     * @return the same instance
+     * @throws IllegalArgumentException
+     *             if limit is negative
+     */
+    public Select limit(final int limit) {
+        limit(statement, limit);
+        return this;
+    }
+
+    /**
+     * OFFSET clause
+     * 
+     * @param offset
+     *            number of skipped rows
+     * @return the same instance
+     * @throws IllegalArgumentException
+     *             if offset is negative
+     */
+    public Select offset(final int offset) {
+        offset(statement, offset);
+        return this;
+    }
+
+    /**
+     * Seek rows placed after row with given key in order of the statement.
+     * Unlike offset rows of previous pages aren't read, so page is found by
+     * index of order columns.
+     * 
+     * @param lastRowValues
+     *            values of order columns in last row of previous page
+     * @return the same instance
+     * @throws IllegalArgumentException
+     *             if no values are given or any value is null
+     */
+    public Select seekAfter(final Object... lastRowValues) {
+        seekAfter(statement, lastRowValues);
+        return this;
+    }
+
+    /**
+     * Seek rows placed after row cursor points to
+     * 
+     * @param cursor
+     *            cursor of previous page
+     * @return the same instance
+     * @see #seekAfter(Object...)
+     */
+    public Select seekAfter(final PageCursor cursor) {
+        seekAfter(statement, cursor.getValues().toArray());
+        return this;
+    }
+
+    /**
+     * Set key of row that rows of statement are sought after
+     * 
+     * @param statement
+     * @param lastRowValues
+     * @throws IllegalArgumentException
+     *             if no values are given or any value is null
+     */
+    static void seekAfter(final SelectStatement statement, final Object... lastRowValues) {
+        if (lastRowValues.length == 0) {
+            throw new IllegalArgumentException("Key of last row has no values");
+        }
+        for (Object value : lastRowValues) {
+            if (value == null) {
+                throw new IllegalArgumentException("Rows can't be sought after null value");
+            }
+        }
+        statement.setSeekValues(new ArrayList<Object>(Arrays.asList(lastRowValues)));
+    }
+
+    /**
+     * Set limit of statement
+     * 
+     * @param statement
+     * @param limit
+     * @throws IllegalArgumentException
+     *             if limit is negative
+     */
+    static void limit(final SelectStatement statement, final int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit can't be negative, is: " + limit);
+        }
+        statement.setLimit(limit);
+    }
+
+    /**
+     * Set offset of statement
+     * 
+     * @param statement
+     * @param offset
+     * @throws IllegalArgumentException
+     *             if offset is negative
+     */
+    static void offset(final SelectStatement statement, final int offset) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset can't be negative, is: " + offset);
+        }
+        statement.setOffset(offset);
+    }
+
+    /**
+     * Return rows as instances of given class created by constructor which
+     * parameters match selected columns. Entities aren't hydrated, so it's
+     * cheaper than selecting whole entities for read-only views.
+     * 
+     * @param resultClass
+     *            class with constructor accepting selected columns
+     * @return the same instance
+     * @throws IllegalStateException
+     *             if no columns or whole tables are selected
+     * @throws IllegalArgumentException
+     *             if result class has no matching constructor
+     */
+    public Select into(final Class<?> resultClass) {
+        if (statement.getSelectedColumns().isEmpty() || !statement.getSelectedTables().isEmpty()) {
+            throw new IllegalStateException("Only selected columns can be mapped into " + resultClass.getName());
+        }
+        statement.setProjection(Projection.of(resultClass, statement.getSelectedColumns()));
+        return this;
+    }
+
     /**
      * SELECT COUNT clause
      * 
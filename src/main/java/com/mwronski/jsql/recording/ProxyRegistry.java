@@ -0,0 +1,132 @@
+package com.mwronski.jsql.recording;
+
+import net.sf.cglib.proxy.Callback;
+import net.sf.cglib.proxy.CallbackFilter;
+import net.sf.cglib.proxy.Enhancer;
+import net.sf.cglib.proxy.Factory;
+import net.sf.cglib.proxy.MethodInterceptor;
+import net.sf.cglib.proxy.MethodProxy;
+import net.sf.cglib.proxy.NoOp;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Process-wide registry of recordable proxy classes. Proxy class is generated
+ * only once per recorded class and new instances are created from its
+ * prototype. <br>
+ * Only getters of recorded class are routed to the recorder, all other methods
+ * are invoked directly on the super class.
+ */
+final class ProxyRegistry {
+
+    /**
+     * Index of callback for recorded methods
+     */
+    static final int RECORDED = 0;
+    /**
+     * Index of callback for methods that are not recorded
+     */
+    static final int NOT_RECORDED = 1;
+
+    private static final CallbackFilter GETTERS_FILTER = new CallbackFilter() {
+
+        @Override
+        public int accept(final Method method) {
+            return isGetter(method) ? RECORDED : NOT_RECORDED;
+        }
+
+    };
+
+    private static final MethodInterceptor PROTOTYPE_INTERCEPTOR = new MethodInterceptor() {
+
+        @Override
+        public Object intercept(final Object o, final Method method, final Object[] args,
+                final MethodProxy methodProxy) throws Throwable {
+            return methodProxy.invokeSuper(o, args);
+        }
+
+    };
+
+    private static final ConcurrentMap<Class<?>, Factory> PROTOTYPES = new ConcurrentHashMap<Class<?>, Factory>();
+
+    private ProxyRegistry() {
+        // no instances
+    }
+
+    /**
+     * Create new recordable instance of given class
+     *
+     * @param clazz
+     *            class to be recorded
+     * @param callbacks
+     *            callbacks for recorded and not recorded methods
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T newInstance(final Class<T> clazz, final Callback[] callbacks) {
+        return (T) getPrototype(clazz).newInstance(callbacks);
+    }
+
+    /**
+     * Get prototype of proxy class generating it if needed
+     *
+     * @param clazz
+     *            class to be recorded
+     * @return
+     */
+    static Factory getPrototype(final Class<?> clazz) {
+        Factory prototype = PROTOTYPES.get(clazz);
+        if (prototype == null) {
+            prototype = createPrototype(clazz);
+            Factory registered = PROTOTYPES.putIfAbsent(clazz, prototype);
+            if (registered != null) {
+                prototype = registered;
+            }
+        }
+        return prototype;
+    }
+
+    /**
+     * Remove all prototypes
+     */
+    static void clear() {
+        PROTOTYPES.clear();
+    }
+
+    /**
+     * Generate proxy class and its prototype instance
+     *
+     * @param clazz
+     * @return
+     */
+    private static Factory createPrototype(final Class<?> clazz) {
+        Enhancer e = new Enhancer();
+        e.setSuperclass(clazz);
+        e.setCallbackFilter(GETTERS_FILTER);
+        e.setCallbacks(new Callback[] { PROTOTYPE_INTERCEPTOR, NoOp.INSTANCE });
+        return (Factory) e.create();
+    }
+
+    /**
+     * Check whether method is JavaBean getter
+     *
+     * @param method
+     * @return
+     */
+    static boolean isGetter(final Method method) {
+        if (method.getParameterTypes().length > 0 || method.getReturnType() == void.class) {
+            return false;
+        }
+        String name = method.getName();
+        if (name.startsWith("get")) {
+            return name.length() > 3 && !name.equals("getClass");
+        } else if (name.startsWith("is")) {
+            return name.length() > 2
+                    && (method.getReturnType() == boolean.class || method.getReturnType() == Boolean.class);
+        }
+        return false;
+    }
+
+}
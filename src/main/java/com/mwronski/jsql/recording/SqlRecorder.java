@@ -1,10 +1,12 @@
 package com.mwronski.jsql.recording;
 
+import com.mwronski.jsql.model.Property;
 import com.mwronski.jsql.model.Table;
 import com.mwronski.jsql.model.Variable;
-import net.sf.cglib.proxy.Enhancer;
+import net.sf.cglib.proxy.Callback;
 import net.sf.cglib.proxy.MethodInterceptor;
 import net.sf.cglib.proxy.MethodProxy;
+import net.sf.cglib.proxy.NoOp;
 
 import java.lang.reflect.Method;
 import java.util.*;
@@ -19,15 +21,19 @@ import java.util.*;
 public final class SqlRecorder implements MethodInterceptor {
 
     private final List<Variable> invocations = new LinkedList<Variable>();
-    private final Map<Object, Table> sourceTokens = new HashMap<Object, Table>();
+    /**
+     * Recorded objects are compared by identity so proxies of entities that
+     * override equals/hashCode don't collide
+     */
+    private final Map<Object, Table> sourceTokens = new IdentityHashMap<Object, Table>();
+    private final Callback[] callbacks = new Callback[] { this, NoOp.INSTANCE };
 
     @Override
     public Object intercept(final Object o, final Method method, final Object[] args, final MethodProxy methodProxy)
             throws Throwable {
-        if (method.getName().equals("hashCode") || method.getName().equals("equals")) {
-            return methodProxy.invokeSuper(o, args);
-        } else if (sourceTokens.containsKey(o)) {
-            invocations.add(new Variable(sourceTokens.get(o), method));
+        Table table = sourceTokens.get(o);
+        if (table != null) {
+            invocations.add(new Variable(table, method));
         }
         return methodProxy.invokeSuper(o, args);
     }
@@ -41,6 +47,33 @@ public final class SqlRecorder implements MethodInterceptor {
         return !invocations.isEmpty() ? invocations.remove(0) : null;
     }
 
+    /**
+     * Get variable for given object
+     * 
+     * @param o
+     *            variable, property or value returned by recorded object
+     * @return given variable, variable of property or next recorded variable
+     */
+    public Variable variable(final Object o) {
+        if (o instanceof Variable) {
+            return (Variable) o;
+        } else if (o instanceof Property) {
+            Property<?, ?> property = (Property<?, ?>) o;
+            return new Table(property.getEntityClass(), null).column(property);
+        }
+        return nextVariable();
+    }
+
+    /**
+     * Check whether given object references variable without recording
+     * 
+     * @param o
+     * @return true if object is variable or property, false otherwise
+     */
+    public boolean isReference(final Object o) {
+        return o instanceof Variable || o instanceof Property;
+    }
+
     /**
      * Get recorded variables
      * 
@@ -52,6 +85,29 @@ public final class SqlRecorder implements MethodInterceptor {
         return tokens;
     }
 
+    /**
+     * Get variables for given objects
+     * 
+     * @param objects
+     *            variables, properties or values returned by recorded objects
+     * @return variables in order of given objects
+     */
+    public List<Variable> variables(final Object[] objects) {
+        List<Variable> tokens = new ArrayList<Variable>();
+        for (Object object : objects) {
+            if (isReference(object)) {
+                tokens.add(variable(object));
+            } else if (!(object instanceof Table) && !sourceTokens.containsKey(object)) {
+                Variable variable = nextVariable();
+                if (variable != null) {
+                    tokens.add(variable);
+                }
+            }
+        }
+        tokens.addAll(variables());
+        return tokens;
+    }
+
     /**
      * Get SQL tables based on recorded objects
      * 
@@ -91,6 +147,10 @@ public final class SqlRecorder implements MethodInterceptor {
      *            recorded object
      */
     private void loadToken(final List<Table> tokens, final Object o) {
+        if (o instanceof Table) {
+            tokens.add((Table) o);
+            return;
+        }
         Table token = sourceTokens.get(o);
         if (token != null) {
             tokens.add(token);
@@ -98,21 +158,37 @@ public final class SqlRecorder implements MethodInterceptor {
     }
 
     /**
-     * Record invocations on given class
+     * Record invocations of getters on given class. Proxy classes are shared
+     * between recorders so only new instance of proxy is created here.
      * 
      * @param clazz
      *            source class to be recorded
      * @param alias
      * @return recordable object that can be used while building SQL commands
      */
-    @SuppressWarnings("unchecked")
     public <T> T record(final Class<T> clazz, final String alias) {
-        Enhancer e = new Enhancer();
-        e.setSuperclass(clazz);
-        e.setCallback(this);
-        T recorableObject = (T) e.create();
+        T recorableObject = ProxyRegistry.newInstance(clazz, callbacks);
         sourceTokens.put(recorableObject, new Table(clazz, alias));
         return recorableObject;
     }
 
+    /**
+     * Generate proxy class for given class in advance, so first recording of
+     * the class doesn't pay for it
+     * 
+     * @param clazz
+     *            source class to be recorded
+     */
+    public static void prepare(final Class<?> clazz) {
+        ProxyRegistry.getPrototype(clazz);
+    }
+
+    /**
+     * Remove proxy classes generated so far, so recorded classes can be
+     * unloaded
+     */
+    public static void clearPrototypes() {
+        ProxyRegistry.clear();
+    }
+
 }
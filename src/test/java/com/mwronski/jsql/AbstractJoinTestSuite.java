@@ -1,5 +1,7 @@
 package com.mwronski.jsql;
 
+import com.mwronski.jsql.model.Property;
+import com.mwronski.jsql.model.Table;
 import com.mwronski.jsql.parser.dql.Select;
 import com.mwronski.jsql.test.Entity;
 import com.mwronski.jsql.test.JSqlTestCase;
@@ -14,6 +16,9 @@ import org.junit.Test;
  */
 public abstract class AbstractJoinTestSuite extends JSqlTestCase {
 
+    private static final Property<Entity, Long> ID = Property.of(Entity.class, "id", Long.class);
+    private static final Property<Entity, String> STRING = Property.of(Entity.class, "string", String.class);
+
     @Test
     public final void testJoin() {
         Entity entity1 = sql.alias(Entity.class, "e1");
@@ -211,6 +216,16 @@ public abstract class AbstractJoinTestSuite extends JSqlTestCase {
         verifyJoinWhere(sql);
     }
 
+    @Test
+    public final void testJoinWhere_Properties() {
+        Table entity1 = sql.table(Entity.class, "e1");
+        Table entity2 = sql.table(Entity.class, "e2");
+        Select select = sql.select(entity1.column(ID), entity2.column(STRING)).from(entity1);
+        select.join(entity2).on(sql.cond().eq(entity1.column(ID), entity2.column(ID)));
+        select.where().eq(entity1.column(STRING), "aaa").and().eq(entity2.column(STRING), "bbb");
+        verifyJoinWhere(sql);
+    }
+
     /**
      * Verify SQL statement for: <br>
      * SELECT e1.id, e2.string FROM Entity e1 JOIN Entity e2 ON e1.id=e2.id
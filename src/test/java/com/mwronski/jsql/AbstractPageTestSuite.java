@@ -0,0 +1,142 @@
+package com.mwronski.jsql;
+
+import com.mwronski.jsql.optimizer.ConditionOptimizer;
+import com.mwronski.jsql.test.Entity;
+import com.mwronski.jsql.test.EntityView;
+import com.mwronski.jsql.test.JSqlTestCase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+
+/**
+ * Test cases check pages of results with total number of rows
+ */
+public abstract class AbstractPageTestSuite extends JSqlTestCase {
+
+    private static final int ROWS = 5;
+
+    @Before
+    @Override
+    public void setUp() {
+        super.setUp();
+        em.getTransaction().begin();
+        for (long id = 1; id <= ROWS; id++) {
+            em.createNativeQuery("INSERT INTO Entity (id, string) VALUES (?1, ?2)").setParameter(1, -id)
+                    .setParameter(2, "s" + id).executeUpdate();
+        }
+    }
+
+    @After
+    @Override
+    public void tearDown() {
+        em.getTransaction().rollback();
+        super.tearDown();
+    }
+
+    @Test
+    public final void testFirstPage() {
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select(e.getId(), e.getString()).from(e).where(sql.cond().lt(e.getId(), 0L)).orderBy().desc(e.getId());
+        Page<Object[]> page = sql.selectPage(em, null, 0, 2);
+        assertEquals(ROWS, page.getTotalCount());
+        assertEquals(2, page.getResultList().size());
+        assertEquals(2, page.getResultList().get(0).length);
+        assertEquals(-1L, ((Number) page.getResultList().get(0)[0]).longValue());
+        assertEquals("s2", page.getResultList().get(1)[1]);
+        assertTrue(page.hasNext());
+    }
+
+    @Test
+    public final void testLastPage() {
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select(e.getId()).from(e).where(sql.cond().lt(e.getId(), 0L)).orderBy().desc(e.getId());
+        Page<Object> page = sql.selectPage(em, 4, 2);
+        assertEquals(ROWS, page.getTotalCount());
+        assertEquals(1, page.getResultList().size());
+        assertEquals(-5L, ((Number) page.getResultList().get(0)).longValue());
+        assertFalse(page.hasNext());
+    }
+
+    @Test
+    public final void testPageAfterLastRow() {
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select(e.getId()).from(e).where(sql.cond().lt(e.getId(), 0L)).orderBy().desc(e.getId());
+        Page<Object> page = sql.selectPage(em, 10, 2);
+        assertTrue(page.getResultList().isEmpty());
+        assertEquals(ROWS, page.getTotalCount());
+        assertFalse(page.hasNext());
+    }
+
+    @Test
+    public final void testPageOfEntities() {
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select(e).from(e).where(sql.cond().lt(e.getId(), 0L)).orderBy().asc(e.getId());
+        Page<Entity> page = sql.selectPage(em, Entity.class, 2, 2);
+        assertEquals(ROWS, page.getTotalCount());
+        assertEquals(2, page.getResultList().size());
+        assertEquals(Long.valueOf(-3), page.getResultList().get(0).getId());
+        assertEquals("s3", page.getResultList().get(0).getString());
+        assertTrue(page.hasNext());
+    }
+
+    @Test
+    public final void testPageMappedIntoView() {
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select(e.getId(), e.getString()).from(e).into(EntityView.class).where(sql.cond().lt(e.getId(), 0L))
+                .orderBy().asc(e.getId());
+        Page<EntityView> page = sql.selectPage(em, EntityView.class, 0, 3);
+        assertEquals(ROWS, page.getTotalCount());
+        assertEquals(3, page.getResultList().size());
+        assertEquals(-ROWS, page.getResultList().get(0).getId());
+        assertEquals("s" + ROWS, page.getResultList().get(0).getString());
+    }
+
+    @Test
+    public final void testPageOfContradictoryStatement() {
+        sql.setConditionOptimizer(new ConditionOptimizer());
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select(e.getId()).from(e).where(sql.cond().eq(e.getId(), 1L).and().eq(e.getId(), 2L));
+        Page<Object> page = sql.selectPage(em, 0, 2);
+        assertTrue(page.getResultList().isEmpty());
+        assertEquals(0, page.getTotalCount());
+    }
+
+    @Test
+    public final void testPageOfDistinctEntities() {
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select(e).distinct().from(e).where(sql.cond().lt(e.getId(), 0L)).orderBy().asc(e.getId());
+        Page<Entity> page = sql.selectPage(em, Entity.class, 0, 2);
+        assertEquals(ROWS, page.getTotalCount());
+        assertEquals(Long.valueOf(-ROWS), page.getResultList().get(0).getId());
+    }
+
+    @Test
+    public final void testCountQuery() {
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select(e.getId(), e.getString()).from(e).where(sql.cond().lt(e.getId(), -2L)).orderBy().desc(e.getId());
+        String statement = sql.toString();
+        assertEquals(ROWS - 2, sql.countQuery(em));
+        // current statement isn't changed
+        assertEquals(statement, sql.toString());
+        assertEquals(ROWS - 2, sql.getQuery(em).getResultList().size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public final void testInvalidLimit() {
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select(e).from(e);
+        sql.selectPage(em, 0, 0);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public final void testPageOfDistinctRows() {
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select(e.getString()).distinct().from(e);
+        sql.selectPage(em, 0, 2);
+    }
+
+}
@@ -1,9 +1,16 @@
 package com.mwronski.jsql;
 
+import com.mwronski.jsql.model.Property;
+import com.mwronski.jsql.model.Table;
+import com.mwronski.jsql.parser.dql.PageCursor;
 import com.mwronski.jsql.test.Entity;
+import com.mwronski.jsql.test.EntityMeta;
+import com.mwronski.jsql.test.EntityView;
 import com.mwronski.jsql.test.JSqlTestCase;
 import org.junit.Test;
 
+import static junit.framework.Assert.assertEquals;
+
 /**
  * Test cases for basic select statements without where condition. Test cases
  * focus on selecting columns, order, count, distinct etc.
@@ -14,6 +21,9 @@ import org.junit.Test;
  */
 public abstract class AbstractSelectTestSuite extends JSqlTestCase {
 
+    private static final Property<Entity, Long> ID = Property.of(Entity.class, "id", Long.class);
+    private static final Property<Entity, String> STRING = Property.of(Entity.class, "string", String.class);
+
     @Test
     public final void testSelectAll() {
         Entity entity = sql.alias(Entity.class);
@@ -180,6 +190,13 @@ public abstract class AbstractSelectTestSuite extends JSqlTestCase {
         verifySelectOrderByManyColumnsDesc(sql);
     }
 
+    @Test
+    public final void testSelectOrderByManyParametersDesc_Properties() {
+        Table entity = sql.table(Entity.class, "e");
+        sql.select().from(entity).orderBy().desc(entity.column(STRING)).asc(entity.column(ID));
+        verifySelectOrderByManyColumnsDesc(sql);
+    }
+
     /**
      * Verify SQL statement for: <br>
      * SELECT e.* FROM Entity e order by e.string desc, e.id
@@ -213,6 +230,89 @@ public abstract class AbstractSelectTestSuite extends JSqlTestCase {
      */
     protected abstract void verifySelectDistinct(JSql sql);
 
+    @Test
+    public final void testSelectLimit() {
+        Entity entity = sql.alias(Entity.class, "e");
+        sql.select(entity.getId()).from(entity).limit(10);
+        verifySelectLimit(sql);
+    }
+
+    /**
+     * Verify SQL statement for: <br>
+     * SELECT e.id FROM Entity e LIMIT 10
+     */
+    protected abstract void verifySelectLimit(JSql sql);
+
+    @Test
+    public final void testSelectLimitOffset() {
+        Entity entity = sql.alias(Entity.class, "e");
+        sql.select(entity.getId()).from(entity).orderBy().asc(entity.getId()).limit(5).offset(20);
+        verifySelectLimitOffset(sql);
+    }
+
+    /**
+     * Verify SQL statement for: <br>
+     * SELECT e.id FROM Entity e ORDER BY e.id LIMIT 5 OFFSET 20
+     */
+    protected abstract void verifySelectLimitOffset(JSql sql);
+
+    @Test
+    public final void testSelectSeekAfter() {
+        Entity entity = sql.alias(Entity.class, "e");
+        sql.select(entity.getId()).from(entity).where(sql.cond().eq(entity.getSecondString(), "x")).orderBy()
+                .asc(entity.getString()).asc(entity.getId()).seekAfter("a", 5L).limit(10);
+        verifySelectSeekAfter(sql);
+    }
+
+    /**
+     * Verify SQL statement for: <br>
+     * SELECT e.id FROM Entity e WHERE e.secondString='x' AND (e.string, e.id) >
+     * ('a', 5) ORDER BY e.string, e.id LIMIT 10
+     */
+    protected abstract void verifySelectSeekAfter(JSql sql);
+
+    @Test
+    public final void testSelectSeekAfterMixedOrder() {
+        Entity entity = sql.alias(Entity.class, "e");
+        sql.select(entity.getId(), entity.getString()).from(entity).orderBy().desc(entity.getString())
+                .asc(entity.getId()).seekAfter(PageCursor.of("a", 5L));
+        verifySelectSeekAfterMixedOrder(sql);
+    }
+
+    /**
+     * Verify SQL statement for: <br>
+     * SELECT e.id, e.string FROM Entity e WHERE e.string<'a' OR (e.string='a'
+     * AND e.id>5) ORDER BY e.string DESC, e.id
+     */
+    protected abstract void verifySelectSeekAfterMixedOrder(JSql sql);
+
+    @Test(expected = IllegalStateException.class)
+    public final void testSelectSeekAfterWithoutOrder() {
+        Entity entity = sql.alias(Entity.class, "e");
+        sql.select(entity.getId()).from(entity).seekAfter(5L);
+        sql.toString();
+    }
+
+    @Test
+    public final void testSelectInto() {
+        Entity entity = sql.alias(Entity.class, "e");
+        sql.select(entity.getId(), entity.getString()).distinct().from(entity).into(EntityView.class);
+        verifySelectInto(sql);
+    }
+
+    /**
+     * Verify SQL statement for: <br>
+     * SELECT DISTINCT e.id, e.string FROM Entity e mapped into
+     * {@link EntityView}
+     */
+    protected abstract void verifySelectInto(JSql sql);
+
+    @Test(expected = IllegalArgumentException.class)
+    public final void testSelectIntoWithoutConstructor() {
+        Entity entity = sql.alias(Entity.class, "e");
+        sql.select(entity.getString(), entity.getId()).from(entity).into(EntityView.class);
+    }
+
     @Test
     public final void testSelectGroupBy() {
         Entity entity = sql.alias(Entity.class, "e");
@@ -221,12 +321,36 @@ public abstract class AbstractSelectTestSuite extends JSqlTestCase {
         verifySelectGroupBy(sql);
     }
 
+    @Test
+    public final void testSelectCheckColumnNames_Metamodel() {
+        sql.select(EntityMeta.id, EntityMeta.string, EntityMeta.secondString).from(EntityMeta.table());
+        verifySelectCheckColumnNames(sql);
+    }
+
+    @Test
+    public final void testSelectGroupBy_Properties() {
+        Table entity = sql.table(Entity.class, "e");
+        sql.select(entity.column(ID), entity.column(STRING)).from(entity).groupBy().column(entity.column(STRING))
+                .column(entity.column(ID));
+        verifySelectGroupBy(sql);
+    }
+
     /**
      * Verify SQL statement for: <br>
      * SELECT e.* FROM Entity e GROUP BY e.string, e.id
      */
     protected abstract void verifySelectGroupBy(JSql sql);
 
+    @Test
+    public final void testSelectAppendTo() throws Exception {
+        JSql sql = new JSql(getSqlGrammar(), null);
+        Entity entity = sql.alias(Entity.class, "e");
+        sql.select(entity.getId(), entity.getString()).from(entity).orderBy().asc(entity.getId());
+        StringBuilder out = new StringBuilder("-- ");
+        sql.appendTo(out);
+        assertEquals("-- " + sql.toString(), out.toString());
+    }
+
     @Test
     public final void testSelectGroupByWithColumns() {
         Entity entity = sql.alias(Entity.class, "e");
@@ -1,8 +1,11 @@
 package com.mwronski.jsql;
 
+import com.mwronski.jsql.model.Property;
+import com.mwronski.jsql.model.Table;
 import com.mwronski.jsql.parser.dql.Condition;
 import com.mwronski.jsql.parser.dql.Select;
 import com.mwronski.jsql.test.Entity;
+import com.mwronski.jsql.test.EntityMeta;
 import com.mwronski.jsql.test.JSqlTestCase;
 import org.junit.Test;
 
@@ -15,6 +18,9 @@ import org.junit.Test;
  */
 public abstract class AbstractSelectWhereTestSuite extends JSqlTestCase {
 
+    private static final Property<Entity, Long> ID = Property.of(Entity.class, "id", Long.class);
+    private static final Property<Entity, String> STRING = Property.of(Entity.class, "string", String.class);
+
     @Test
     public final void testSelectWhere() {
         Entity entity = sql.alias(Entity.class);
@@ -31,6 +37,12 @@ public abstract class AbstractSelectWhereTestSuite extends JSqlTestCase {
         verifySelectWhere(sql);
     }
 
+    @Test
+    public final void testSelectWhere_Properties() {
+        sql.select(ID, STRING).from(sql.table(Entity.class)).where(sql.cond().eq(ID, 5l).and().eq(STRING, "aaa"));
+        verifySelectWhere(sql);
+    }
+
     /**
      * Verify SQL statement for: <br>
      * SELECT id, string FROM Entity WHERE id=5 AND string='aaa'
@@ -118,6 +130,29 @@ public abstract class AbstractSelectWhereTestSuite extends JSqlTestCase {
         verifySelectWhereWithAlias(sql);
     }
 
+    @Test
+    public final void testSelectWhere_Metamodel() {
+        sql.select(EntityMeta.id, EntityMeta.string).from(EntityMeta.table())
+                .where(sql.cond().eq(EntityMeta.id, 5l).and().eq(EntityMeta.string, "aaa"));
+        verifySelectWhere(sql);
+    }
+
+    @Test
+    public final void testSelectWhere_AliasMetamodel() {
+        Table entity = EntityMeta.table("e");
+        sql.select(entity.column(EntityMeta.id), entity.column(EntityMeta.string)).from(entity)
+                .where(sql.cond().eq(entity.column(EntityMeta.id), 5l).and().eq(entity.column(EntityMeta.string), "aaa"));
+        verifySelectWhereWithAlias(sql);
+    }
+
+    @Test
+    public final void testSelectWhere_AliasProperties() {
+        Table entity = sql.table(Entity.class, "e");
+        sql.select(entity.column(ID), entity.column(STRING)).from(entity).where().eq(entity.column(ID), 5l).and()
+                .eq(entity.column(STRING), "aaa");
+        verifySelectWhereWithAlias(sql);
+    }
+
     /**
      * Verify SQL statement for: <br>
      * SELECT e.id, e.string FROM Entity e WHERE e.id=5 AND e.string='aaa'
@@ -190,12 +225,88 @@ public abstract class AbstractSelectWhereTestSuite extends JSqlTestCase {
         verifySelectColumnsFromManyTablesWithWhere(sql);
     }
 
+    @Test
+    public final void testSelectColumnsFromManyTables_WhereProperties() {
+        Table entity1 = sql.table(Entity.class, "e1");
+        Table entity2 = sql.table(Entity.class, "e2");
+        Select select = sql.select(entity1.column(ID), entity2.column(STRING)).from(entity1, entity2);
+        select.where(sql.cond().eq(entity1.column(ID), entity2.column(ID), true));
+        verifySelectColumnsFromManyTablesWithWhere(sql);
+    }
+
+    @Test
+    public final void testSelectColumnsFromManyTables_WhereMixed() {
+        Entity entity1 = sql.alias(Entity.class, "e1");
+        Table entity2 = sql.table(Entity.class, "e2");
+        Select select = sql.select(entity1.getId(), entity2.column(STRING)).from(entity1, entity2);
+        select.where(sql.cond().eq(entity1.getId(), entity2.column(ID), true));
+        verifySelectColumnsFromManyTablesWithWhere(sql);
+    }
+
     /**
      * Verify SQL statement for: <br>
      * SELECT e1.id, e2.string FROM Entity e1, Entity e2 WHERE e1.id=e2.id
      */
     protected abstract void verifySelectColumnsFromManyTablesWithWhere(JSql sql);
 
+    @Test
+    public final void testSelectWhereExists() {
+        Entity e1 = sql.alias(Entity.class, "e1");
+        Entity e2 = sql.alias(Entity.class, "e2");
+        sql.select(e1.getId()).from(e1).where(sql.cond().eq(e1.getString(), "a").and().exists(
+                sql.subquery(e2.getId()).from(e2).where(sql.cond().eq(e2.getString(), e1.getSecondString()).and()
+                        .gt(e2.getId(), 5l))).and().eq(e1.getSecondString(), "b"));
+        verifySelectWhereExists(sql);
+    }
+
+    /**
+     * Verify SQL statement for: <br>
+     * SELECT e1.id FROM Entity e1 WHERE e1.string='a' AND EXISTS (SELECT e2.id
+     * FROM Entity e2 WHERE e2.string=e1.secondString AND e2.id>5) AND
+     * e1.secondString='b'
+     */
+    protected abstract void verifySelectWhereExists(JSql sql);
+
+    @Test
+    public final void testSelectWhereNotExists() {
+        Entity e1 = sql.alias(Entity.class, "e1");
+        Entity e2 = sql.alias(Entity.class, "e2");
+        sql.select(e1.getId()).from(e1).where(sql.cond().notExists(
+                sql.subquery().from(e2).where(sql.cond().eq(e2.getString(), e1.getString()))));
+        verifySelectWhereNotExists(sql);
+    }
+
+    /**
+     * Verify SQL statement for: <br>
+     * SELECT e1.id FROM Entity e1 WHERE NOT EXISTS (SELECT e2.* FROM Entity e2
+     * WHERE e2.string=e1.string)
+     */
+    protected abstract void verifySelectWhereNotExists(JSql sql);
+
+    @Test
+    public final void testSelectWhereInSubquery() {
+        Entity e1 = sql.alias(Entity.class, "e1");
+        Entity e2 = sql.alias(Entity.class, "e2");
+        Select subquery = sql.subquery(e2.getId()).from(e2).where(sql.cond().eq(e2.getString(), "a"));
+        sql.select(e1.getId()).from(e1).where(sql.cond().in(e1.getId(), subquery));
+        verifySelectWhereInSubquery(sql);
+    }
+
+    /**
+     * Verify SQL statement for: <br>
+     * SELECT e1.id FROM Entity e1 WHERE e1.id IN (SELECT e2.id FROM Entity e2
+     * WHERE e2.string='a')
+     */
+    protected abstract void verifySelectWhereInSubquery(JSql sql);
+
+    @Test(expected = IllegalArgumentException.class)
+    public final void testSelectWhereInSubqueryOfManyColumns() {
+        Entity e1 = sql.alias(Entity.class, "e1");
+        Entity e2 = sql.alias(Entity.class, "e2");
+        Select subquery = sql.subquery(e2.getId(), e2.getString()).from(e2);
+        sql.cond().in(e1.getId(), subquery);
+    }
+
     @Test
     public final void testSelectIn() {
         Entity entity = sql.alias(Entity.class);
@@ -203,6 +314,12 @@ public abstract class AbstractSelectWhereTestSuite extends JSqlTestCase {
         verifySelectWhereWithInCondition(sql);
     }
 
+    @Test
+    public final void testSelectIn_Properties() {
+        sql.select(ID, STRING).from(sql.table(Entity.class)).where(sql.cond().in(ID, 1l, 3l, 5l));
+        verifySelectWhereWithInCondition(sql);
+    }
+
     /**
      * Verify SQL statement for: <br>
      * SELECT id, string FROM Entity WHERE id IN (1,3,5)
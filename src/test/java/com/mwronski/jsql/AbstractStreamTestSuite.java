@@ -0,0 +1,144 @@
+package com.mwronski.jsql;
+
+import com.mwronski.jsql.test.Entity;
+import com.mwronski.jsql.test.EntityView;
+import com.mwronski.jsql.test.JSqlTestCase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+import static junit.framework.Assert.fail;
+
+/**
+ * Test cases check streaming of results from cursor of database
+ */
+public abstract class AbstractStreamTestSuite extends JSqlTestCase {
+
+    private static final int ROWS = 5;
+
+    @Before
+    @Override
+    public void setUp() {
+        super.setUp();
+        em.getTransaction().begin();
+        for (long id = 1; id <= ROWS; id++) {
+            em.createNativeQuery("INSERT INTO Entity (id, string) VALUES (?1, ?2)").setParameter(1, -id)
+                    .setParameter(2, "s" + id).executeUpdate();
+        }
+    }
+
+    @After
+    @Override
+    public void tearDown() {
+        em.getTransaction().rollback();
+        super.tearDown();
+    }
+
+    @Test
+    public final void testStreamColumns() {
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select(e.getId(), e.getString()).from(e).where(sql.cond().lt(e.getId(), 0L)).orderBy().desc(e.getId());
+        ResultStream<Object[]> stream = sql.<Object[]> stream(em, null, 2);
+        try {
+            long id = -1;
+            while (stream.hasNext()) {
+                Object[] row = stream.next();
+                assertEquals(id, ((Number) row[0]).longValue());
+                assertEquals("s" + -id, row[1]);
+                id--;
+            }
+            assertEquals(ROWS, stream.getPosition());
+        } finally {
+            stream.close();
+        }
+        try {
+            stream.next();
+            fail("Row read from closed stream");
+        } catch (NoSuchElementException ex) {
+            // expected
+        }
+    }
+
+    @Test
+    public final void testStreamEntities() {
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select(e).from(e).where(sql.cond().lt(e.getId(), 0L)).orderBy().asc(e.getId());
+        ResultStream<Entity> stream = sql.stream(em, Entity.class, 2);
+        List<Entity> entities = new ArrayList<Entity>();
+        while (stream.hasNext()) {
+            entities.add(stream.next());
+        }
+        assertEquals(ROWS, entities.size());
+        assertEquals(Long.valueOf(-ROWS), entities.get(0).getId());
+        assertEquals("s" + ROWS, entities.get(0).getString());
+        // persistence context was cleared while rows were read
+        assertFalse(em.contains(entities.get(0)));
+    }
+
+    @Test
+    public final void testOtherEntitiesKeptManaged() {
+        Entity managed = em.find(Entity.class, -1L);
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select(e).from(e).where(sql.cond().lt(e.getId(), -1L)).orderBy().asc(e.getId());
+        ResultStream<Entity> stream = sql.stream(em, Entity.class, 2);
+        Entity first = stream.next();
+        while (stream.hasNext()) {
+            stream.next();
+        }
+        assertFalse(em.contains(first));
+        assertTrue(em.contains(managed));
+    }
+
+    @Test
+    public final void testManagedEntityOfRowKept() {
+        Entity managed = em.find(Entity.class, -1L);
+        managed.setString("changed");
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select(e).from(e).where(sql.cond().lt(e.getId(), 0L)).orderBy().desc(e.getId());
+        ResultStream<Entity> stream = sql.stream(em, Entity.class, 1);
+        Entity first = stream.next();
+        Entity second = stream.next();
+        while (stream.hasNext()) {
+            stream.next();
+        }
+        assertTrue(first == managed);
+        assertTrue(em.contains(managed));
+        assertFalse(em.contains(second));
+        em.flush();
+        em.clear();
+        assertEquals("changed", em.find(Entity.class, -1L).getString());
+    }
+
+    @Test
+    public final void testRowsMappedIntoView() {
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select(e.getId(), e.getString()).from(e).into(EntityView.class).where(sql.cond().lt(e.getId(), 0L))
+                .orderBy().asc(e.getId());
+        List<?> views = sql.getQuery(em).getResultList();
+        assertEquals(ROWS, views.size());
+        EntityView view = (EntityView) views.get(0);
+        assertEquals(-ROWS, view.getId());
+        assertEquals("s" + ROWS, view.getString());
+        ResultStream<EntityView> stream = sql.stream(em, EntityView.class, 2);
+        try {
+            assertEquals(-ROWS, stream.next().getId());
+        } finally {
+            stream.close();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public final void testInvalidFetchSize() {
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select(e).from(e);
+        sql.stream(em, Entity.class, 0);
+    }
+
+}
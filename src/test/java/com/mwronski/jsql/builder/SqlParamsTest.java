@@ -0,0 +1,62 @@
+package com.mwronski.jsql.builder;
+
+import com.mwronski.jsql.model.Parameter;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertTrue;
+
+/**
+ * Test cases check vector of SQL parameters
+ */
+public class SqlParamsTest {
+
+    @Test
+    public void testAddTaggedValues() {
+        SqlParams params = new SqlParams(1);
+        assertEquals(1, params.add("a"));
+        assertEquals(2, params.add(1L));
+        assertEquals(3, params.add(null));
+        assertEquals(4, params.add(Arrays.asList(1, 2)));
+        assertEquals(4, params.size());
+        assertEquals("a", params.get(1));
+        assertEquals(SqlParams.Type.STRING, params.getType(1));
+        assertEquals(SqlParams.Type.LONG, params.getType(2));
+        assertEquals(SqlParams.Type.NULL, params.getType(3));
+        assertEquals(SqlParams.Type.COLLECTION, params.getType(4));
+        assertFalse(params.hasPlaceholders());
+    }
+
+    @Test
+    public void testPlaceholders() {
+        SqlParams params = new SqlParams();
+        params.add(new Parameter<Long>(0, Long.class));
+        assertEquals(SqlParams.Type.PARAMETER, params.getType(1));
+        assertTrue(params.hasPlaceholders());
+    }
+
+    @Test
+    public void testReuseAfterClear() {
+        SqlParams params = new SqlParams();
+        params.add("a");
+        SqlParams copy = params.copy();
+        params.clear();
+        assertEquals(0, params.size());
+        assertEquals(1, params.add(2));
+        assertEquals(SqlParams.Type.INTEGER, params.getType(1));
+        assertEquals("a", copy.get(1));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testIndexOutOfBounds() {
+        SqlParams params = new SqlParams();
+        params.add("a");
+        params.clear();
+        assertNull(params.get(1));
+    }
+
+}
@@ -0,0 +1,140 @@
+package com.mwronski.jsql.builder;
+
+import com.mwronski.jsql.JSql;
+import com.mwronski.jsql.grammar.SqlGrammar;
+import com.mwronski.jsql.grammar.jpql.JPQL;
+import com.mwronski.jsql.grammar.postgresql.PostgreSQL;
+import com.mwronski.jsql.model.dql.SelectStatement;
+import com.mwronski.jsql.parser.dql.Select;
+import com.mwronski.jsql.test.Entity;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertTrue;
+
+/**
+ * Test cases check caching of statements by their shapes
+ */
+public class StatementCacheTest {
+
+    private StatementCache cache;
+    private final Map<JSql, SelectStatement> statements = new HashMap<JSql, SelectStatement>();
+
+    @Before
+    public void setUp() {
+        cache = new StatementCache(2);
+    }
+
+    @Test
+    public void testSameShapeDifferentValues() {
+        JSql sql1 = select(new PostgreSQL(), 1L, "a");
+        JSql sql2 = select(new PostgreSQL(), 2L, "b");
+        assertEquals(shape(sql1), shape(sql2));
+        assertEquals("SELECT e.id FROM Entity e WHERE e.id=?1 AND e.string=?2", sql1.toString());
+        assertEquals(1, cache.size());
+        assertEquals(sql1.toString(), sql2.toString());
+        assertEquals(1, cache.size());
+        SqlParams params = new PostgreSQL().selectBuilder().bindParameters(
+                shape(sql2).getParameterSources());
+        assertEquals(2, params.size());
+        assertEquals(2L, params.get(1));
+        assertEquals("b", params.get(2));
+    }
+
+    @Test
+    public void testOmittedConditionChangesShape() {
+        JSql sql1 = select(new PostgreSQL(), 1L, "A");
+        JSql sql2 = select(new PostgreSQL(), 1L, null);
+        assertFalse(shape(sql1).equals(shape(sql2)));
+        assertEquals("SELECT e.id FROM Entity e WHERE e.id=?1 AND e.string=?2", sql1.toString());
+        assertEquals("SELECT e.id FROM Entity e WHERE e.id=?1", sql2.toString());
+        assertEquals(1, shape(sql2).getParameterSources().size());
+    }
+
+    @Test
+    public void testGrammarIsPartOfKey() {
+        select(new PostgreSQL(), 1L, "a").toString();
+        JSql sql = select(new JPQL(), 1L, "a");
+        assertNull(cache.get(new JPQL(), shape(sql)));
+        assertEquals("SELECT e.id FROM Entity e WHERE e.id=?1 AND e.string=?2", sql.toString());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedStatementsRemoved() {
+        JSql sql1 = select(new PostgreSQL(), 1L, "a");
+        sql1.toString();
+        select(new PostgreSQL(), 1L, null).toString();
+        sql1.toString();
+        select(new PostgreSQL(), null, null).toString();
+        assertEquals(2, cache.size());
+        assertEquals("SELECT e.id FROM Entity e WHERE e.id=?1 AND e.string=?2",
+                cache.get(new PostgreSQL(), shape(sql1)));
+        assertNull(cache.get(new PostgreSQL(), shape(select(new PostgreSQL(), 1L, null))));
+    }
+
+    @Test
+    public void testSeekValuesRebound() {
+        JSql sql1 = seek(new JPQL(), "a", 1L);
+        JSql sql2 = seek(new JPQL(), "b", 2L);
+        assertEquals(shape(sql1), shape(sql2));
+        assertEquals(
+                "SELECT e.id FROM Entity e WHERE (e.string<?1 OR (e.string=?2 AND e.id>?3)) ORDER BY e.string DESC, e.id",
+                sql1.toString());
+        assertEquals(sql1.toString(), sql2.toString());
+        assertEquals(1, cache.size());
+        SqlParams params = new JPQL().selectBuilder().bindParameters(shape(sql2).getParameterSources());
+        assertEquals(3, params.size());
+        assertEquals("b", params.get(1));
+        assertEquals("b", params.get(2));
+        assertEquals(2L, params.get(3));
+    }
+
+    @Test
+    public void testSizeOfSegmentedCacheBounded() {
+        cache = new StatementCache(128);
+        for (int i = 0; i < 300; i++) {
+            JSql sql = new JSql(new PostgreSQL(), cache);
+            Entity e = sql.alias(Entity.class, "e" + i);
+            sql.select(e.getId()).from(e);
+            assertEquals("SELECT e" + i + ".id FROM Entity e" + i, sql.toString());
+        }
+        assertTrue(cache.size() <= 128);
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidSize() {
+        new StatementCache(0);
+    }
+
+    private JSql select(final SqlGrammar grammar, final Long id, final String string) {
+        JSql sql = new JSql(grammar, cache);
+        Entity e = sql.alias(Entity.class, "e");
+        Select select = sql.select(e.getId()).from(e);
+        select.where(sql.cond().eq(e.getId(), id, true).and().eq(e.getString(), string, true));
+        statements.put(sql, select.getStatement());
+        return sql;
+    }
+
+    private JSql seek(final SqlGrammar grammar, final String string, final Long id) {
+        JSql sql = new JSql(grammar, cache);
+        Entity e = sql.alias(Entity.class, "e");
+        Select select = sql.select(e.getId()).from(e);
+        select.orderBy().desc(e.getString()).asc(e.getId()).seekAfter(string, id);
+        statements.put(sql, select.getStatement());
+        return sql;
+    }
+
+    private StatementShape shape(final JSql sql) {
+        return StatementShape.of(statements.get(sql));
+    }
+
+}
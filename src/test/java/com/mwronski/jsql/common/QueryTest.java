@@ -109,6 +109,28 @@ public abstract class QueryTest extends AbstractSelectWhereTestSuite {
         verifyNoMoreInteractions(mockQuery);
     }
 
+    @Override
+    protected void verifySelectWhereExists(final JSql sql) {
+        sql.getQuery(mockEntityManager, Entity.class);
+        verify(mockQuery).setParameter(1, "a");
+        verify(mockQuery).setParameter(2, 5l);
+        verify(mockQuery).setParameter(3, "b");
+        verifyNoMoreInteractions(mockQuery);
+    }
+
+    @Override
+    protected void verifySelectWhereNotExists(final JSql sql) {
+        sql.getQuery(mockEntityManager, Entity.class);
+        verifyNoMoreInteractions(mockQuery);
+    }
+
+    @Override
+    protected void verifySelectWhereInSubquery(final JSql sql) {
+        sql.getQuery(mockEntityManager, Entity.class);
+        verify(mockQuery).setParameter(1, "a");
+        verifyNoMoreInteractions(mockQuery);
+    }
+
     @Override
     protected void verifySelectWhereWithInCondition(final JSql sql) {
         sql.getQuery(mockEntityManager, Entity.class);
@@ -76,6 +76,20 @@ public abstract class SQLSelectWhereTest extends AbstractSelectWhereTestSuite {
         assertQueryExecutable(sql, em);
     }
 
+    @Override
+    protected void verifySelectWhereExists(final JSql sql) {
+        assertEquals("SELECT e1.id FROM Entity e1 WHERE e1.string=?1 AND EXISTS (SELECT e2.id FROM Entity e2 "
+                + "WHERE e2.string=e1.secondString AND e2.id>?2) AND e1.secondString=?3", sql.toString());
+        assertQueryExecutable(sql, em);
+    }
+
+    @Override
+    protected void verifySelectWhereInSubquery(final JSql sql) {
+        assertEquals("SELECT e1.id FROM Entity e1 WHERE e1.id IN (SELECT e2.id FROM Entity e2 WHERE e2.string=?1)",
+                sql.toString());
+        assertQueryExecutable(sql, em);
+    }
+
     @Override
     protected void verifySelectWhereWithInCondition(final JSql sql) {
         assertEquals("SELECT id, string FROM Entity WHERE id IN (?1)", sql.toString());
@@ -0,0 +1,52 @@
+package com.mwronski.jsql.jpql;
+
+import com.mwronski.jsql.CompiledQuery;
+import com.mwronski.jsql.grammar.SqlGrammar;
+import com.mwronski.jsql.grammar.jpql.JPQL;
+import com.mwronski.jsql.model.Parameter;
+import com.mwronski.jsql.test.Entity;
+import com.mwronski.jsql.test.JSqlTestCase;
+import org.junit.Test;
+
+import javax.persistence.Query;
+import java.util.Arrays;
+import java.util.List;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNotNull;
+
+/**
+ * Test cases check compiled queries
+ */
+public class JPQLCompiledQueryTest extends JSqlTestCase {
+
+    @Override
+    public SqlGrammar getSqlGrammar() {
+        return new JPQL();
+    }
+
+    @Test
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    public void testCompile() {
+        Entity e = sql.alias(Entity.class, "e");
+        Parameter<Long> id = sql.param(Long.class);
+        Parameter<List> strings = sql.param(List.class);
+        sql.select(e).from(e).where(sql.cond().eq(e.getId(), id).or().in(e.getString(), strings));
+        CompiledQuery query = sql.compile();
+        assertEquals("SELECT e FROM Entity e WHERE e.id=?1 OR e.string IN (?2)", query.getSQL());
+        assertNotNull(query.bind(1L, Arrays.asList("a", "b")).getQuery(em).getResultList());
+    }
+
+    @Test
+    public void testCompile_Limit() {
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select(e.getId()).from(e).where(sql.cond().gt(e.getId(), sql.param(Long.class))).limit(3).offset(1);
+        CompiledQuery query = sql.compile();
+        assertEquals("SELECT e.id FROM Entity e WHERE e.id>?1", query.getSQL());
+        Query jpaQuery = query.bind(0L).getQuery(em);
+        assertEquals(3, jpaQuery.getMaxResults());
+        assertEquals(1, jpaQuery.getFirstResult());
+        assertNotNull(jpaQuery.getResultList());
+    }
+
+}
@@ -2,11 +2,21 @@ package com.mwronski.jsql.jpql;
 
 import com.mwronski.jsql.AbstractJoinTestSuite;
 import com.mwronski.jsql.JSql;
+import com.mwronski.jsql.builder.StatementCache;
 import com.mwronski.jsql.grammar.SqlGrammar;
 import com.mwronski.jsql.grammar.jpql.JPQL;
+import com.mwronski.jsql.optimizer.JoinEliminationRule;
+import com.mwronski.jsql.parser.dql.Select;
+import com.mwronski.jsql.test.Child;
+import com.mwronski.jsql.test.Entity;
+import com.mwronski.jsql.test.Parent;
+import org.junit.Test;
+
+import javax.persistence.Query;
 
 import static com.mwronski.jsql.test.TestUtil.assertQueryExecutable;
 import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.fail;
 
 public class JPQLJoinTest extends AbstractJoinTestSuite {
 
@@ -76,4 +86,123 @@ public class JPQLJoinTest extends AbstractJoinTestSuite {
                 sql.toString());
         assertQueryExecutable(sql, em);
     }
+
+    @Test
+    public void testJoinByAssociation() {
+        Child c = sql.alias(Child.class, "c");
+        Parent p = sql.alias(Parent.class, "p");
+        Select select = sql.select(c.getId(), p.getName()).from(c);
+        select.join(p).on(sql.cond().eq(c.getParent(), p.getId()).and().eq(p.getName(), "x"));
+        assertEquals("SELECT c.id, p.name FROM Child c JOIN c.parent p WHERE (p.name=?1)", sql.toString());
+        assertQueryExecutable(sql, em);
+    }
+
+    @Test
+    public void testJoinOfAssociatedEntitiesByOtherColumns() {
+        Child c = sql.alias(Child.class, "c");
+        Parent p = sql.alias(Parent.class, "p");
+        sql.select(c).from(c).join(p).on(sql.cond().eq(c.getName(), p.getName()));
+        assertEquals("SELECT c FROM Child c, Parent p WHERE (c.name=p.name)", sql.toString());
+        assertQueryExecutable(sql, em);
+    }
+
+    @Test
+    public void testLeftJoinByAssociation() {
+        Child c = sql.alias(Child.class, "c");
+        Parent p = sql.alias(Parent.class, "p");
+        Select select = sql.select(c.getId(), p.getName()).from(c);
+        select.leftJoin(p).on(sql.cond().eq(c.getParent(), p.getId()));
+        assertEquals("SELECT c.id, p.name FROM Child c LEFT JOIN c.parent p", sql.toString());
+        assertQueryExecutable(sql, em);
+    }
+
+    @Test
+    public void testLeftJoinWithoutAssociationKey() {
+        Child c = sql.alias(Child.class, "c");
+        Parent p = sql.alias(Parent.class, "p");
+        Select select = sql.select(c.getId(), p.getName()).from(c);
+        select.leftJoin(p).on(sql.cond().eq(p.getName(), "x"));
+        assertOuterJoinUnsupported(sql);
+    }
+
+    @Test
+    public void testLeftJoinOfEntitiesWithoutAssociation() {
+        Entity e1 = sql.alias(Entity.class, "e1");
+        Entity e2 = sql.alias(Entity.class, "e2");
+        Select select = sql.select(e1.getId(), e2.getString()).from(e1);
+        select.leftJoin(e2).on(sql.cond().eq(e1.getString(), e2.getString()));
+        assertOuterJoinUnsupported(sql);
+    }
+
+    @Test
+    public void testLeftJoinByAssociationWithCondition() {
+        Child c = sql.alias(Child.class, "c");
+        Parent p = sql.alias(Parent.class, "p");
+        Select select = sql.select(c.getId(), p.getName()).from(c);
+        select.leftJoin(p).on(sql.cond().eq(c.getParent(), p.getId()).and().eq(p.getName(), "x"));
+        select.where(sql.cond().gt(c.getId(), 0L));
+        assertEquals("SELECT c.id, p.name FROM Child c LEFT JOIN c.parent p WITH p.name=?1 WHERE c.id>?2",
+                sql.toString());
+        assertQueryExecutable(sql, em);
+    }
+
+    @Test
+    public void testLeftJoinByCollectionAssociation() {
+        Parent p = sql.alias(Parent.class, "p");
+        Child c = sql.alias(Child.class, "c");
+        Select select = sql.select(p.getId(), c.getName()).from(p);
+        select.leftJoin(c).on(sql.cond().eq(c.getParent(), p.getId()));
+        assertEquals("SELECT p.id, c.name FROM Parent p LEFT JOIN p.children c", sql.toString());
+        assertQueryExecutable(sql, em);
+    }
+
+    @Test
+    public void testUnusedLeftJoinEliminated() {
+        sql.addRewriteRule(new JoinEliminationRule());
+        Entity e1 = sql.alias(Entity.class, "e1");
+        Entity e2 = sql.alias(Entity.class, "e2");
+        Select select = sql.select(e1.getId()).from(e1);
+        select.leftJoin(e2).on(sql.cond().eq(e1.getId(), e2.getId()));
+        assertEquals("SELECT e1.id FROM Entity e1", sql.toString());
+        assertQueryExecutable(sql, em);
+    }
+
+    @Test
+    public void testJoinParametersReboundInRenderedOrder() {
+        StatementCache cache = new StatementCache(8);
+        JSql first = joinWithOuterJoin(cache, "a", "b");
+        assertEquals("SELECT c.id FROM Child c, Entity e LEFT JOIN c.parent p WITH p.name=?2 WHERE (e.string=?1)",
+                first.toString());
+        assertBound(first.getQuery(em), "a", "b");
+        JSql second = joinWithOuterJoin(cache, "c", "d");
+        assertEquals(first.toString(), second.toString());
+        assertEquals(1, cache.size());
+        assertBound(second.getQuery(em), "c", "d");
+    }
+
+    private JSql joinWithOuterJoin(final StatementCache cache, final String string, final String name) {
+        JSql sql = new JSql(new JPQL(), cache);
+        Child c = sql.alias(Child.class, "c");
+        Entity e = sql.alias(Entity.class, "e");
+        Parent p = sql.alias(Parent.class, "p");
+        Select select = sql.select(c.getId()).from(c);
+        select.join(e).on(sql.cond().eq(e.getString(), string));
+        select.leftJoin(p).on(sql.cond().eq(c.getParent(), p.getId()).and().eq(p.getName(), name));
+        return sql;
+    }
+
+    private static void assertBound(final Query query, final String string, final String name) {
+        assertEquals(string, query.getParameterValue(1));
+        assertEquals(name, query.getParameterValue(2));
+    }
+
+    private static void assertOuterJoinUnsupported(final JSql sql) {
+        try {
+            sql.toString();
+            fail("Outer join of entities without association rendered: " + sql);
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+    }
+
 }
@@ -0,0 +1,37 @@
+package com.mwronski.jsql.jpql;
+
+import com.mwronski.jsql.grammar.SqlGrammar;
+import com.mwronski.jsql.grammar.common.MetamodelNamingStrategy;
+import com.mwronski.jsql.grammar.jpql.JPQL;
+import com.mwronski.jsql.test.MappedEntity;
+import com.mwronski.jsql.test.TestDB;
+import org.junit.Test;
+
+import static com.mwronski.jsql.test.TestUtil.assertQueryExecutable;
+import static junit.framework.Assert.assertEquals;
+
+/**
+ * Test cases check statements built with names resolved from meta-model of
+ * entity manager factory
+ */
+public class JPQLMetamodelSelectWhereTest extends JPQLSelectWhereTest {
+
+    private static MetamodelNamingStrategy namingStrategy;
+
+    @Override
+    public SqlGrammar getSqlGrammar() {
+        if (namingStrategy == null) {
+            namingStrategy = new MetamodelNamingStrategy(TestDB.getEntityManagerFactory());
+        }
+        return new JPQL(namingStrategy);
+    }
+
+    @Test
+    public void testSelectWhere_EntityNames() {
+        MappedEntity m = sql.alias(MappedEntity.class);
+        sql.select(m.getValue()).from(m).where(sql.cond().eq(m.getId(), 1L));
+        assertEquals("SELECT Mapped.value FROM Mapped Mapped WHERE Mapped.id=?1", sql.toString());
+        assertQueryExecutable(sql, em);
+    }
+
+}
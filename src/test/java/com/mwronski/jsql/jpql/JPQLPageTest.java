@@ -0,0 +1,46 @@
+package com.mwronski.jsql.jpql;
+
+import com.mwronski.jsql.AbstractPageTestSuite;
+import com.mwronski.jsql.Page;
+import com.mwronski.jsql.grammar.SqlGrammar;
+import com.mwronski.jsql.grammar.jpql.JPQL;
+import com.mwronski.jsql.parser.dql.Select;
+import com.mwronski.jsql.test.Child;
+import com.mwronski.jsql.test.Parent;
+import org.junit.Test;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+
+public class JPQLPageTest extends AbstractPageTestSuite {
+
+    @Override
+    public SqlGrammar getSqlGrammar() {
+        return new JPQL();
+    }
+
+    @Test
+    public void testPagesOfRowsMultipliedByJoin() {
+        em.createNativeQuery("INSERT INTO Parent (id, name) VALUES (-1, 'p')").executeUpdate();
+        for (long id = 1; id <= 2; id++) {
+            em.createNativeQuery("INSERT INTO Child (id, name, parent_id) VALUES (?1, 'x', -1)").setParameter(1, -id)
+                    .executeUpdate();
+        }
+        Parent p = sql.alias(Parent.class, "p");
+        Child c = sql.alias(Child.class, "c");
+        Select select = sql.select(p).from(p);
+        select.join(c).on(sql.cond().eq(c.getParent(), p.getId()).and().eq(c.getName(), "x"));
+        assertEquals(2, sql.getQuery(em).getResultList().size());
+        assertEquals(2, sql.countQuery(em));
+        Page<Parent> page = sql.selectPage(em, Parent.class, 0, 1);
+        assertEquals(2, page.getTotalCount());
+        assertTrue(page.hasNext());
+        page = sql.selectPage(em, Parent.class, 1, 1);
+        assertEquals(1, page.getResultList().size());
+        assertFalse(page.hasNext());
+        select.distinct();
+        assertEquals(1, sql.countQuery(em));
+    }
+
+}
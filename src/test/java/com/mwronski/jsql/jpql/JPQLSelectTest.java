@@ -5,8 +5,11 @@ import com.mwronski.jsql.common.SQLSelectTest;
 import com.mwronski.jsql.grammar.SqlGrammar;
 import com.mwronski.jsql.grammar.jpql.JPQL;
 
+import javax.persistence.Query;
+
 import static com.mwronski.jsql.test.TestUtil.assertQueryExecutable;
 import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNotNull;
 
 public class JPQLSelectTest extends SQLSelectTest {
 
@@ -15,6 +18,24 @@ public class JPQLSelectTest extends SQLSelectTest {
         return new JPQL();
     }
 
+    @Override
+    protected void verifySelectLimit(final JSql sql) {
+        assertEquals("SELECT e.id FROM Entity e", sql.toString());
+        Query query = sql.getQuery(em);
+        assertEquals(10, query.getMaxResults());
+        assertEquals(0, query.getFirstResult());
+        assertNotNull(query.getResultList());
+    }
+
+    @Override
+    protected void verifySelectLimitOffset(final JSql sql) {
+        assertEquals("SELECT e.id FROM Entity e ORDER BY e.id", sql.toString());
+        Query query = sql.getQuery(em);
+        assertEquals(5, query.getMaxResults());
+        assertEquals(20, query.getFirstResult());
+        assertNotNull(query.getResultList());
+    }
+
     @Override
     protected void verifySelectAll(final JSql sql) {
         assertEquals("SELECT Entity FROM Entity Entity", sql.toString());
@@ -27,6 +48,28 @@ public class JPQLSelectTest extends SQLSelectTest {
         assertQueryExecutable(sql, em);
     }
 
+    @Override
+    protected void verifySelectSeekAfter(final JSql sql) {
+        assertEquals(
+                "SELECT e.id FROM Entity e WHERE e.secondString=?1 AND (e.string>?2 OR (e.string=?3 AND e.id>?4)) ORDER BY e.string, e.id",
+                sql.toString());
+        assertQueryExecutable(sql, em);
+    }
+
+    @Override
+    protected void verifySelectSeekAfterMixedOrder(final JSql sql) {
+        assertEquals(
+                "SELECT e.id, e.string FROM Entity e WHERE (e.string<?1 OR (e.string=?2 AND e.id>?3)) ORDER BY e.string DESC, e.id",
+                sql.toString());
+        assertQueryExecutable(sql, em);
+    }
+
+    @Override
+    protected void verifySelectInto(final JSql sql) {
+        assertEquals("SELECT DISTINCT NEW com.mwronski.jsql.test.EntityView(e.id, e.string) FROM Entity e", sql.toString());
+        assertQueryExecutable(sql, em);
+    }
+
     @Override
     protected void verifySelectManyTables(final JSql sql) {
         assertEquals("SELECT e1, e2 FROM Entity e1, Entity e2", sql.toString());
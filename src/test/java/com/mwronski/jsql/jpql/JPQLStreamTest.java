@@ -0,0 +1,14 @@
+package com.mwronski.jsql.jpql;
+
+import com.mwronski.jsql.AbstractStreamTestSuite;
+import com.mwronski.jsql.grammar.SqlGrammar;
+import com.mwronski.jsql.grammar.jpql.JPQL;
+
+public class JPQLStreamTest extends AbstractStreamTestSuite {
+
+    @Override
+    public SqlGrammar getSqlGrammar() {
+        return new JPQL();
+    }
+
+}
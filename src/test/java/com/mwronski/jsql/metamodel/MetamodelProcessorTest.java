@@ -0,0 +1,133 @@
+package com.mwronski.jsql.metamodel;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+
+/**
+ * Test cases check metamodel generated for entities
+ */
+public class MetamodelProcessorTest {
+
+    private File directory;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = File.createTempFile("metamodel", "");
+        directory.delete();
+        directory.mkdir();
+    }
+
+    @After
+    public void tearDown() {
+        delete(directory);
+    }
+
+    @Test
+    public void testPropertiesWithoutColumnsSkipped() throws IOException {
+        String metamodel = generate("Author", "@javax.persistence.Entity public class Author {"
+                + " @javax.persistence.Id private Long id;"
+                + " @javax.persistence.Column(name = \"FULL_NAME\") private String name;"
+                + " @javax.persistence.Transient private String label;"
+                + " private transient String cache;"
+                + " @javax.persistence.OneToMany private java.util.Set<Author> friends;"
+                + " public Long getId() { return id; }"
+                + " public String getName() { return name; }"
+                + " public String getLabel() { return label; }"
+                + " public String getCache() { return cache; }"
+                + " public java.util.Set<Author> getFriends() { return friends; }"
+                + " public java.util.List<String> getTags() { return null; }"
+                + " }");
+        assertTrue(metamodel.contains(" id = "));
+        assertTrue(metamodel.contains("\"name\", \"full_name\""));
+        assertFalse(metamodel.contains("label"));
+        assertFalse(metamodel.contains("cache"));
+        assertFalse(metamodel.contains("friends"));
+        assertFalse(metamodel.contains("tags"));
+    }
+
+    @Test
+    public void testKeywordPropertyEscaped() throws IOException {
+        String metamodel = generate("Setting", "@javax.persistence.Entity public class Setting {"
+                + " @javax.persistence.Id private Long id;"
+                + " private boolean isDefault;"
+                + " public Long getId() { return id; }"
+                + " public boolean getDefault() { return isDefault; }"
+                + " }");
+        assertTrue(metamodel.contains(" default_ = "));
+        assertTrue(metamodel.contains("\"default\", \"default\""));
+    }
+
+    /**
+     * Compile entity with processor and generated metamodel
+     *
+     * @param name
+     *            name of entity class
+     * @param source
+     *            source of entity class
+     * @return source of metamodel
+     * @throws IOException
+     */
+    private String generate(final String name, final String source) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        ByteArrayOutputStream messages = new ByteArrayOutputStream();
+        JavaFileObject file = new SimpleJavaFileObject(URI.create("string:///" + name + ".java"),
+                JavaFileObject.Kind.SOURCE) {
+
+            @Override
+            public CharSequence getCharContent(final boolean ignoreEncodingErrors) {
+                return source;
+            }
+
+        };
+        // generated metamodel must compile without warnings
+        boolean compiled = compiler.getTask(new OutputStreamWriter(messages), null, null,
+                Arrays.asList("-processor", MetamodelProcessor.class.getName(), "-Xlint:rawtypes,unchecked",
+                        "-Werror", "-d", directory.getPath(), "-s", directory.getPath(), "-classpath",
+                        System.getProperty("java.class.path")), null, Collections.singletonList(file)).call();
+        assertTrue(messages.toString(), compiled);
+        return read(new File(directory, name + MetamodelProcessor.SUFFIX + ".java"));
+    }
+
+    private static String read(final File file) throws IOException {
+        InputStream in = new FileInputStream(file);
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            for (int read = in.read(buffer); read > 0; read = in.read(buffer)) {
+                out.write(buffer, 0, read);
+            }
+            return out.toString("UTF-8");
+        } finally {
+            in.close();
+        }
+    }
+
+    private static void delete(final File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+}
@@ -0,0 +1,105 @@
+package com.mwronski.jsql.model;
+
+import com.mwronski.jsql.JSql;
+import com.mwronski.jsql.test.Child;
+import com.mwronski.jsql.test.Entity;
+import com.mwronski.jsql.test.TestDB;
+import org.junit.Test;
+
+import javax.persistence.Column;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertSame;
+import static junit.framework.Assert.assertTrue;
+
+/**
+ * Test cases check resolving of entities meta-data
+ */
+public class EntityMetadataTest {
+
+    @Test
+    public void testMetadataIsResolvedOnce() {
+        assertSame(EntityMetadata.of(Entity.class), EntityMetadata.of(Entity.class));
+        assertSame(EntityMetadata.of(Entity.class).getProperty("id"), Property.of(Entity.class, "id", Long.class));
+    }
+
+    @Test
+    public void testNames() throws Exception {
+        EntityMetadata metadata = EntityMetadata.of(NamedEntity.class);
+        assertEquals("NamedEntity", metadata.getTableName());
+        Property<?, ?> property = metadata.getProperty(NamedEntity.class.getMethod("getGetValue"));
+        assertEquals("getValue", property.getName());
+        assertEquals("get_value", property.getColumnName());
+        property = metadata.getProperty("active");
+        assertEquals("active", property.getColumnName());
+        assertEquals(boolean.class, property.getType());
+        assertNull(metadata.getProperty("class"));
+        assertEquals("Entity", EntityMetadata.of(Entity.class).getTableName());
+    }
+
+    @Test
+    public void testWarmUpEntities() {
+        JSql.warmUp(WarmUpEntity.class);
+        assertTrue(EntityMetadata.isResolved(WarmUpEntity.class));
+    }
+
+    @Test
+    public void testClearRegistries() {
+        JSql.warmUp(WarmUpEntity.class);
+        JSql.clearRegistries();
+        assertFalse(EntityMetadata.isResolved(WarmUpEntity.class));
+        assertEquals("getValue", EntityMetadata.of(NamedEntity.class).getProperty("getValue").getName());
+    }
+
+    @Test
+    public void testWarmUpPersistenceUnit() {
+        JSql.warmUp("dtsTestPersistenceUnit");
+        assertTrue(EntityMetadata.isResolved(Entity.class));
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testWarmUpUnknownPersistenceUnit() {
+        JSql.warmUp("unknownPersistenceUnit");
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testWarmUpPersistenceUnitWithoutClasses() {
+        JSql.warmUp("unlistedTestPersistenceUnit");
+    }
+
+    @Test
+    public void testWarmUpEntityManagerFactory() {
+        JSql.warmUp(TestDB.getEntityManagerFactory());
+        assertTrue(EntityMetadata.isResolved(Child.class));
+    }
+
+    /**
+     * Entity with custom names
+     */
+    public static class NamedEntity {
+
+        @Column(name = "GET_VALUE")
+        public String getGetValue() {
+            return null;
+        }
+
+        public boolean isActive() {
+            return false;
+        }
+
+    }
+
+    /**
+     * Entity resolved only by warm-up
+     */
+    public static class WarmUpEntity {
+
+        public Long getId() {
+            return null;
+        }
+
+    }
+
+}
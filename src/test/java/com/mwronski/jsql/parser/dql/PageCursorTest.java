@@ -0,0 +1,48 @@
+package com.mwronski.jsql.parser.dql;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Date;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertTrue;
+
+/**
+ * Test cases check reading cursors of keyset pagination from tokens
+ */
+public class PageCursorTest {
+
+    @Test
+    public void testTokenKeepsTypesOfValues() {
+        Timestamp timestamp = new Timestamp(1000L);
+        timestamp.setNanos(123456789);
+        PageCursor cursor = PageCursor.of("a:b,ó", 5L, 3, (short) 2, 1.5d, 0.5f, new BigDecimal("10.10"), true,
+                new Date(42L), timestamp);
+        String token = cursor.getToken();
+        assertTrue(token, token.matches("[0-9a-f]+"));
+        PageCursor parsed = PageCursor.parse(token);
+        assertEquals(cursor, parsed);
+        assertEquals(Arrays.<Object> asList("a:b,ó", 5L, 3, (short) 2, 1.5d, 0.5f, new BigDecimal("10.10"), true,
+                new Date(42L), timestamp), parsed.getValues());
+        assertEquals(Timestamp.class, parsed.getValues().get(9).getClass());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMalformedToken() {
+        PageCursor.parse("4c353a");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnsupportedValue() {
+        PageCursor.of(new Object());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullValue() {
+        PageCursor.of("a", null);
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.mwronski.jsql.postgresql;
+
+import com.mwronski.jsql.JSql;
+import com.mwronski.jsql.grammar.GrammarOptions;
+import com.mwronski.jsql.grammar.SqlGrammar;
+import com.mwronski.jsql.grammar.common.AnnotationNamingStrategy;
+import com.mwronski.jsql.grammar.postgresql.PostgreSQL;
+import com.mwronski.jsql.test.Entity;
+import com.mwronski.jsql.test.JSqlTestCase;
+import org.junit.Test;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNotNull;
+
+/**
+ * Test cases check IN expressions bound as arrays
+ */
+public class PostgreSQLArrayInTest extends JSqlTestCase {
+
+    @Override
+    public SqlGrammar getSqlGrammar() {
+        return new PostgreSQL(AnnotationNamingStrategy.INSTANCE, GrammarOptions.DEFAULT.withArrayThreshold(3));
+    }
+
+    @Test
+    public void testInBoundAsArray() {
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select(e.getId()).from(e).where(sql.cond().in(e.getId(), 1L, 2L, 3L));
+        assertEquals("SELECT e.id FROM Entity e WHERE e.id = ANY(CAST(?1 AS bigint[]))", sql.toString());
+        assertNotNull(sql.getQuery(em).getResultList());
+    }
+
+    @Test
+    public void testNotInBoundAsArray() {
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select(e.getId()).from(e)
+                .where(sql.cond().notIn(e.getString(), new String[] { "a", "b\"c", "d\\e", null }));
+        assertEquals("SELECT e.id FROM Entity e WHERE e.string <> ALL(CAST(?1 AS text[]))", sql.toString());
+        assertNotNull(sql.getQuery(em).getResultList());
+    }
+
+    @Test
+    public void testSmallCollectionsBoundAsList() {
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select(e.getId()).from(e)
+                .where(sql.cond().in(e.getId(), 1L, 2L).and().notIn(e.getString(), new String[] { "a" }));
+        assertEquals("SELECT e.id FROM Entity e WHERE e.id IN (?1) AND e.string NOT IN (?2)", sql.toString());
+        assertNotNull(sql.getQuery(em).getResultList());
+    }
+
+    @Test
+    public void testStatementDoesNotDependOnSize() {
+        assertEquals(select(1L, 2L, 3L).toString(), select(1L, 2L, 3L, 4L, 5L).toString());
+        assertNotNull(select(1L, 2L, 3L, 4L, 5L).getQuery(em).getResultList());
+    }
+
+    private JSql select(final Long... ids) {
+        JSql sql = new JSql(getSqlGrammar());
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select(e.getId()).from(e).where(sql.cond().in(e.getId(), (Object[]) ids));
+        return sql;
+    }
+
+}
@@ -0,0 +1,151 @@
+package com.mwronski.jsql.postgresql;
+
+import com.mwronski.jsql.ChunkMetrics;
+import com.mwronski.jsql.ChunkedExecution;
+import com.mwronski.jsql.ChunkedResult;
+import com.mwronski.jsql.grammar.SqlGrammar;
+import com.mwronski.jsql.grammar.postgresql.PostgreSQL;
+import com.mwronski.jsql.test.Entity;
+import com.mwronski.jsql.test.JSqlTestCase;
+import com.mwronski.jsql.test.TestDB;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static junit.framework.Assert.assertEquals;
+
+/**
+ * Test cases check execution of statements with IN lists split into chunks
+ */
+public class PostgreSQLChunkedExecutionTest extends JSqlTestCase {
+
+    private static final int ROWS = 10;
+
+    private ExecutorService executor;
+    private ChunkedExecution execution;
+
+    @Override
+    public SqlGrammar getSqlGrammar() {
+        return new PostgreSQL();
+    }
+
+    @Before
+    @Override
+    public void setUp() {
+        super.setUp();
+        executor = Executors.newFixedThreadPool(2);
+        execution = new ChunkedExecution(TestDB.getEntityManagerFactory(), executor, 3, 2);
+        em.getTransaction().begin();
+        for (long i = 1; i <= ROWS; i++) {
+            em.createNativeQuery("INSERT INTO Entity (id, string, secondString) VALUES (?1, ?2, ?3)")
+                    .setParameter(1, i).setParameter(2, "s" + (i % 2)).setParameter(3, "v" + (ROWS - i))
+                    .executeUpdate();
+        }
+        em.getTransaction().commit();
+    }
+
+    @After
+    @Override
+    public void tearDown() {
+        em.getTransaction().begin();
+        em.createNativeQuery("DELETE FROM Entity").executeUpdate();
+        em.getTransaction().commit();
+        executor.shutdown();
+        super.tearDown();
+    }
+
+    @Test
+    public void testChunksConcatenated() {
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select(e.getId()).from(e).where(sql.cond().in(e.getId(), ids(1, 12)).and().eq(e.getString(), "s1"));
+        ChunkedResult<Object> result = sql.getChunkedResult(execution, null);
+        assertEquals(4, result.getChunks().size());
+        assertEquals(5, result.getResultList().size());
+        int rows = 0;
+        for (ChunkMetrics chunk : result.getChunks()) {
+            assertEquals(3, chunk.getValuesCount());
+            rows += chunk.getRowsCount();
+        }
+        assertEquals(5, rows);
+    }
+
+    @Test
+    public void testChunksMergedByOrder() {
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select(e.getId(), e.getSecondString()).from(e).where(sql.cond().in(e.getId(), ids(1, 10)))
+                .orderBy().desc(e.getSecondString());
+        ChunkedResult<Object> result = sql.getChunkedResult(execution, null);
+        assertEquals(4, result.getChunks().size());
+        List<Object> ids = new ArrayList<Object>();
+        for (Object row : result.getResultList()) {
+            ids.add(((Number) ((Object[]) row)[0]).longValue());
+        }
+        assertEquals(Arrays.<Object> asList(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L), ids);
+    }
+
+    @Test
+    public void testEntitiesMergedByOrder() {
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select(e).from(e).where(sql.cond().in(e.getId(), ids(1, 10))).orderBy().desc(e.getId());
+        List<Entity> result = sql.getChunkedResult(execution, Entity.class).getResultList();
+        assertEquals(10, result.size());
+        for (int i = 0; i < result.size(); i++) {
+            assertEquals(Long.valueOf(ROWS - i), result.get(i).getId());
+        }
+    }
+
+    @Test
+    public void testSmallInListNotSplit() {
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select(e.getId()).from(e).where(sql.cond().in(e.getId(), 1L, 2L));
+        ChunkedResult<Object> result = sql.getChunkedResult(execution, null);
+        assertEquals(1, result.getChunks().size());
+        assertEquals(2, result.getResultList().size());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testInListConnectedByOr() {
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select(e.getId()).from(e).where(sql.cond().in(e.getId(), ids(1, 10)).or().eq(e.getString(), "s1"));
+        sql.getChunkedResult(execution, null);
+    }
+
+    @Test
+    public void testSmallInListOrderedByNotSelectedVariable() {
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select(e.getId()).from(e).where(sql.cond().in(e.getId(), 1L, 2L)).orderBy().asc(e.getString())
+                .asc(e.getId());
+        ChunkedResult<Object> result = sql.getChunkedResult(execution, null);
+        assertEquals(1, result.getChunks().size());
+        List<Object> ids = new ArrayList<Object>();
+        for (Object id : result.getResultList()) {
+            ids.add(((Number) id).longValue());
+        }
+        assertEquals(Arrays.<Object> asList(2L, 1L), ids);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testOrderByNotSelectedVariable() {
+        // chunks submitted to stopped executor would be rejected
+        ExecutorService stopped = Executors.newSingleThreadExecutor();
+        stopped.shutdown();
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select(e.getId()).from(e).where(sql.cond().in(e.getId(), ids(1, 10))).orderBy().asc(e.getString());
+        sql.getChunkedResult(new ChunkedExecution(TestDB.getEntityManagerFactory(), stopped, 3, 2), null);
+    }
+
+    private static Object[] ids(final long from, final long to) {
+        List<Object> ids = new ArrayList<Object>();
+        for (long id = from; id <= to; id++) {
+            ids.add(id);
+        }
+        return ids.toArray();
+    }
+
+}
@@ -0,0 +1,144 @@
+package com.mwronski.jsql.postgresql;
+
+import com.mwronski.jsql.BoundQuery;
+import com.mwronski.jsql.CompiledQuery;
+import com.mwronski.jsql.grammar.SqlGrammar;
+import com.mwronski.jsql.grammar.postgresql.PostgreSQL;
+import com.mwronski.jsql.model.Parameter;
+import com.mwronski.jsql.test.Entity;
+import com.mwronski.jsql.test.JSqlTestCase;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNotNull;
+
+/**
+ * Test cases check compiled queries
+ */
+public class PostgreSQLCompiledQueryTest extends JSqlTestCase {
+
+    @Override
+    public SqlGrammar getSqlGrammar() {
+        return new PostgreSQL();
+    }
+
+    @Test
+    public void testCompile() {
+        Entity e = sql.alias(Entity.class, "e");
+        Parameter<Long> id = sql.param(Long.class);
+        Parameter<String> string = sql.param(String.class);
+        sql.select(e.getId()).from(e).where(sql.cond().gt(e.getId(), id).and().eq(e.getSecondString(), "x")
+                .and().regex(e.getString(), string));
+        CompiledQuery query = sql.compile();
+        assertEquals("SELECT e.id FROM Entity e WHERE e.id>?1 AND e.secondString=?2 AND e.string~*?3",
+                query.getSQL());
+        assertEquals(2, query.getParametersCount());
+        BoundQuery bound = query.bind(5L, "a.*");
+        assertEquals(5L, bound.getSQLParam(1));
+        assertEquals("x", bound.getSQLParam(2));
+        assertEquals("a.*", bound.getSQLParam(3));
+        assertNotNull(bound.getQuery(em).getResultList());
+    }
+
+    @Test
+    public void testCompile_CaseInsensitiveParameter() {
+        Entity e = sql.alias(Entity.class, "e");
+        Parameter<String> string = sql.param(String.class);
+        sql.select(e.getId()).from(e).where(sql.cond().eqi(e.getString(), string).and().neqi(e.getSecondString(), string));
+        CompiledQuery query = sql.compile();
+        assertEquals("SELECT e.id FROM Entity e WHERE lower(e.string)=?1 AND lower(e.secondString)!=?2", query.getSQL());
+        BoundQuery bound = query.bind("AbC");
+        assertEquals("abc", bound.getSQLParam(1));
+        assertEquals("abc", bound.getSQLParam(2));
+        assertNotNull(bound.getQuery(em).getResultList());
+    }
+
+    @Test(expected = RuntimeException.class)
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    public void testCompile_CaseInsensitiveParameterOfOtherType() {
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select(e.getId()).from(e).where(sql.cond().eq(e.getString(), sql.param(Long.class)).or()
+                .eqi(e.getString(), (Parameter) sql.param(Long.class)));
+    }
+
+    @Test
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    public void testCompile_InParameter() {
+        Entity e = sql.alias(Entity.class, "e");
+        Parameter<List> ids = sql.param(List.class);
+        sql.select(e.getId()).from(e).where(sql.cond().in(e.getId(), ids));
+        CompiledQuery query = sql.compile();
+        assertEquals("SELECT e.id FROM Entity e WHERE e.id IN (?1)", query.getSQL());
+        assertNotNull(query.bind(Arrays.asList(1L, 2L)).getQuery(em).getResultList());
+    }
+
+    @Test
+    public void testCompile_Limit() {
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select(e.getId()).from(e).where(sql.cond().gt(e.getId(), sql.param(Long.class))).orderBy()
+                .asc(e.getId()).limit(3).offset(1);
+        CompiledQuery query = sql.compile();
+        assertEquals("SELECT e.id FROM Entity e WHERE e.id>?1 ORDER BY e.id LIMIT ?2 OFFSET ?3", query.getSQL());
+        BoundQuery bound = query.bind(0L);
+        assertEquals(3, bound.getSQLParam(2));
+        assertEquals(1, bound.getSQLParam(3));
+        assertNotNull(bound.getQuery(em).getResultList());
+    }
+
+    @Test
+    public void testCompiledQueryUsedConcurrently() throws Exception {
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select(e.getId()).from(e).where(sql.cond().eq(e.getId(), sql.param(Long.class)));
+        final CompiledQuery query = sql.compile();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Object>> results = new ArrayList<Future<Object>>();
+            for (long i = 0; i < 100; i++) {
+                final long value = i;
+                results.add(executor.submit(new Callable<Object>() {
+
+                    @Override
+                    public Object call() {
+                        return query.bind(value).getSQLParam(1);
+                    }
+
+                }));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                assertEquals((long) i, results.get(i).get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBindInvalidType() {
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select(e.getId()).from(e).where(sql.cond().eq(e.getId(), sql.param(Long.class)));
+        sql.compile().bind("1");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBindMissingValue() {
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select(e.getId()).from(e).where(sql.cond().eq(e.getId(), sql.param(Long.class)));
+        sql.compile().bind();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testParametersWithoutCompiling() {
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select(e.getId()).from(e).where(sql.cond().eq(e.getId(), sql.param(Long.class)));
+        sql.getQuery(em);
+    }
+
+}
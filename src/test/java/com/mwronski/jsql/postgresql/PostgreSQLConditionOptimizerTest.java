@@ -0,0 +1,183 @@
+package com.mwronski.jsql.postgresql;
+
+import com.mwronski.jsql.grammar.SqlGrammar;
+import com.mwronski.jsql.grammar.postgresql.PostgreSQL;
+import com.mwronski.jsql.optimizer.ConditionOptimizer;
+import com.mwronski.jsql.test.Entity;
+import com.mwronski.jsql.test.JSqlTestCase;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.persistence.NoResultException;
+import javax.persistence.Query;
+
+import static com.mwronski.jsql.test.TestUtil.assertQueryExecutable;
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertTrue;
+import static junit.framework.Assert.fail;
+
+/**
+ * Test cases check statements which conditions are optimized before
+ * rendering
+ */
+public class PostgreSQLConditionOptimizerTest extends JSqlTestCase {
+
+    @Override
+    public SqlGrammar getSqlGrammar() {
+        return new PostgreSQL();
+    }
+
+    @Before
+    @Override
+    public void setUp() {
+        super.setUp();
+        sql.setConditionOptimizer(new ConditionOptimizer());
+    }
+
+    @Test
+    public void testFlattenAndRemoveDuplicates() {
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select(e.getId()).from(e).where(sql.cond().eq(e.getString(), "a").and(sql.cond().eq(e.getString(), "a")
+                .and().eq(e.getSecondString(), "b")).and().eq(e.getSecondString(), null, true));
+        assertEquals("SELECT e.id FROM Entity e WHERE e.string=?1 AND e.secondString=?2", sql.toString());
+        assertQueryExecutable(sql, em);
+    }
+
+    @Test
+    public void testMergeEqualitiesIntoIn() {
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select(e.getId()).from(e).where(sql.cond().eq(e.getId(), 1L).or().eq(e.getString(), "a").or()
+                .eq(e.getId(), 2L).or().in(e.getId(), 3L, 1L));
+        assertEquals("SELECT e.id FROM Entity e WHERE e.id IN (?1) OR e.string=?2", sql.toString());
+        assertQueryExecutable(sql, em);
+    }
+
+    @Test
+    public void testCollapseRange() {
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select(e.getId()).from(e).where(sql.cond().gt(e.getId(), 1L).and().eg(e.getId(), 5L).and()
+                .lt(e.getId(), 10).and().el(e.getId(), 20L).and().neq(e.getId(), 30L).and().neq(e.getId(), 7L));
+        assertEquals("SELECT e.id FROM Entity e WHERE e.id>=?1 AND e.id<?2 AND e.id!=?3", sql.toString());
+        assertQueryExecutable(sql, em);
+    }
+
+    @Test
+    public void testStringRangeLeftToDatabase() {
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select(e.getId()).from(e).where(sql.cond().gt(e.getString(), "a").and().lt(e.getString(), "B").and()
+                .gt(e.getString(), "A"));
+        // order of strings depends on collation of database
+        assertEquals("SELECT e.id FROM Entity e WHERE e.string>?1 AND e.string<?2 AND e.string>?3", sql.toString());
+        assertQueryExecutable(sql, em);
+    }
+
+    @Test
+    public void testContradictoryStringEqualities() {
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select(e.getId()).from(e).where(sql.cond().eq(e.getString(), "a").and().in(e.getString(), "b", "c"));
+        assertContradictory();
+    }
+
+    @Test
+    public void testIntersectInLists() {
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select(e.getId()).from(e).where(sql.cond().in(e.getId(), 1L, 2L, 3L).and().in(e.getId(), 2L, 3L, 4L)
+                .and().neq(e.getId(), 3L));
+        assertEquals("SELECT e.id FROM Entity e WHERE e.id IN (?1)", sql.toString());
+        assertQueryExecutable(sql, em);
+    }
+
+    @Test
+    public void testEqualityImpliesOtherConstraints() {
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select(e.getId()).from(e).where(sql.cond().in(e.getId(), 1L, 2L).and().eq(e.getId(), 2L).and()
+                .gt(e.getId(), 1));
+        assertEquals("SELECT e.id FROM Entity e WHERE e.id=?1", sql.toString());
+        assertQueryExecutable(sql, em);
+    }
+
+    @Test
+    public void testContradictoryEqualities() {
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select(e.getId()).from(e).where(sql.cond().eq(e.getId(), 1L).and().eq(e.getId(), 2L));
+        assertContradictory();
+    }
+
+    @Test
+    public void testContradictoryRange() {
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select(e).from(e).where(sql.cond().eq(e.getString(), "a").and(
+                sql.cond().gt(e.getId(), 5L).and().lt(e.getId(), 5L)));
+        assertContradictory();
+    }
+
+    @Test
+    public void testContradictoryEmptyIn() {
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select(e.getId()).from(e).where(sql.cond().in(e.getId(), new Object[0]).and().eq(e.getString(), "a"));
+        // query isn't sent to database
+        assertEquals("EmptyQuery", sql.getQuery(em).getClass().getSimpleName());
+        assertContradictory();
+    }
+
+    @Test
+    public void testEmptyInAlternativeRemoved() {
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select(e.getId()).from(e).where(sql.cond().in(e.getId(), new Object[0]).or().eq(e.getString(), "a"));
+        assertEquals("SELECT e.id FROM Entity e WHERE e.string=?1", sql.toString());
+        assertQueryExecutable(sql, em);
+    }
+
+    @Test
+    public void testEmptyNotInRemoved() {
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select(e.getId()).from(e).where(sql.cond().notIn(e.getId(), new Object[0]).and().eq(e.getString(), "a"));
+        assertEquals("SELECT e.id FROM Entity e WHERE e.string=?1", sql.toString());
+        assertQueryExecutable(sql, em);
+    }
+
+    @Test
+    public void testContradictoryAlternatives() {
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select(e.getId()).from(e).where(sql.cond().in(e.getId(), 1L, 2L).and(
+                sql.cond().eq(e.getId(), 3L).or().in(e.getId(), 4L, 5L)));
+        assertContradictory();
+    }
+
+    @Test
+    public void testContradictoryAlternativeRemoved() {
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select(e.getId()).from(e).where(sql.cond().eq(e.getString(), "a").or(
+                sql.cond().eq(e.getId(), 1L).and().neq(e.getId(), 1L)));
+        assertEquals("SELECT e.id FROM Entity e WHERE e.string=?1", sql.toString());
+        assertQueryExecutable(sql, em);
+    }
+
+    @Test
+    public void testMixedChainNotChanged() {
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select(e.getId()).from(e).where(sql.cond().eq(e.getId(), 1L).or().eq(e.getId(), 2L).and()
+                .eq(e.getId(), 3L));
+        assertEquals("SELECT e.id FROM Entity e WHERE e.id=?1 OR e.id=?2 AND e.id=?3", sql.toString());
+        assertQueryExecutable(sql, em);
+    }
+
+    @Test
+    public void testCountOfContradictoryStatement() {
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select().count().from(e).where(sql.cond().eq(e.getId(), 1L).and().eq(e.getId(), 2L));
+        assertEquals(0L, ((Number) sql.getQuery(em).getSingleResult()).longValue());
+    }
+
+    private void assertContradictory() {
+        Query query = sql.getQuery(em);
+        assertTrue(query.getResultList().isEmpty());
+        try {
+            query.getSingleResult();
+            fail("Result returned for statement without rows");
+        } catch (NoResultException e) {
+            // expected
+        }
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.mwronski.jsql.postgresql;
+
+import com.mwronski.jsql.builder.SqlSelectBuilder;
+import com.mwronski.jsql.builder.SqlSelectTreeWalker;
+import com.mwronski.jsql.grammar.SqlGrammar;
+import com.mwronski.jsql.grammar.postgresql.PostgreSQL;
+import com.mwronski.jsql.optimizer.CountDerivation;
+import com.mwronski.jsql.parser.dql.Select;
+import com.mwronski.jsql.test.Entity;
+import com.mwronski.jsql.test.JSqlTestCase;
+import org.junit.Test;
+
+import static junit.framework.Assert.assertEquals;
+
+/**
+ * Test cases check statements counting rows derived from select statements
+ */
+public class PostgreSQLCountDerivationTest extends JSqlTestCase {
+
+    @Override
+    public SqlGrammar getSqlGrammar() {
+        return new PostgreSQL();
+    }
+
+    @Test
+    public void testOrderDropped() {
+        Entity e = sql.alias(Entity.class, "e");
+        Select select = sql.select(e.getId(), e.getString()).from(e);
+        select.where(sql.cond().eq(e.getString(), "a")).orderBy().desc(e.getId()).limit(10);
+        assertEquals("SELECT COUNT(*) FROM Entity e WHERE e.string=?1", derive(select));
+        assertEquals(0, sql.countQuery(em));
+    }
+
+    @Test
+    public void testUnusedJoinRemoved() {
+        Entity e1 = sql.alias(Entity.class, "e1");
+        Entity e2 = sql.alias(Entity.class, "e2");
+        Select select = sql.select(e1.getId(), e2.getString()).from(e1);
+        select.leftJoin(e2).on(sql.cond().eq(e1.getId(), e2.getId()));
+        assertEquals("SELECT COUNT(*) FROM Entity e1", derive(select));
+        assertEquals(0, sql.countQuery(em));
+    }
+
+    @Test
+    public void testRowsMultipliedByJoinCounted() {
+        Entity e1 = sql.alias(Entity.class, "e1");
+        Entity e2 = sql.alias(Entity.class, "e2");
+        Select select = sql.select(e1).from(e1);
+        select.join(e2).on(sql.cond().eq(e1.getString(), e2.getString()));
+        select.where(sql.cond().eq(e2.getSecondString(), "a"));
+        assertEquals("SELECT COUNT(*) FROM Entity e1 JOIN Entity e2 ON e1.string=e2.string WHERE e2.secondString=?1",
+                derive(select));
+        assertEquals(0, sql.countQuery(em));
+    }
+
+    @Test
+    public void testDistinctRowsOfJoinedTable() {
+        Entity e1 = sql.alias(Entity.class, "e1");
+        Entity e2 = sql.alias(Entity.class, "e2");
+        Select select = sql.select(e1).distinct().from(e1);
+        select.join(e2).on(sql.cond().eq(e1.getString(), e2.getString()));
+        assertEquals("SELECT COUNT(DISTINCT e1.id) FROM Entity e1 JOIN Entity e2 ON e1.string=e2.string",
+                derive(select));
+        assertEquals(0, sql.countQuery(em));
+    }
+
+    @Test
+    public void testRowsCountedForJoinOfUniqueColumn() {
+        Entity e1 = sql.alias(Entity.class, "e1");
+        Entity e2 = sql.alias(Entity.class, "e2");
+        Select select = sql.select(e1).from(e1);
+        select.join(e2).on(sql.cond().eq(e1.getString(), e2.getId()));
+        select.where(sql.cond().eq(e2.getSecondString(), "a"));
+        assertEquals("SELECT COUNT(*) FROM Entity e1 JOIN Entity e2 ON e1.string=e2.id WHERE e2.secondString=?1",
+                derive(select));
+    }
+
+    @Test
+    public void testDistinctRowsOfTable() {
+        Entity e = sql.alias(Entity.class, "e");
+        Select select = sql.select(e).distinct().from(e);
+        select.orderBy().asc(e.getString());
+        assertEquals("SELECT COUNT(DISTINCT e.id) FROM Entity e", derive(select));
+        assertEquals(0, sql.countQuery(em));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testDistinctColumnsNotCounted() {
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select(e.getString()).distinct().from(e);
+        sql.countQuery(em);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testGroupedRowsNotCounted() {
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select(e.getString()).count().from(e).groupBy().column(e.getString());
+        sql.countQuery(em);
+    }
+
+    private String derive(final Select select) {
+        SqlSelectBuilder builder = getSqlGrammar().selectBuilder();
+        new SqlSelectTreeWalker().walk(CountDerivation.derive(select.getStatement()), builder);
+        return builder.asSQL().trim();
+    }
+
+}
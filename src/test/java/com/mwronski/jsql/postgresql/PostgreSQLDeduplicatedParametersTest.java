@@ -0,0 +1,66 @@
+package com.mwronski.jsql.postgresql;
+
+import com.mwronski.jsql.JSql;
+import com.mwronski.jsql.builder.StatementCache;
+import com.mwronski.jsql.grammar.GrammarOptions;
+import com.mwronski.jsql.grammar.SqlGrammar;
+import com.mwronski.jsql.grammar.common.AnnotationNamingStrategy;
+import com.mwronski.jsql.grammar.postgresql.PostgreSQL;
+import com.mwronski.jsql.test.Entity;
+import com.mwronski.jsql.test.JSqlTestCase;
+import org.junit.Test;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertNotNull;
+
+/**
+ * Test cases check statements which equal values share SQL parameters
+ */
+public class PostgreSQLDeduplicatedParametersTest extends JSqlTestCase {
+
+    @Override
+    public SqlGrammar getSqlGrammar() {
+        return new PostgreSQL(AnnotationNamingStrategy.INSTANCE,
+                GrammarOptions.DEFAULT.withDeduplicateParameters(true));
+    }
+
+    @Test
+    public void testEqualValuesShareParameter() {
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select(e.getId()).from(e).where(sql.cond().eq(e.getString(), "a").or().eq(e.getSecondString(), "a")
+                .and().gt(e.getId(), 1L).and().eqi(e.getString(), "A"));
+        assertEquals("SELECT e.id FROM Entity e WHERE e.string=?1 OR e.secondString=?1 AND e.id>?2"
+                + " AND lower(e.string)=?1", sql.toString());
+        assertNotNull(sql.getQuery(em).getResultList());
+    }
+
+    @Test
+    public void testEqualityOfValuesChangesCachedStatement() {
+        StatementCache cache = new StatementCache(10);
+        assertEquals("SELECT e.id FROM Entity e WHERE e.string=?1 AND e.secondString=?1", select(cache, "a", "a")
+                .toString());
+        assertEquals("SELECT e.id FROM Entity e WHERE e.string=?1 AND e.secondString=?2", select(cache, "a", "b")
+                .toString());
+        assertEquals("SELECT e.id FROM Entity e WHERE e.string=?1 AND e.secondString=?1", select(cache, "b", "b")
+                .toString());
+        assertEquals(2, cache.size());
+        assertNotNull(select(cache, "c", "d").getQuery(em).getResultList());
+    }
+
+    @Test
+    public void testGrammarsWithDifferentOptions() {
+        assertFalse(new PostgreSQL().equals(getSqlGrammar()));
+        assertEquals(getSqlGrammar(), getSqlGrammar());
+        assertEquals(getSqlGrammar().hashCode(), getSqlGrammar().hashCode());
+    }
+
+    private JSql select(final StatementCache cache, final String string, final String secondString) {
+        JSql sql = new JSql(getSqlGrammar(), cache);
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select(e.getId()).from(e).where(sql.cond().eq(e.getString(), string).and()
+                .eq(e.getSecondString(), secondString));
+        return sql;
+    }
+
+}
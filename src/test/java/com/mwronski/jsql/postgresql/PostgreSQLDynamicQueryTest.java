@@ -0,0 +1,74 @@
+package com.mwronski.jsql.postgresql;
+
+import com.mwronski.jsql.BoundQuery;
+import com.mwronski.jsql.DynamicQuery;
+import com.mwronski.jsql.grammar.SqlGrammar;
+import com.mwronski.jsql.grammar.postgresql.PostgreSQL;
+import com.mwronski.jsql.model.Parameter;
+import com.mwronski.jsql.test.Entity;
+import com.mwronski.jsql.test.JSqlTestCase;
+import org.junit.Test;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNotNull;
+import static junit.framework.Assert.assertSame;
+
+/**
+ * Test cases check queries with optional filters
+ */
+public class PostgreSQLDynamicQueryTest extends JSqlTestCase {
+
+    @Override
+    public SqlGrammar getSqlGrammar() {
+        return new PostgreSQL();
+    }
+
+    @Test
+    public void testOptionalFilters() {
+        Entity e = sql.alias(Entity.class, "e");
+        Parameter<Long> id = sql.param(Long.class);
+        Parameter<String> string = sql.param(String.class);
+        Parameter<String> secondString = sql.param(String.class);
+        sql.select(e.getId()).from(e).where(sql.cond().gt(e.getId(), id).and().eq(e.getString(), string, true)
+                .and().eq(e.getSecondString(), secondString, true));
+        DynamicQuery query = sql.compileDynamic();
+        assertEquals(2, query.getOptionalParameters().size());
+
+        BoundQuery all = query.bind(1L, "a", "b");
+        assertEquals("SELECT e.id FROM Entity e WHERE e.id>?1 AND e.string=?2 AND e.secondString=?3", all
+                .getCompiledQuery().getSQL());
+        assertNotNull(all.getQuery(em).getResultList());
+
+        BoundQuery some = query.bind(1L, null, "b");
+        assertEquals("SELECT e.id FROM Entity e WHERE e.id>?1 AND e.secondString=?2", some.getCompiledQuery()
+                .getSQL());
+        assertEquals("b", some.getSQLParam(2));
+        assertNotNull(some.getQuery(em).getResultList());
+
+        BoundQuery none = query.bind(1L, null, null);
+        assertEquals("SELECT e.id FROM Entity e WHERE e.id>?1", none.getCompiledQuery().getSQL());
+        assertNotNull(none.getQuery(em).getResultList());
+        assertEquals(3, query.getVariantsCount());
+
+        assertSame(some.getCompiledQuery(), query.bind(2L, null, "c").getCompiledQuery());
+        assertEquals(3, query.getVariantsCount());
+    }
+
+    @Test
+    public void testAllFiltersOmitted() {
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select(e.getId()).from(e).where(sql.cond().eq(e.getString(), sql.param(String.class), true));
+        DynamicQuery query = sql.compileDynamic();
+        BoundQuery bound = query.bind((Object) null);
+        assertEquals("SELECT e.id FROM Entity e", bound.getCompiledQuery().getSQL());
+        assertNotNull(bound.getQuery(em).getResultList());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRequiredParameterNotBound() {
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select(e.getId()).from(e).where(sql.cond().eq(e.getId(), sql.param(Long.class)));
+        sql.compileDynamic().bind((Object) null);
+    }
+
+}
@@ -0,0 +1,104 @@
+package com.mwronski.jsql.postgresql;
+
+import com.mwronski.jsql.grammar.SqlGrammar;
+import com.mwronski.jsql.grammar.postgresql.PostgreSQL;
+import com.mwronski.jsql.optimizer.EqualityPropagationRule;
+import com.mwronski.jsql.optimizer.JoinEliminationRule;
+import com.mwronski.jsql.parser.dql.Select;
+import com.mwronski.jsql.test.Entity;
+import com.mwronski.jsql.test.JSqlTestCase;
+import org.junit.Before;
+import org.junit.Test;
+
+import static com.mwronski.jsql.test.TestUtil.assertQueryExecutable;
+import static junit.framework.Assert.assertEquals;
+
+/**
+ * Test cases check statements which joins are optimized using keys of
+ * entities
+ */
+public class PostgreSQLJoinOptimizationTest extends JSqlTestCase {
+
+    @Override
+    public SqlGrammar getSqlGrammar() {
+        return new PostgreSQL();
+    }
+
+    @Before
+    @Override
+    public void setUp() {
+        super.setUp();
+        sql.addRewriteRule(new JoinEliminationRule());
+        sql.addRewriteRule(new EqualityPropagationRule());
+    }
+
+    @Test
+    public void testUnusedLeftJoinEliminated() {
+        Entity e1 = sql.alias(Entity.class, "e1");
+        Entity e2 = sql.alias(Entity.class, "e2");
+        Select select = sql.select(e1.getId()).from(e1);
+        select.leftJoin(e2).on(sql.cond().eq(e1.getId(), e2.getId()));
+        select.where(sql.cond().eq(e1.getString(), "a"));
+        assertEquals("SELECT e1.id FROM Entity e1 WHERE e1.string=?1", sql.toString());
+        assertQueryExecutable(sql, em);
+    }
+
+    @Test
+    public void testChainOfUnusedLeftJoinsEliminated() {
+        Entity e1 = sql.alias(Entity.class, "e1");
+        Entity e2 = sql.alias(Entity.class, "e2");
+        Entity e3 = sql.alias(Entity.class, "e3");
+        Select select = sql.select().count().from(e1);
+        select.leftJoin(e2).on(sql.cond().eq(e2.getId(), e1.getId()));
+        select.leftOuterJoin(e3).on(sql.cond().eq(e3.getId(), e2.getId()).and().eq(e3.getString(), "a"));
+        assertEquals("SELECT COUNT(*) FROM Entity e1", sql.toString());
+        assertQueryExecutable(sql, em);
+    }
+
+    @Test
+    public void testUsedLeftJoinKept() {
+        Entity e1 = sql.alias(Entity.class, "e1");
+        Entity e2 = sql.alias(Entity.class, "e2");
+        Select select = sql.select(e1.getId()).from(e1);
+        select.leftJoin(e2).on(sql.cond().eq(e1.getId(), e2.getId()));
+        select.orderBy().asc(e2.getString());
+        assertEquals("SELECT e1.id FROM Entity e1 LEFT JOIN Entity e2 ON e1.id=e2.id ORDER BY e2.string",
+                sql.toString());
+        assertQueryExecutable(sql, em);
+    }
+
+    @Test
+    public void testLeftJoinOfManyRowsKept() {
+        Entity e1 = sql.alias(Entity.class, "e1");
+        Entity e2 = sql.alias(Entity.class, "e2");
+        Select select = sql.select(e1.getId()).from(e1);
+        select.leftJoin(e2).on(sql.cond().eq(e1.getString(), e2.getString()));
+        assertEquals("SELECT e1.id FROM Entity e1 LEFT JOIN Entity e2 ON e1.string=e2.string", sql.toString());
+        assertQueryExecutable(sql, em);
+    }
+
+    @Test
+    public void testEqualityPropagatedThroughJoin() {
+        Entity e1 = sql.alias(Entity.class, "e1");
+        Entity e2 = sql.alias(Entity.class, "e2");
+        Select select = sql.select(e1.getId(), e2.getString()).from(e1);
+        select.join(e2).on(sql.cond().eq(e1.getId(), e2.getId()));
+        select.where(sql.cond().eq(e1.getId(), 1L).and().eq(e2.getString(), "a"));
+        assertEquals("SELECT e1.id, e2.string FROM Entity e1 JOIN Entity e2 ON e1.id=e2.id"
+                + " WHERE e1.id=?1 AND e2.string=?2 AND e2.id=?3", sql.toString());
+        assertQueryExecutable(sql, em);
+    }
+
+    @Test
+    public void testEqualityNotPropagatedThroughLeftJoin() {
+        Entity e1 = sql.alias(Entity.class, "e1");
+        Entity e2 = sql.alias(Entity.class, "e2");
+        Select select = sql.select(e1.getId(), e2.getString()).from(e1);
+        select.leftJoin(e2).on(sql.cond().eq(e1.getId(), e2.getId()));
+        select.where(sql.cond().eq(e1.getId(), 1L).or().eq(e1.getString(), "a"));
+        assertEquals("SELECT e1.id, e2.string FROM Entity e1 LEFT JOIN Entity e2 ON e1.id=e2.id"
+                + " WHERE e1.id=?1 OR e1.string=?2", sql.toString());
+        assertQueryExecutable(sql, em);
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.mwronski.jsql.postgresql;
+
+import com.mwronski.jsql.grammar.SqlGrammar;
+import com.mwronski.jsql.grammar.common.MetamodelNamingStrategy;
+import com.mwronski.jsql.grammar.postgresql.PostgreSQL;
+import com.mwronski.jsql.test.MappedEntity;
+import com.mwronski.jsql.test.TestDB;
+import org.junit.Test;
+
+import static com.mwronski.jsql.test.TestUtil.assertQueryExecutable;
+import static junit.framework.Assert.assertEquals;
+
+/**
+ * Test cases check statements built with names resolved from meta-model of
+ * entity manager factory
+ */
+public class PostgreSQLMetamodelSelectWhereTest extends PostgreSQLSelectWhereTest {
+
+    private static MetamodelNamingStrategy namingStrategy;
+
+    @Override
+    public SqlGrammar getSqlGrammar() {
+        if (namingStrategy == null) {
+            namingStrategy = new MetamodelNamingStrategy(TestDB.getEntityManagerFactory());
+        }
+        return new PostgreSQL(namingStrategy);
+    }
+
+    @Test
+    public void testSelectWhere_PhysicalNames() {
+        MappedEntity m = sql.alias(MappedEntity.class, "m");
+        sql.select(m.getValue()).from(m).where(sql.cond().eq(m.getId(), 1L));
+        assertEquals("SELECT m.mapped_value FROM mapped_entity m WHERE m.mapped_id=?1", sql.toString());
+        assertQueryExecutable(sql, em);
+    }
+
+    @Test
+    public void testSelectWhere_PhysicalNamesWithoutAlias() {
+        MappedEntity m = sql.alias(MappedEntity.class);
+        sql.select(m).from(m).where(sql.cond().eq(m.getValue(), "a"));
+        assertEquals("SELECT mapped_entity.* FROM mapped_entity WHERE mapped_value=?1", sql.toString());
+        assertQueryExecutable(sql, em);
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.mwronski.jsql.postgresql;
+
+import com.mwronski.jsql.BoundQuery;
+import com.mwronski.jsql.JSql;
+import com.mwronski.jsql.builder.StatementCache;
+import com.mwronski.jsql.grammar.GrammarOptions;
+import com.mwronski.jsql.grammar.SqlGrammar;
+import com.mwronski.jsql.grammar.common.AnnotationNamingStrategy;
+import com.mwronski.jsql.grammar.postgresql.PostgreSQL;
+import com.mwronski.jsql.model.Parameter;
+import com.mwronski.jsql.test.Entity;
+import com.mwronski.jsql.test.JSqlTestCase;
+import org.junit.Test;
+
+import javax.persistence.Query;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNotNull;
+import static junit.framework.Assert.assertSame;
+
+/**
+ * Test cases check padding of IN lists to sizes being powers of two
+ */
+public class PostgreSQLPaddedInListTest extends JSqlTestCase {
+
+    private static final GrammarOptions OPTIONS = GrammarOptions.DEFAULT.withPadInLists(true);
+
+    @Override
+    public SqlGrammar getSqlGrammar() {
+        return new PostgreSQL(AnnotationNamingStrategy.INSTANCE, OPTIONS);
+    }
+
+    @Test
+    public void testPadInList() {
+        assertEquals(Arrays.asList(1L), OPTIONS.padInList(Arrays.asList(1L)));
+        assertEquals(Arrays.asList(1L, 2L, 3L, 3L), OPTIONS.padInList(Arrays.asList(1L, 2L, 3L)));
+        List<Long> bucket = Arrays.asList(1L, 2L, 3L, 4L);
+        assertSame(bucket, OPTIONS.padInList(bucket));
+        assertEquals(8, ((List<?>) OPTIONS.padInList(Arrays.asList(1, 2, 3, 4, 5))).size());
+        assertEquals(Collections.emptyList(), OPTIONS.padInList(Collections.emptyList()));
+        assertEquals(Arrays.asList(1L, 2L, 3L), GrammarOptions.DEFAULT.padInList(Arrays.asList(1L, 2L, 3L)));
+    }
+
+    @Test
+    public void testPaddedInListQuery() {
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select(e.getId()).from(e).where(sql.cond().in(e.getId(), 1L, 2L, 3L));
+        assertEquals("SELECT e.id FROM Entity e WHERE e.id IN (?1)", sql.toString());
+        Query query = sql.getQuery(em);
+        assertEquals(Arrays.asList(1L, 2L, 3L, 3L), query.getParameterValue(1));
+        assertNotNull(query.getResultList());
+    }
+
+    @Test
+    public void testPaddedInListOfCachedQuery() {
+        StatementCache cache = new StatementCache(10);
+        select(cache, 1L, 2L).getQuery(em);
+        Query query = select(cache, 1L, 2L, 3L, 4L, 5L).getQuery(em);
+        assertEquals(1, cache.size());
+        assertEquals(Arrays.asList(1L, 2L, 3L, 4L, 5L, 5L, 5L, 5L), query.getParameterValue(1));
+        assertNotNull(query.getResultList());
+    }
+
+    @Test
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    public void testPaddedInListOfCompiledQuery() {
+        Entity e = sql.alias(Entity.class, "e");
+        Parameter<List> ids = sql.param(List.class);
+        sql.select(e.getId()).from(e).where(sql.cond().in(e.getId(), ids));
+        BoundQuery query = sql.compile().bind(Arrays.asList(1L, 2L, 3L, 4L, 5L));
+        assertEquals(Arrays.asList(1L, 2L, 3L, 4L, 5L, 5L, 5L, 5L), query.getSQLParam(1));
+        assertNotNull(query.getQuery(em).getResultList());
+    }
+
+    private JSql select(final StatementCache cache, final Long... ids) {
+        JSql sql = new JSql(getSqlGrammar(), cache);
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select(e.getId()).from(e).where(sql.cond().in(e.getId(), (Object[]) ids));
+        return sql;
+    }
+
+}
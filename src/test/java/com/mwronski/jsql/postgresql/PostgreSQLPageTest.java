@@ -0,0 +1,36 @@
+package com.mwronski.jsql.postgresql;
+
+import com.mwronski.jsql.AbstractPageTestSuite;
+import com.mwronski.jsql.builder.SqlSelectBuilder;
+import com.mwronski.jsql.builder.SqlSelectTreeWalker;
+import com.mwronski.jsql.grammar.SqlGrammar;
+import com.mwronski.jsql.grammar.postgresql.PostgreSQL;
+import com.mwronski.jsql.model.dql.SelectStatement;
+import com.mwronski.jsql.parser.dql.Select;
+import com.mwronski.jsql.test.Entity;
+import org.junit.Test;
+
+import static junit.framework.Assert.assertEquals;
+
+public class PostgreSQLPageTest extends AbstractPageTestSuite {
+
+    @Override
+    public SqlGrammar getSqlGrammar() {
+        return new PostgreSQL();
+    }
+
+    @Test
+    public void testTotalCountSelectedWithRows() {
+        Entity e = sql.alias(Entity.class, "e");
+        Select select = sql.select(e.getId()).from(e);
+        select.where(sql.cond().lt(e.getId(), 0L)).orderBy().desc(e.getId());
+        SelectStatement statement = select.getStatement().copy();
+        statement.setTotalCount(true);
+        statement.setLimit(2);
+        SqlSelectBuilder builder = getSqlGrammar().selectBuilder();
+        new SqlSelectTreeWalker().walk(statement, builder);
+        assertEquals("SELECT e.id, COUNT(*) OVER() AS total_count FROM Entity e WHERE e.id<?1 ORDER BY e.id DESC"
+                + " LIMIT ?2", builder.asSQL().trim());
+    }
+
+}
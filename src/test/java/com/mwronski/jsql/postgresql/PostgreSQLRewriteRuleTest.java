@@ -0,0 +1,159 @@
+package com.mwronski.jsql.postgresql;
+
+import com.mwronski.jsql.JSql;
+import com.mwronski.jsql.grammar.GrammarOptions;
+import com.mwronski.jsql.grammar.SqlGrammar;
+import com.mwronski.jsql.grammar.common.AnnotationNamingStrategy;
+import com.mwronski.jsql.grammar.postgresql.PostgreSQL;
+import com.mwronski.jsql.model.dql.SelectStatement;
+import com.mwronski.jsql.parser.dql.Select;
+import com.mwronski.jsql.optimizer.ConditionOptimizer;
+import com.mwronski.jsql.optimizer.NotInToNotExistsRule;
+import com.mwronski.jsql.optimizer.QueryRewriteRule;
+import com.mwronski.jsql.optimizer.RedundantDistinctRule;
+import com.mwronski.jsql.optimizer.RewriteListener;
+import com.mwronski.jsql.test.Entity;
+import com.mwronski.jsql.test.JSqlTestCase;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.mwronski.jsql.test.TestUtil.assertQueryExecutable;
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertSame;
+import static junit.framework.Assert.assertTrue;
+
+/**
+ * Test cases check statements rewritten by rules registered in grammar and
+ * application
+ */
+public class PostgreSQLRewriteRuleTest extends JSqlTestCase {
+
+    private final List<QueryRewriteRule> fired = new ArrayList<QueryRewriteRule>();
+    private final RewriteListener listener = new RewriteListener() {
+
+        @Override
+        public void ruleFired(final QueryRewriteRule rule, final SelectStatement statement,
+                final SelectStatement rewritten) {
+            fired.add(rule);
+        }
+
+    };
+
+    @Override
+    public SqlGrammar getSqlGrammar() {
+        return new PostgreSQL();
+    }
+
+    @Test
+    public void testRuleInIsolation() {
+        Entity e = sql.alias(Entity.class, "e");
+        SelectStatement statement = sql.select(e.getId(), e.getString()).distinct().from(e).getStatement();
+        SelectStatement rewritten = new RedundantDistinctRule().rewrite(statement);
+        assertFalse(rewritten.isDistinct());
+        assertTrue(statement.isDistinct());
+        statement = sql.select(e.getString()).distinct().from(e).getStatement();
+        assertSame(statement, new RedundantDistinctRule().rewrite(statement));
+    }
+
+    @Test
+    public void testApplicationRule() {
+        QueryRewriteRule rule = new RedundantDistinctRule();
+        sql.addRewriteRule(rule);
+        sql.setRewriteListener(listener);
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select(e).distinct().from(e).where(sql.cond().eq(e.getString(), "a"));
+        assertEquals("SELECT e.* FROM Entity e WHERE e.string=?1", sql.toString());
+        assertEquals(1, fired.size());
+        assertSame(rule, fired.get(0));
+        assertQueryExecutable(sql, em);
+    }
+
+    @Test
+    public void testGrammarRules() {
+        QueryRewriteRule optimizer = new ConditionOptimizer();
+        QueryRewriteRule distinct = new RedundantDistinctRule();
+        JSql sql = new JSql(new PostgreSQL(AnnotationNamingStrategy.INSTANCE,
+                GrammarOptions.DEFAULT.withRewriteRules(optimizer, distinct)));
+        sql.setRewriteListener(listener);
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select(e.getId()).distinct().from(e).where(sql.cond().eq(e.getId(), 1L).or().eq(e.getId(), 2L));
+        assertEquals("SELECT e.id FROM Entity e WHERE e.id IN (?1)", sql.toString());
+        assertEquals(2, fired.size());
+        assertSame(optimizer, fired.get(0));
+        assertSame(distinct, fired.get(1));
+        assertQueryExecutable(sql, em);
+    }
+
+    @Test
+    public void testRuleNotFired() {
+        sql.addRewriteRule(new RedundantDistinctRule());
+        sql.setConditionOptimizer(new ConditionOptimizer());
+        sql.setRewriteListener(listener);
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select(e.getString()).distinct().from(e).where(sql.cond().eq(e.getId(), 1L));
+        assertEquals("SELECT DISTINCT e.string FROM Entity e WHERE e.id=?1", sql.toString());
+        assertTrue(fired.isEmpty());
+    }
+
+    @Test
+    public void testNotInRewrittenToNotExists() {
+        sql.addRewriteRule(new NotInToNotExistsRule());
+        sql.setRewriteListener(listener);
+        Entity e1 = sql.alias(Entity.class, "e1");
+        Entity e2 = sql.alias(Entity.class, "e2");
+        Select subquery = sql.subquery(e2.getId()).from(e2).where(sql.cond().eq(e2.getString(), "a"));
+        sql.select(e1.getId()).from(e1).where(sql.cond().notIn(e1.getId(), subquery).and().eq(e1.getString(), "b"));
+        assertEquals("SELECT e1.id FROM Entity e1 WHERE NOT EXISTS (SELECT e2.id FROM Entity e2 WHERE e2.string=?1 AND "
+                + "e2.id=e1.id) AND e1.string=?2", sql.toString());
+        assertEquals(1, fired.size());
+        assertQueryExecutable(sql, em);
+    }
+
+    @Test
+    public void testNotInOfLeftJoinedIdentifierNotRewritten() {
+        sql.addRewriteRule(new NotInToNotExistsRule());
+        sql.setRewriteListener(listener);
+        Entity e1 = sql.alias(Entity.class, "e1");
+        Entity e2 = sql.alias(Entity.class, "e2");
+        Entity e3 = sql.alias(Entity.class, "e3");
+        Select subquery = sql.subquery(e3.getId()).from(e3).where(sql.cond().eq(e3.getString(), "a"));
+        sql.select(e1.getId()).from(e1).leftJoin(e2).on(sql.cond().eq(e1.getString(), e2.getString()))
+                .where(sql.cond().notIn(e2.getId(), subquery));
+        assertEquals("SELECT e1.id FROM Entity e1 LEFT JOIN Entity e2 ON e1.string=e2.string WHERE e2.id NOT IN "
+                + "(SELECT e3.id FROM Entity e3 WHERE e3.string=?1)", sql.toString());
+        assertTrue(fired.isEmpty());
+        assertQueryExecutable(sql, em);
+    }
+
+    @Test
+    public void testNotInOfLeftJoinedIdentifierOfSubqueryNotRewritten() {
+        sql.addRewriteRule(new NotInToNotExistsRule());
+        sql.setRewriteListener(listener);
+        Entity e1 = sql.alias(Entity.class, "e1");
+        Entity e2 = sql.alias(Entity.class, "e2");
+        Entity e3 = sql.alias(Entity.class, "e3");
+        Select subquery = sql.subquery(e3.getId()).from(e2).leftJoin(e3)
+                .on(sql.cond().eq(e2.getString(), e3.getString()));
+        sql.select(e1.getId()).from(e1).where(sql.cond().notIn(e1.getId(), subquery));
+        assertEquals("SELECT e1.id FROM Entity e1 WHERE e1.id NOT IN (SELECT e3.id FROM Entity e2 LEFT JOIN Entity e3 "
+                + "ON e2.string=e3.string)", sql.toString());
+        assertTrue(fired.isEmpty());
+    }
+
+    @Test
+    public void testNotInOfNullableColumnNotRewritten() {
+        sql.addRewriteRule(new NotInToNotExistsRule());
+        sql.setRewriteListener(listener);
+        Entity e1 = sql.alias(Entity.class, "e1");
+        Entity e2 = sql.alias(Entity.class, "e2");
+        Select subquery = sql.subquery(e2.getString()).from(e2).where(sql.cond().eq(e2.getId(), 1L));
+        sql.select(e1.getId()).from(e1).where(sql.cond().notIn(e1.getString(), subquery));
+        assertEquals("SELECT e1.id FROM Entity e1 WHERE e1.string NOT IN (SELECT e2.string FROM Entity e2 WHERE e2.id=?1)",
+                sql.toString());
+        assertTrue(fired.isEmpty());
+    }
+
+}
@@ -7,6 +7,7 @@ import com.mwronski.jsql.grammar.postgresql.PostgreSQL;
 
 import static com.mwronski.jsql.test.TestUtil.assertQueryExecutable;
 import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertTrue;
 
 public class PostgreSQLSelectTest extends SQLSelectTest {
 
@@ -15,6 +16,40 @@ public class PostgreSQLSelectTest extends SQLSelectTest {
         return new PostgreSQL();
     }
 
+    @Override
+    protected void verifySelectLimit(final JSql sql) {
+        assertEquals("SELECT e.id FROM Entity e LIMIT ?1", sql.toString());
+        assertTrue(sql.getQuery(em).getResultList().size() <= 10);
+    }
+
+    @Override
+    protected void verifySelectLimitOffset(final JSql sql) {
+        assertEquals("SELECT e.id FROM Entity e ORDER BY e.id LIMIT ?1 OFFSET ?2", sql.toString());
+        assertTrue(sql.getQuery(em).getResultList().size() <= 5);
+    }
+
+    @Override
+    protected void verifySelectSeekAfter(final JSql sql) {
+        assertEquals(
+                "SELECT e.id FROM Entity e WHERE e.secondString=?1 AND (e.string, e.id)>(?2, ?3) ORDER BY e.string, e.id LIMIT ?4",
+                sql.toString());
+        assertQueryExecutable(sql, em);
+    }
+
+    @Override
+    protected void verifySelectSeekAfterMixedOrder(final JSql sql) {
+        assertEquals(
+                "SELECT e.id, e.string FROM Entity e WHERE (e.string<?1 OR (e.string=?2 AND e.id>?3)) ORDER BY e.string DESC, e.id",
+                sql.toString());
+        assertQueryExecutable(sql, em);
+    }
+
+    @Override
+    protected void verifySelectInto(final JSql sql) {
+        assertEquals("SELECT DISTINCT e.id, e.string FROM Entity e", sql.toString());
+        assertQueryExecutable(sql, em);
+    }
+
     @Override
     protected void verifySelectManyTables(final JSql sql) {
         assertEquals("SELECT e1.*, e2.* FROM Entity e1, Entity e2", sql.toString());
@@ -35,4 +35,12 @@ public class PostgreSQLSelectWhereTest extends SQLSelectWhereTest {
         assertQueryExecutable(sql, em);
     }
 
+    @Override
+    protected void verifySelectWhereNotExists(final JSql sql) {
+        assertEquals(
+                "SELECT e1.id FROM Entity e1 WHERE NOT EXISTS (SELECT e2.* FROM Entity e2 WHERE e2.string=e1.string)",
+                sql.toString());
+        assertQueryExecutable(sql, em);
+    }
+
 }
@@ -0,0 +1,28 @@
+package com.mwronski.jsql.postgresql;
+
+import com.mwronski.jsql.AbstractStreamTestSuite;
+import com.mwronski.jsql.grammar.SqlGrammar;
+import com.mwronski.jsql.grammar.postgresql.PostgreSQL;
+import com.mwronski.jsql.test.Entity;
+import org.junit.Test;
+
+public class PostgreSQLStreamTest extends AbstractStreamTestSuite {
+
+    @Override
+    public SqlGrammar getSqlGrammar() {
+        return new PostgreSQL();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testStreamOutsideTransaction() {
+        em.getTransaction().rollback();
+        Entity e = sql.alias(Entity.class, "e");
+        sql.select(e).from(e);
+        try {
+            sql.stream(em);
+        } finally {
+            em.getTransaction().begin();
+        }
+    }
+
+}
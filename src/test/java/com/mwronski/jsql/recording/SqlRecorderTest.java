@@ -0,0 +1,82 @@
+package com.mwronski.jsql.recording;
+
+import com.mwronski.jsql.model.Variable;
+import com.mwronski.jsql.test.Entity;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertSame;
+
+/**
+ * Test cases check recording of invocations on SQL sources
+ */
+public class SqlRecorderTest {
+
+    private SqlRecorder recorder;
+
+    @Before
+    public void setUp() {
+        recorder = new SqlRecorder();
+    }
+
+    @Test
+    public void testProxyClassIsShared() {
+        Entity entity1 = recorder.record(Entity.class, "e1");
+        Entity entity2 = new SqlRecorder().record(Entity.class, "e2");
+        assertSame(entity1.getClass(), entity2.getClass());
+    }
+
+    @Test
+    public void testOnlyGettersAreRecorded() {
+        Entity entity = recorder.record(Entity.class, "e");
+        entity.hashCode();
+        entity.equals(entity);
+        entity.toString();
+        assertNull(recorder.nextVariable());
+        entity.getId();
+        Variable variable = recorder.nextVariable();
+        assertEquals("getId", variable.getMethod().getName());
+        assertEquals("e", variable.getTable().getAlias());
+    }
+
+    @Test
+    public void testRecordedObjectsComparedByIdentity() {
+        EqualEntity entity1 = recorder.record(EqualEntity.class, "e1");
+        EqualEntity entity2 = recorder.record(EqualEntity.class, "e2");
+        entity1.getId();
+        entity2.getId();
+        List<Variable> variables = recorder.variables();
+        assertEquals(2, variables.size());
+        assertEquals("e1", variables.get(0).getTable().getAlias());
+        assertEquals("e2", variables.get(1).getTable().getAlias());
+        assertEquals(2, recorder.tables(entity1, entity2).size());
+    }
+
+    /**
+     * Entity which instances are all equal
+     */
+    public static class EqualEntity {
+
+        private Long id;
+
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof EqualEntity;
+        }
+
+        @Override
+        public int hashCode() {
+            return 1;
+        }
+
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.mwronski.jsql.test;
+
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+
+@javax.persistence.Entity
+public class Child {
+
+    @Id
+    @GeneratedValue
+    private Long id;
+    private String name;
+    @ManyToOne
+    private Parent parent;
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Parent getParent() {
+        return parent;
+    }
+
+}
@@ -20,6 +20,10 @@ public class Entity {
         return string;
     }
 
+    public void setString(String string) {
+        this.string = string;
+    }
+
     public String getSecondString() {
         return secondString;
     }
@@ -0,0 +1,24 @@
+package com.mwronski.jsql.test;
+
+/**
+ * Read-only view of {@link Entity} created from selected columns
+ */
+public class EntityView {
+
+    private final long id;
+    private final String string;
+
+    public EntityView(final long id, final String string) {
+        this.id = id;
+        this.string = string;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getString() {
+        return string;
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.mwronski.jsql.test;
+
+import javax.persistence.Column;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+@javax.persistence.Entity(name = "Mapped")
+@Table(name = "mapped_entity")
+public class MappedEntity {
+
+    @Id
+    @GeneratedValue
+    @Column(name = "mapped_id")
+    private Long id;
+    @Column(name = "mapped_value")
+    private String value;
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.mwronski.jsql.test;
+
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.OneToMany;
+import java.util.List;
+
+@javax.persistence.Entity
+public class Parent {
+
+    @Id
+    @GeneratedValue
+    private Long id;
+    private String name;
+    @OneToMany(mappedBy = "parent")
+    private List<Child> children;
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<Child> getChildren() {
+        return children;
+    }
+
+}
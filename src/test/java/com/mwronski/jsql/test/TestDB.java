@@ -31,11 +31,15 @@ public final class TestDB {
     }
 
     public static EntityManager getEntityManager() {
+        return getEntityManagerFactory().createEntityManager();
+    }
+
+    public static EntityManagerFactory getEntityManagerFactory() {
         if (entityManagerFactory == null) {
             throw new RuntimeException("Entity manager factory not build for - database URL: " + DB_URL + ", user: "
                     + DB_USERNAME + ", password: " + DB_PASSWORD);
         }
-        return entityManagerFactory.createEntityManager();
+        return entityManagerFactory;
     }
 
     private static void initEntityManagerFactory() {